@@ -0,0 +1,122 @@
+package com.quickbite.config;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.FileAppender;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Logging cost of one order placement, as seen by the request thread, with
+ * four threads logging at once:
+ * <ul>
+ *   <li>{@code sync-info}: before, both per-request lines at INFO through a
+ *       synchronous, flushing appender;</li>
+ *   <li>{@code async}: the same lines through the non-blocking async appender
+ *       of the {@code prod} profile;</li>
+ *   <li>{@code async-sampled}: plus {@link LogSamplingFilter};</li>
+ *   <li>{@code debug-off}: after, the per-request lines are DEBUG and the
+ *       logger is at INFO.</li>
+ * </ul>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class LoggingBenchmark {
+
+    @Param({"sync-info", "async", "async-sampled", "debug-off"})
+    private String mode;
+
+    private LoggerContext context;
+    private Logger log;
+    private Path file;
+    private boolean perRequestAtDebug;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        context = new LoggerContext();
+        file = Files.createTempFile("quickbite-logging", ".log");
+
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern("%d{yyyy-MM-dd'T'HH:mm:ss.SSSXXX} %5p %t --- %logger{39} : %m%n");
+        encoder.start();
+
+        FileAppender<ILoggingEvent> fileAppender = new FileAppender<>();
+        fileAppender.setContext(context);
+        fileAppender.setFile(file.toString());
+        fileAppender.setEncoder(encoder);
+        fileAppender.setImmediateFlush(true);
+        fileAppender.start();
+
+        Appender<ILoggingEvent> appender = fileAppender;
+        if (mode.startsWith("async")) {
+            AsyncAppender async = new AsyncAppender();
+            async.setContext(context);
+            async.setQueueSize(8192);
+            async.setNeverBlock(true);
+            async.setIncludeCallerData(false);
+            async.addAppender(fileAppender);
+            async.start();
+            appender = async;
+        }
+        if (mode.equals("async-sampled")) {
+            LogSamplingFilter sampling = new LogSamplingFilter();
+            sampling.setContext(context);
+            sampling.setMaxPerSecond(20);
+            sampling.start();
+            context.addTurboFilter(sampling);
+        }
+
+        log = context.getLogger("com.quickbite.service.OrderService");
+        log.setLevel(ch.qos.logback.classic.Level.INFO);
+        log.setAdditive(false);
+        log.addAppender(appender);
+        perRequestAtDebug = mode.equals("debug-off");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        context.stop();
+        Files.deleteIfExists(file);
+    }
+
+    private final String userId = "65f1c0a2e4b0a1b2c3d4e5f6";
+    private final String menuItemId = "65f1c0a2e4b0a1b2c3d4e5f7";
+
+    @Benchmark
+    public void placeOrder() {
+        if (perRequestAtDebug) {
+            log.debug("Placing order for user: {} and menu item: {}", userId, menuItemId);
+            log.debug("Order placed successfully with id: {}", menuItemId);
+        } else {
+            log.info("Placing order for user: {} and menu item: {}", userId, menuItemId);
+            log.info("Order placed successfully with id: {}", menuItemId);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.quickbite.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The per-request work {@link SessionAuthenticationFilter} adds in front of
+ * every API call, for a logged-in session and for an anonymous request.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SessionAuthenticationFilterBenchmark {
+
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> { };
+
+    private final SessionAuthenticationFilter filter = new SessionAuthenticationFilter();
+
+    private MockHttpServletRequest authenticated;
+    private MockHttpServletRequest anonymous;
+    private MockHttpServletResponse response;
+
+    @Setup
+    public void setUp() {
+        MockHttpSession session = new MockHttpSession();
+        session.setAttribute(SessionUser.SESSION_ATTRIBUTE, new SessionUser("65f1c0a2e4b0a1b2c3d4e5f6", "student42", "STUDENT"));
+
+        authenticated = new MockHttpServletRequest("GET", "/order/user/65f1c0a2e4b0a1b2c3d4e5f6");
+        authenticated.setSession(session);
+        anonymous = new MockHttpServletRequest("GET", "/menu");
+        response = new MockHttpServletResponse();
+    }
+
+    @Benchmark
+    public Object authenticatedRequest() throws ServletException, IOException {
+        return filterOnce(authenticated);
+    }
+
+    @Benchmark
+    public Object anonymousRequest() throws ServletException, IOException {
+        return filterOnce(anonymous);
+    }
+
+    private Object filterOnce(MockHttpServletRequest request) throws ServletException, IOException {
+        try {
+            filter.doFilter(request, response, NO_OP_CHAIN);
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.quickbite.controller;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.quickbite.dto.MenuItemDTO;
+import com.quickbite.dto.OrderDTO;
+import org.bson.types.ObjectId;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialisation of the list endpoints' response bodies, with the same
+ * defaults Spring MVC's message converter uses.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ListSerializationBenchmark {
+
+    @Param({"50", "200"})
+    private int size;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    private List<OrderDTO> orders;
+    private List<MenuItemDTO> menu;
+
+    @Setup
+    public void setUp() {
+        orders = new ArrayList<>(size);
+        menu = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            OrderDTO order = new OrderDTO(new ObjectId().toHexString(), "Veggie Burger " + i, "PENDING", "student" + i, 1 + i % 3);
+            order.setUnitPrice(149.0);
+            orders.add(order);
+            menu.add(new MenuItemDTO(new ObjectId().toHexString(), "Item " + i, "Freshly made, served hot", 99.0 + i));
+        }
+    }
+
+    /**
+     * GET /order/all and /order/user/{id}; the cursor travels in a header.
+     */
+    @Benchmark
+    public byte[] orderPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(orders);
+    }
+
+    /**
+     * GET /menu on a cache miss.
+     */
+    @Benchmark
+    public byte[] menu() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(menu);
+    }
+}
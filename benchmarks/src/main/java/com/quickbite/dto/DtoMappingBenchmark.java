@@ -0,0 +1,82 @@
+package com.quickbite.dto;
+
+import com.quickbite.model.MenuItem;
+import com.quickbite.model.Order;
+import com.quickbite.model.User;
+import org.bson.types.ObjectId;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to DTO mapping as done for every order page and menu response.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DtoMappingBenchmark {
+
+    @Param({"50", "200"})
+    private int pageSize;
+
+    private Order order;
+    private MenuItem menuItem;
+    private List<Order> page;
+
+    @Setup
+    public void setUp() {
+        User user = new User();
+        user.setId(new ObjectId().toHexString());
+        user.setUsername("student42");
+
+        menuItem = new MenuItem();
+        menuItem.setId(new ObjectId().toHexString());
+        menuItem.setName("Margherita Pizza");
+        menuItem.setDescription("Classic cheese and tomato pizza");
+        menuItem.setPrice(199.0);
+        menuItem.setLastModified(Instant.now());
+
+        page = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            Order next = new Order();
+            next.setId(new ObjectId().toHexString());
+            next.snapshot(user, menuItem);
+            next.setQuantity(1 + i % 3);
+            next.setStatus("PENDING");
+            next.setLastModified(Instant.now());
+            page.add(next);
+        }
+        order = page.get(0);
+    }
+
+    @Benchmark
+    public OrderDTO orderDto() {
+        return new OrderDTO(order);
+    }
+
+    @Benchmark
+    public MenuItemDTO menuItemDto() {
+        return new MenuItemDTO(menuItem);
+    }
+
+    @Benchmark
+    public List<OrderDTO> orderPage() {
+        return page.stream().map(OrderDTO::new).toList();
+    }
+}
@@ -0,0 +1,140 @@
+package com.quickbite.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.ConnectionString;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.quickbite.dto.OrderDTO;
+import com.quickbite.dto.OrderRequest;
+import com.quickbite.exception.OrderIntakeFullException;
+import com.quickbite.model.MenuItem;
+import com.quickbite.model.Order;
+import com.quickbite.model.OrderCounter;
+import com.quickbite.model.User;
+import com.quickbite.repository.MenuRepository;
+import com.quickbite.repository.OrderRepository;
+import com.quickbite.repository.OrderRepositoryCustomImpl;
+import com.quickbite.repository.UserRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.repository.support.MongoRepositoryFactory;
+import org.springframework.data.repository.core.support.RepositoryComposition.RepositoryFragments;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Orders placed per second by many concurrent callers: the synchronous
+ * {@link OrderService#placeOrder} path against {@link OrderIntakeService} in
+ * both durability modes. Needs a throwaway Mongo, taken from
+ * {@code -Dbenchmark.mongo.uri} (default {@code mongodb://localhost:27017/quickbite-bench});
+ * the orders and order counters are dropped after each trial.
+ * <p>
+ * A caller turned away by a full intake buffer waits a millisecond and tries
+ * again, as a client honouring Retry-After would, so the batched score is the
+ * rate at which orders are actually written rather than the rate of 503s.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@Threads(32)
+@State(Scope.Benchmark)
+public class OrderIntakeBenchmark {
+
+    @Param({"sync", "batched", "flush-on-ack"})
+    private String mode;
+
+    private MongoClient client;
+    private MongoTemplate mongoTemplate;
+    private OrderCounterService orderCounters;
+    private OrderService orderService;
+    private OrderIntakeService intake;
+    private OrderRequest request;
+    private User user;
+    private MenuItem item;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        String uri = System.getProperty("benchmark.mongo.uri", "mongodb://localhost:27017/quickbite-bench");
+        client = MongoClients.create(uri);
+        mongoTemplate = new MongoTemplate(client, new ConnectionString(uri).getDatabase());
+        mongoTemplate.dropCollection(Order.class);
+
+        MongoRepositoryFactory repositories = new MongoRepositoryFactory(mongoTemplate);
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder();
+        UserService userService = new UserService(repositories.getRepository(UserRepository.class), encoder,
+                new PasswordVerifier(encoder, 1, 64, Duration.ofSeconds(30), Duration.ofMinutes(5)));
+        ApplicationEventPublisher events = event -> { };
+        MenuService menuService = new MenuService(repositories.getRepository(MenuRepository.class),
+                new MenuCache(new ObjectMapper()), events);
+        OrderRepository orderRepository = repositories.getRepository(OrderRepository.class,
+                RepositoryFragments.just(new OrderRepositoryCustomImpl(mongoTemplate)));
+        // Every mode counts its orders the way the application does
+        orderCounters = new OrderCounterService(mongoTemplate, orderRepository, true,
+                Duration.ofSeconds(1), Duration.ofMinutes(15), 30);
+        orderService = new OrderService(orderRepository, userService, menuService, events, orderCounters);
+
+        user = new User();
+        user.setUsername("bench-student");
+        user.setRole("STUDENT");
+        user = mongoTemplate.save(user);
+        item = new MenuItem();
+        item.setName("Bench Pizza");
+        item.setPrice(199.0);
+        item = mongoTemplate.save(item);
+
+        request = new OrderRequest();
+        request.setUserId(user.getId());
+        request.setMenuItemId(item.getId());
+        request.setQuantity(1);
+
+        if (!"sync".equals(mode)) {
+            intake = new OrderIntakeService(mongoTemplate, userService, menuService, events, orderCounters,
+                    "async", mode, 4096, 256, Duration.ofSeconds(5));
+            intake.start();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        if (intake != null) {
+            intake.stop();
+        }
+        mongoTemplate.dropCollection(Order.class);
+        mongoTemplate.dropCollection(OrderCounter.class);
+        mongoTemplate.remove(user);
+        mongoTemplate.remove(item);
+        client.close();
+    }
+
+    @Benchmark
+    public OrderDTO placeOrder() throws InterruptedException {
+        if (intake == null) {
+            return orderService.placeOrder(request);
+        }
+        while (true) {
+            try {
+                return intake.submit(request);
+            } catch (OrderIntakeFullException e) {
+                Thread.sleep(1);
+            }
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.quickbite.service;
+
+import com.quickbite.dto.OrderQuery;
+import com.quickbite.model.OrderStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Status validation and page query normalisation, which run on every order
+ * list and status update request. Lives in the service package to reach the
+ * package-private helpers.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class OrderStatusBenchmark {
+
+    @Param({"PENDING", "completed", "SHIPPED"})
+    private String status;
+
+    @Benchmark
+    public OrderStatus parseStatus() {
+        try {
+            return OrderStatus.from(status);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    @Benchmark
+    public OrderQuery validatePageQuery() {
+        OrderQuery query = new OrderQuery();
+        query.setLimit(OrderService.DEFAULT_PAGE_SIZE);
+        query.setCursor("65f1c0a2e4b0a1b2c3d4e5f6");
+        query.setStatus(status);
+        try {
+            return OrderService.validatePageQuery(query);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.quickbite.config;
+
+import com.mongodb.DBRef;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.bson.Document;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.data.mongodb.core.convert.DefaultDbRefResolver;
+
+import java.util.List;
+
+/**
+ * Counts every {@code @DBRef} the mapping layer resolves as
+ * {@code quickbite.mongo.dbref.resolutions}. Entities no longer map references,
+ * so anything above zero means a reference that loads on every read has crept back.
+ */
+class CountingDbRefResolver extends DefaultDbRefResolver {
+
+    private final Counter resolutions;
+
+    CountingDbRefResolver(MongoDatabaseFactory mongoDbFactory, MeterRegistry registry) {
+        super(mongoDbFactory);
+        this.resolutions = Counter.builder("quickbite.mongo.dbref.resolutions")
+                .description("Documents loaded to resolve @DBRef properties")
+                .register(registry);
+    }
+
+    @Override
+    public Document fetch(DBRef dbRef) {
+        resolutions.increment();
+        return super.fetch(dbRef);
+    }
+
+    @Override
+    public List<Document> bulkFetch(List<DBRef> refs) {
+        resolutions.increment(refs.size());
+        return super.bulkFetch(refs);
+    }
+}
@@ -1,5 +1,6 @@
 package com.quickbite.config;
 
+import com.quickbite.exception.LoginCapacityExceededException;
 import com.quickbite.model.User;
 import com.quickbite.service.UserService;
 import lombok.RequiredArgsConstructor;
@@ -8,11 +9,8 @@ import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.AuthenticationException;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Component;
 
-import java.util.Collections;
-
 @Component
 @RequiredArgsConstructor
 public class CustomAuthenticationProvider implements AuthenticationProvider {
@@ -27,11 +25,10 @@ public class CustomAuthenticationProvider implements AuthenticationProvider {
         try {
             User user = userService.login(username, password);
             
-            return new UsernamePasswordAuthenticationToken(
-                user,
-                password,
-                Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + user.getRole()))
-            );
+            return SessionUser.from(user).toAuthentication();
+        } catch (LoginCapacityExceededException e) {
+            // Overload is not a credentials failure; let it surface as 503
+            throw e;
         } catch (Exception e) {
             throw new BadCredentialsException("Invalid username or password");
         }
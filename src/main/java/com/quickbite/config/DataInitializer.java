@@ -103,9 +103,7 @@ public class DataInitializer implements CommandLineRunner {
 
         if (user1 != null && pizza != null) {
             Order order1 = new Order();
-            order1.setUser(user1);
-            order1.setMenuItem(pizza);
-            order1.setItemName(pizza.getName());
+            order1.snapshot(user1, pizza);
             order1.setQuantity(2);
             order1.setStatus("PENDING");
             orderRepository.save(order1);
@@ -113,9 +111,7 @@ public class DataInitializer implements CommandLineRunner {
 
         if (user1 != null && burger != null) {
             Order order2 = new Order();
-            order2.setUser(user1);
-            order2.setMenuItem(burger);
-            order2.setItemName(burger.getName());
+            order2.snapshot(user1, burger);
             order2.setQuantity(1);
             order2.setStatus("COMPLETED");
             orderRepository.save(order2);
@@ -123,9 +119,7 @@ public class DataInitializer implements CommandLineRunner {
 
         if (user1 != null && fries != null) {
             Order order3 = new Order();
-            order3.setUser(user1);
-            order3.setMenuItem(fries);
-            order3.setItemName(fries.getName());
+            order3.snapshot(user1, fries);
             order3.setQuantity(3);
             order3.setStatus("PENDING");
             orderRepository.save(order3);
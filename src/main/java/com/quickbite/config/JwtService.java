@@ -0,0 +1,103 @@
+package com.quickbite.config;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.SecretKey;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+
+/**
+ * Issues and verifies the signed tokens used in {@code jwt} auth mode. The
+ * key and parser are built once; verifying a token is an HMAC check and a
+ * claims parse, with no database access.
+ */
+@Service
+@Slf4j
+public class JwtService {
+
+    public static final String ACCESS_COOKIE = "QB_ACCESS";
+    public static final String REFRESH_COOKIE = "QB_REFRESH";
+
+    private static final String TOKEN_TYPE_CLAIM = "typ";
+    private static final String ACCESS_TYPE = "access";
+    private static final String REFRESH_TYPE = "refresh";
+
+    private final SecretKey key;
+    private final JwtParser parser;
+
+    @Getter
+    private final Duration accessTokenTtl;
+    @Getter
+    private final Duration refreshTokenTtl;
+
+    public JwtService(@Value("${quickbite.jwt.secret:}") String secret,
+                      @Value("${quickbite.jwt.access-ttl:15m}") Duration accessTokenTtl,
+                      @Value("${quickbite.jwt.refresh-ttl:7d}") Duration refreshTokenTtl) {
+        if (secret.isBlank()) {
+            log.warn("quickbite.jwt.secret is not set; using a random key, so tokens are only valid on this node until restart");
+            this.key = Jwts.SIG.HS256.key().build();
+        } else {
+            this.key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secret));
+        }
+        this.parser = Jwts.parser().verifyWith(key).build();
+        this.accessTokenTtl = accessTokenTtl;
+        this.refreshTokenTtl = refreshTokenTtl;
+    }
+
+    public String issueAccessToken(SessionUser user) {
+        return issue(user, ACCESS_TYPE, accessTokenTtl);
+    }
+
+    public String issueRefreshToken(SessionUser user) {
+        return issue(user, REFRESH_TYPE, refreshTokenTtl);
+    }
+
+    /**
+     * @throws JwtException if the token is malformed, expired, badly signed or not an access token
+     */
+    public SessionUser parseAccessToken(String token) {
+        Claims claims = parse(token, ACCESS_TYPE);
+        return new SessionUser(claims.getSubject(),
+                claims.get("username", String.class),
+                claims.get("role", String.class));
+    }
+
+    /**
+     * @return the id of the user the refresh token was issued to
+     * @throws JwtException if the token is malformed, expired, badly signed or not a refresh token
+     */
+    public String parseRefreshToken(String token) {
+        return parse(token, REFRESH_TYPE).getSubject();
+    }
+
+    private String issue(SessionUser user, String type, Duration ttl) {
+        Instant now = Instant.now();
+        return Jwts.builder()
+                .subject(user.getId())
+                .claim("username", user.getUsername())
+                .claim("role", user.getRole())
+                .claim(TOKEN_TYPE_CLAIM, type)
+                .issuedAt(Date.from(now))
+                .expiration(Date.from(now.plus(ttl)))
+                .signWith(key)
+                .compact();
+    }
+
+    private Claims parse(String token, String expectedType) {
+        Claims claims = parser.parseSignedClaims(token).getPayload();
+        if (!expectedType.equals(claims.get(TOKEN_TYPE_CLAIM, String.class))) {
+            throw new JwtException("Expected a " + expectedType + " token");
+        }
+        return claims;
+    }
+}
@@ -0,0 +1,79 @@
+package com.quickbite.config;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Logback turbo filter that lets through at most {@code maxPerSecond} events
+ * per message template each second, so a message logged on every request
+ * cannot flood the output under load. Templates are the unformatted pattern,
+ * so "Fetching orders for user: {}" counts as one message for every user.
+ * WARN and ERROR are never sampled. Configured in {@code logback-spring.xml}.
+ */
+public class LogSamplingFilter extends TurboFilter {
+
+    private static final int MAX_TRACKED_TEMPLATES = 1024;
+
+    private final Map<String, Window> windows = new ConcurrentHashMap<>();
+    private final AtomicLong suppressed = new AtomicLong();
+    private final LongSupplier nanoClock;
+    private int maxPerSecond = 20;
+
+    public LogSamplingFilter() {
+        this(System::nanoTime);
+    }
+
+    LogSamplingFilter(LongSupplier nanoClock) {
+        this.nanoClock = nanoClock;
+    }
+
+    public void setMaxPerSecond(int maxPerSecond) {
+        this.maxPerSecond = maxPerSecond;
+    }
+
+    public long getSuppressedCount() {
+        return suppressed.get();
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (format == null || level.isGreaterOrEqual(Level.WARN) || !level.isGreaterOrEqual(logger.getEffectiveLevel())) {
+            // Disabled events are left to the normal level check and do not count
+            return FilterReply.NEUTRAL;
+        }
+        long second = nanoClock.getAsLong() / 1_000_000_000L;
+        if (windows.size() >= MAX_TRACKED_TEMPLATES && !windows.containsKey(format)) {
+            windows.clear();
+        }
+        Window window = windows.computeIfAbsent(format, key -> new Window());
+        if (window.admit(second, maxPerSecond)) {
+            return FilterReply.NEUTRAL;
+        }
+        suppressed.incrementAndGet();
+        return FilterReply.DENY;
+    }
+
+    private static final class Window {
+
+        private volatile long second;
+        private final AtomicInteger count = new AtomicInteger();
+
+        boolean admit(long now, int limit) {
+            if (second != now) {
+                // A racing reset may admit a few extra events at the boundary
+                second = now;
+                count.set(0);
+            }
+            return count.incrementAndGet() <= limit;
+        }
+    }
+}
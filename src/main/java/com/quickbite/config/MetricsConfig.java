@@ -0,0 +1,111 @@
+package com.quickbite.config;
+
+import com.quickbite.service.IdempotencyService;
+import com.quickbite.service.MenuCache;
+import com.quickbite.service.OrderCounterService;
+import com.quickbite.service.OrderIntakeService;
+import com.quickbite.service.OrderStatsService;
+import com.quickbite.service.OrderStreamBroker;
+import com.quickbite.service.PasswordVerifier;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import java.time.Duration;
+
+/**
+ * Application metrics beyond what Actuator records on its own (HTTP server
+ * requests, repository invocations, Mongo driver commands, Tomcat sessions and
+ * JVM). Everything is scraped from {@code /actuator/prometheus}.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public MongoCommandMetrics mongoCommandMetrics(MeterRegistry registry,
+                                                   @Value("${quickbite.mongo.slow-command:100ms}") Duration slowCommand) {
+        return new MongoCommandMetrics(registry, slowCommand);
+    }
+
+    @Bean
+    public MongoClientSettingsBuilderCustomizer mongoCommandMetricsCustomizer(MongoCommandMetrics mongoCommandMetrics) {
+        return settings -> settings.addCommandListener(mongoCommandMetrics);
+    }
+
+    @Bean
+    public FilterRegistrationBean<MongoCommandCountFilter> mongoCommandCountFilter(MongoCommandMetrics mongoCommandMetrics) {
+        FilterRegistrationBean<MongoCommandCountFilter> registration =
+                new FilterRegistrationBean<>(new MongoCommandCountFilter(mongoCommandMetrics));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    /**
+     * Same converter Spring Boot would create, with a resolver that counts {@code @DBRef} loads.
+     */
+    @Bean
+    public MappingMongoConverter mappingMongoConverter(MongoDatabaseFactory factory, MongoMappingContext context,
+                                                       MongoCustomConversions conversions, MeterRegistry registry) {
+        MappingMongoConverter converter = new MappingMongoConverter(new CountingDbRefResolver(factory, registry), context);
+        converter.setCustomConversions(conversions);
+        return converter;
+    }
+
+    @Bean
+    public MeterBinder cacheMetrics(MenuCache menuCache, PasswordVerifier passwordVerifier,
+                                    OrderStatsService orderStatsService, IdempotencyService idempotencyService) {
+        return registry -> {
+            FunctionCounter.builder("quickbite.cache.requests", menuCache, MenuCache::getHitCount)
+                    .tags("cache", "menu", "result", "hit").register(registry);
+            FunctionCounter.builder("quickbite.cache.requests", menuCache, MenuCache::getMissCount)
+                    .tags("cache", "menu", "result", "miss").register(registry);
+            FunctionCounter.builder("quickbite.cache.rebuilds", menuCache, MenuCache::getRebuildCount)
+                    .tag("cache", "menu").register(registry);
+            Gauge.builder("quickbite.cache.last.rebuild", menuCache, cache -> cache.getLastRebuildNanos() / 1e9)
+                    .tag("cache", "menu").baseUnit("seconds").register(registry);
+
+            Gauge.builder("quickbite.cache.size", passwordVerifier, PasswordVerifier::getCacheSize)
+                    .tag("cache", "credentials").register(registry);
+            Gauge.builder("quickbite.cache.size", orderStatsService, OrderStatsService::getCachedResultCount)
+                    .tag("cache", "order-stats").register(registry);
+            Gauge.builder("quickbite.cache.size", idempotencyService, IdempotencyService::getCachedKeyCount)
+                    .tag("cache", "idempotency").register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder workQueueMetrics(PasswordVerifier passwordVerifier, OrderIntakeService orderIntakeService,
+                                        OrderStreamBroker orderStreamBroker, OrderCounterService orderCounterService) {
+        return registry -> {
+            Gauge.builder("quickbite.password.verify.queued", passwordVerifier, PasswordVerifier::getQueueDepth)
+                    .register(registry);
+            Gauge.builder("quickbite.password.verify.active", passwordVerifier, PasswordVerifier::getActiveCount)
+                    .register(registry);
+            Gauge.builder("quickbite.order.intake.buffered", orderIntakeService, OrderIntakeService::getBufferedCount)
+                    .register(registry);
+            FunctionCounter.builder("quickbite.order.intake.dead.letters", orderIntakeService,
+                            OrderIntakeService::getDeadLetteredCount)
+                    .register(registry);
+            Gauge.builder("quickbite.cache.size", orderIntakeService, OrderIntakeService::getCachedUserCount)
+                    .tag("cache", "intake-users").register(registry);
+            Gauge.builder("quickbite.order.stream.subscribers", orderStreamBroker, OrderStreamBroker::getSubscriberCount)
+                    .register(registry);
+            FunctionCounter.builder("quickbite.order.counters.failed.writes", orderCounterService,
+                            OrderCounterService::getFailedWrites)
+                    .register(registry);
+            Gauge.builder("quickbite.order.counters.drift", orderCounterService, OrderCounterService::getLastDrift)
+                    .register(registry);
+        };
+    }
+}
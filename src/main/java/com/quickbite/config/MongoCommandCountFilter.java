@@ -0,0 +1,33 @@
+package com.quickbite.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Brackets each request so {@link MongoCommandMetrics} can count the Mongo
+ * commands it issues. Registered by {@link MetricsConfig}.
+ */
+class MongoCommandCountFilter extends OncePerRequestFilter {
+
+    private final MongoCommandMetrics metrics;
+
+    MongoCommandCountFilter(MongoCommandMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        metrics.beginRequest();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            metrics.endRequest();
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.quickbite.config;
+
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.BsonValue;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Command-level Mongo metrics on top of the driver timers Actuator already
+ * records ({@code mongodb.driver.commands}):
+ * <ul>
+ *   <li>{@code quickbite.mongo.commands.per.request}: how many commands one
+ *       HTTP request issued, to catch N+1 access patterns;</li>
+ *   <li>{@code quickbite.mongo.slow.commands}: commands slower than
+ *       {@code quickbite.mongo.slow-command}, each also logged with its
+ *       collection (never its arguments).</li>
+ * </ul>
+ * The blocking driver notifies on the calling thread, so per-request counts
+ * cover the work done on the request thread.
+ */
+@Slf4j
+public class MongoCommandMetrics implements CommandListener {
+
+    private final MeterRegistry registry;
+    private final DistributionSummary commandsPerRequest;
+    private final long slowNanos;
+
+    private final ThreadLocal<int[]> requestCommands = new ThreadLocal<>();
+    // Collection per in-flight command, for the slow-command log line
+    private final Map<Integer, String> inFlight = new ConcurrentHashMap<>();
+
+    public MongoCommandMetrics(MeterRegistry registry, Duration slowThreshold) {
+        this.registry = registry;
+        this.slowNanos = slowThreshold.toNanos();
+        this.commandsPerRequest = DistributionSummary.builder("quickbite.mongo.commands.per.request")
+                .description("Mongo commands issued while serving one HTTP request")
+                .serviceLevelObjectives(1, 2, 5, 10, 50)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    /**
+     * Starts counting commands on the current thread.
+     */
+    public void beginRequest() {
+        requestCommands.set(new int[1]);
+    }
+
+    /**
+     * Stops counting and records the count for the request.
+     */
+    public int endRequest() {
+        int[] count = requestCommands.get();
+        requestCommands.remove();
+        if (count == null) {
+            return 0;
+        }
+        commandsPerRequest.record(count[0]);
+        return count[0];
+    }
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        int[] count = requestCommands.get();
+        if (count != null) {
+            count[0]++;
+        }
+        BsonValue target = event.getCommand().get(event.getCommandName());
+        inFlight.put(event.getRequestId(), target != null && target.isString() ? target.asString().getValue() : "");
+    }
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+        finished(event.getRequestId(), event.getCommandName(), event.getDatabaseName(),
+                event.getElapsedTime(TimeUnit.NANOSECONDS), "success");
+    }
+
+    @Override
+    public void commandFailed(CommandFailedEvent event) {
+        finished(event.getRequestId(), event.getCommandName(), event.getDatabaseName(),
+                event.getElapsedTime(TimeUnit.NANOSECONDS), "failure");
+    }
+
+    private void finished(int requestId, String command, String database, long elapsedNanos, String outcome) {
+        String collection = inFlight.remove(requestId);
+        if (elapsedNanos < slowNanos) {
+            return;
+        }
+        Counter.builder("quickbite.mongo.slow.commands")
+                .description("Mongo commands slower than quickbite.mongo.slow-command")
+                .tag("command", command)
+                .tag("outcome", outcome)
+                .register(registry)
+                .increment();
+        log.warn("Slow Mongo {} on {}.{} took {} ms ({})", command, database, collection,
+                TimeUnit.NANOSECONDS.toMillis(elapsedNanos), outcome);
+    }
+}
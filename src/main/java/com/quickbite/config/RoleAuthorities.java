@@ -0,0 +1,29 @@
+package com.quickbite.config;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.List;
+
+/**
+ * Shared, immutable authority lists for the known roles, so authentication
+ * tokens never have to build their own.
+ */
+public final class RoleAuthorities {
+
+    private static final List<GrantedAuthority> STUDENT = List.of(new SimpleGrantedAuthority("ROLE_STUDENT"));
+    private static final List<GrantedAuthority> ADMIN = List.of(new SimpleGrantedAuthority("ROLE_ADMIN"));
+
+    private RoleAuthorities() {
+    }
+
+    public static List<GrantedAuthority> forRole(String role) {
+        if ("STUDENT".equals(role)) {
+            return STUDENT;
+        }
+        if ("ADMIN".equals(role)) {
+            return ADMIN;
+        }
+        return List.of(new SimpleGrantedAuthority("ROLE_" + role));
+    }
+}
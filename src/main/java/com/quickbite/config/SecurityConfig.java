@@ -1,15 +1,25 @@
 package com.quickbite.config;
 
+import jakarta.servlet.DispatcherType;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
 import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
+import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.crypto.factory.PasswordEncoderFactories;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
 
 
 @Configuration
@@ -18,10 +28,21 @@ public class SecurityConfig {
 
     private final CustomAuthenticationProvider customAuthenticationProvider;
     private final SessionAuthenticationFilter sessionAuthenticationFilter;
+    private final JwtService jwtService;
+    private final boolean jwtMode;
+    private final String metricsUsername;
+    private final String metricsPassword;
 
-    public SecurityConfig(CustomAuthenticationProvider customAuthenticationProvider, SessionAuthenticationFilter sessionAuthenticationFilter) {
+    public SecurityConfig(CustomAuthenticationProvider customAuthenticationProvider, SessionAuthenticationFilter sessionAuthenticationFilter,
+                          JwtService jwtService, @Value("${quickbite.auth.mode:session}") String authMode,
+                          @Value("${quickbite.metrics.username:prometheus}") String metricsUsername,
+                          @Value("${quickbite.metrics.password:}") String metricsPassword) {
         this.customAuthenticationProvider = customAuthenticationProvider;
         this.sessionAuthenticationFilter = sessionAuthenticationFilter;
+        this.jwtService = jwtService;
+        this.jwtMode = "jwt".equalsIgnoreCase(authMode);
+        this.metricsUsername = metricsUsername;
+        this.metricsPassword = metricsPassword;
     }
 
     @Bean
@@ -29,25 +50,72 @@ public class SecurityConfig {
         return config.getAuthenticationManager();
     }
 
+    /**
+     * Actuator endpoints. Admins get in with their session or token as anywhere
+     * else; a scraper sends HTTP Basic credentials of the configured
+     * {@code quickbite.metrics} user, which holds the METRICS role and can only
+     * read {@code /actuator/prometheus}. Without a password there is no such user.
+     */
+    @Bean
+    @Order(1)
+    public SecurityFilterChain actuatorSecurityFilterChain(HttpSecurity http) throws Exception {
+        http
+                .securityMatcher("/actuator/**")
+                .csrf(AbstractHttpConfigurer::disable)
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .authenticationManager(new ProviderManager(metricsAuthenticationProvider()))
+                .addFilterBefore(jwtMode ? new JwtAuthenticationFilter(jwtService) : sessionAuthenticationFilter,
+                        BasicAuthenticationFilter.class)
+                .authorizeHttpRequests(auth -> auth
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC, DispatcherType.ERROR).permitAll()
+                        .requestMatchers("/actuator/prometheus").hasAnyRole("ADMIN", "METRICS")
+                        .anyRequest().hasRole("ADMIN")
+                )
+                .httpBasic(Customizer.withDefaults())
+                .formLogin(AbstractHttpConfigurer::disable)
+                .logout(AbstractHttpConfigurer::disable);
+
+        return http.build();
+    }
+
+    private DaoAuthenticationProvider metricsAuthenticationProvider() {
+        InMemoryUserDetailsManager users = new InMemoryUserDetailsManager();
+        if (!metricsPassword.isBlank()) {
+            // A plain password is taken as is; {bcrypt}... and the other encoded forms also work
+            String password = metricsPassword.startsWith("{") ? metricsPassword : "{noop}" + metricsPassword;
+            users.createUser(org.springframework.security.core.userdetails.User.withUsername(metricsUsername)
+                    .password(password)
+                    .roles("METRICS")
+                    .build());
+        }
+        DaoAuthenticationProvider provider = new DaoAuthenticationProvider(PasswordEncoderFactories.createDelegatingPasswordEncoder());
+        provider.setUserDetailsService(users);
+        return provider;
+    }
+
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         http
                 // Disable CSRF for stateless API
                 .csrf(AbstractHttpConfigurer::disable)
                 
-                // Enable session management
+                // Session mode keeps the principal server-side; jwt mode never creates a session
                 .sessionManagement(session -> session
-                        .sessionCreationPolicy(org.springframework.security.config.http.SessionCreationPolicy.IF_REQUIRED)
+                        .sessionCreationPolicy(jwtMode ? SessionCreationPolicy.STATELESS : SessionCreationPolicy.IF_REQUIRED)
                 )
                 
                 // Configure authentication
                 .authenticationProvider(customAuthenticationProvider)
                 
-                // Add session-based authentication filter
-                .addFilterBefore(sessionAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+                // Add session- or token-based authentication filter
+                .addFilterBefore(jwtMode ? new JwtAuthenticationFilter(jwtService) : sessionAuthenticationFilter,
+                        UsernamePasswordAuthenticationFilter.class)
 
                 // Define access rules for endpoints
                 .authorizeHttpRequests(auth -> auth
+                        // 0. ASYNC/ERROR DISPATCHES (the originating request was already authorized)
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC, DispatcherType.ERROR).permitAll()
+
                         // 1. PUBLIC ACCESS (Pages and Static Resources)
                         .requestMatchers("/menu.html", "/admin.html", "/orders.html", "/index.html", "/login.html", "/register.html", "/css/**", "/js/**", "/favicon.ico").permitAll()
 
@@ -56,15 +124,17 @@ public class SecurityConfig {
                         .requestMatchers(HttpMethod.GET, "/menu").permitAll()
 
                         // 3. SECURED USER ENDPOINTS (Authenticated required for these specific paths)
-                        .requestMatchers(HttpMethod.POST, "/order/place").authenticated()
+                        .requestMatchers(HttpMethod.POST, "/order/place", "/order/checkout").authenticated()
                         .requestMatchers(HttpMethod.GET, "/order/user/*").authenticated()
+                        .requestMatchers(HttpMethod.GET, "/order/stream").authenticated()
 
                         // 4. SECURED ADMIN ENDPOINTS
-                        .requestMatchers("/order/all", "/order/pending").hasRole("ADMIN")
-                        .requestMatchers(HttpMethod.PUT, "/order/*/status").hasRole("ADMIN")
+                        .requestMatchers("/order/all", "/order/pending", "/order/export", "/order/stats/**").hasRole("ADMIN")
+                        .requestMatchers(HttpMethod.PUT, "/order/status", "/order/*/status").hasRole("ADMIN")
 
                         // Menu Management (POST/PUT/DELETE /menu)
                         .requestMatchers(HttpMethod.POST, "/menu").hasRole("ADMIN")
+                        .requestMatchers(HttpMethod.POST, "/menu/bulk").hasRole("ADMIN")
                         .requestMatchers(HttpMethod.PUT, "/menu/*").hasRole("ADMIN")
                         .requestMatchers(HttpMethod.DELETE, "/menu/*").hasRole("ADMIN")
 
@@ -1,19 +1,15 @@
 package com.quickbite.config;
 
-import com.quickbite.model.User;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.servlet.http.HttpSession;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.Collections;
 
 @Component
 public class SessionAuthenticationFilter extends OncePerRequestFilter {
@@ -24,17 +20,9 @@ public class SessionAuthenticationFilter extends OncePerRequestFilter {
         
         HttpSession session = request.getSession(false);
         
-        if (session != null && session.getAttribute("user") != null) {
-            User user = (User) session.getAttribute("user");
-            
-            // Create authentication token
-            UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                user,
-                null,
-                Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + user.getRole()))
-            );
-            
-            SecurityContextHolder.getContext().setAuthentication(authToken);
+        if (session != null && session.getAttribute(SessionUser.SESSION_ATTRIBUTE) instanceof SessionUser user) {
+            // The token is built once per login and reused for every request
+            SecurityContextHolder.getContext().setAuthentication(user.toAuthentication());
         }
         
         filterChain.doFilter(request, response);
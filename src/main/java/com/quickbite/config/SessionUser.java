@@ -0,0 +1,54 @@
+package com.quickbite.config;
+
+import com.quickbite.model.User;
+import lombok.Getter;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+/**
+ * The compact principal kept in the HTTP session after login. It holds only
+ * what authorization needs (no password hash, no order list) and builds its
+ * {@link Authentication} once, so authenticating a request allocates nothing.
+ */
+@Getter
+public final class SessionUser implements Serializable {
+
+    public static final String SESSION_ATTRIBUTE = "user";
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private final String id;
+    private final String username;
+    private final String role;
+
+    // Rebuilt lazily after the session is deserialised
+    private transient volatile Authentication authentication;
+
+    public SessionUser(String id, String username, String role) {
+        this.id = id;
+        this.username = username;
+        this.role = role;
+    }
+
+    public static SessionUser from(User user) {
+        return new SessionUser(user.getId(), user.getUsername(), user.getRole());
+    }
+
+    public Authentication toAuthentication() {
+        Authentication current = authentication;
+        if (current == null) {
+            current = UsernamePasswordAuthenticationToken.authenticated(this, null, RoleAuthorities.forRole(role));
+            authentication = current;
+        }
+        return current;
+    }
+
+    @Override
+    public String toString() {
+        return "SessionUser[" + username + ", " + role + "]";
+    }
+}
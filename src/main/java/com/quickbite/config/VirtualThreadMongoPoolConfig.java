@@ -0,0 +1,33 @@
+package com.quickbite.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sizes the Mongo connection pool for the {@code vthreads} profile. With
+ * request concurrency no longer capped by the Tomcat pool, the connection pool
+ * is the bulkhead: requests beyond {@code max-pool-size} wait for a connection,
+ * for at most {@code wait-queue-timeout}, so overload surfaces as errors.
+ * <p>
+ * Applied on top of whatever URI the deployment configures, after Spring
+ * Boot's own customizer, so it also wins over pool options in the URI.
+ */
+@Configuration
+@Profile("vthreads")
+public class VirtualThreadMongoPoolConfig {
+
+    @Bean
+    public MongoClientSettingsBuilderCustomizer virtualThreadMongoPoolCustomizer(
+            @Value("${quickbite.vthreads.mongo.max-pool-size:200}") int maxPoolSize,
+            @Value("${quickbite.vthreads.mongo.wait-queue-timeout:2s}") Duration waitQueueTimeout) {
+        return settings -> settings.applyToConnectionPoolSettings(pool -> pool
+                .maxSize(maxPoolSize)
+                .maxWaitTime(waitQueueTimeout.toMillis(), TimeUnit.MILLISECONDS));
+    }
+}
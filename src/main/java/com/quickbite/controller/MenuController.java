@@ -1,28 +1,45 @@
 package com.quickbite.controller;
 
+import com.quickbite.dto.MenuBulkResult;
 import com.quickbite.dto.MenuItemDTO;
+import com.quickbite.dto.MenuItemOperation;
 import com.quickbite.model.MenuItem;
+import com.quickbite.service.MenuBulkService;
 import com.quickbite.service.MenuService;
+import com.quickbite.service.MenuSnapshot;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
 @RestController
 @RequestMapping("/menu")
+@Profile("!reactive")
 @CrossOrigin(origins = "*")
 @RequiredArgsConstructor
 public class MenuController {
 
     private final MenuService menuService;
+    private final MenuBulkService menuBulkService;
 
+    // Served from the cached snapshot's pre-serialised bytes
     @GetMapping
-    public ResponseEntity<List<MenuItemDTO>> getMenu() {
-        List<MenuItemDTO> menuItems = menuService.getAllMenuItems();
-        return ResponseEntity.ok(menuItems);
+    public ResponseEntity<byte[]> getMenu(ServletWebRequest webRequest) {
+        MenuSnapshot snapshot = menuService.getMenuSnapshot();
+        if (ConditionalRequests.checkNotModified(webRequest, snapshot.getEtag())) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(snapshot.getJson());
     }
 
     @PostMapping
@@ -31,6 +48,16 @@ public class MenuController {
         return ResponseEntity.status(HttpStatus.CREATED).body(addedItem);
     }
 
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<MenuBulkResult> bulkSync(@RequestBody List<MenuItemOperation> operations) {
+        return toResponse(menuBulkService.apply(operations));
+    }
+
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<MenuBulkResult> bulkSyncNdjson(InputStream body) throws IOException {
+        return toResponse(menuBulkService.apply(menuBulkService.readNdjson(body)));
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<MenuItemDTO> updateItem(@PathVariable String id,
                                                   @Valid @RequestBody MenuItem newItem) {
@@ -43,4 +70,9 @@ public class MenuController {
         menuService.deleteMenuItem(id);
         return ResponseEntity.noContent().build();
     }
+
+    // A batch that failed validation was not applied; its body says which items were wrong
+    static ResponseEntity<MenuBulkResult> toResponse(MenuBulkResult result) {
+        return ResponseEntity.status(result.isApplied() ? HttpStatus.OK : HttpStatus.BAD_REQUEST).body(result);
+    }
 }
\ No newline at end of file
@@ -1,46 +1,164 @@
 package com.quickbite.controller;
 
+import com.quickbite.config.SessionUser;
+import com.quickbite.dto.BulkStatusRequest;
+import com.quickbite.dto.BulkStatusResult;
+import com.quickbite.dto.CheckoutRequest;
+import com.quickbite.dto.CheckoutResult;
+import com.quickbite.dto.ItemSales;
 import com.quickbite.dto.OrderDTO;
+import com.quickbite.dto.OrderPage;
+import com.quickbite.dto.OrderQuery;
 import com.quickbite.dto.OrderRequest;
+import com.quickbite.dto.OrderStats;
+import com.quickbite.dto.UserSpend;
+import com.quickbite.service.IdempotencyService;
+import com.quickbite.service.OrderChangeTracker;
+import com.quickbite.service.OrderExportService;
+import com.quickbite.service.OrderIntakeService;
 import com.quickbite.service.OrderService;
+import com.quickbite.service.OrderStatsService;
+import com.quickbite.service.OrderStatusBulkService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.Instant;
 import java.util.List;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/order")
-@CrossOrigin(origins = "*")
+@Profile("!reactive")
+@CrossOrigin(origins = "*", exposedHeaders = {OrderController.NEXT_CURSOR_HEADER, OrderController.IDEMPOTENT_REPLAY_HEADER})
 @RequiredArgsConstructor
 public class OrderController {
 
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String IDEMPOTENT_REPLAY_HEADER = "Idempotent-Replayed";
+
     private final OrderService orderService;
+    private final OrderExportService orderExportService;
+    private final OrderChangeTracker orderChangeTracker;
+    private final OrderIntakeService orderIntakeService;
+    private final OrderStatsService orderStatsService;
+    private final IdempotencyService idempotencyService;
+    private final OrderStatusBulkService orderStatusBulkService;
 
     @PostMapping("/place")
-    public ResponseEntity<OrderDTO> placeOrder(@Valid @RequestBody OrderRequest request) {
-        OrderDTO placedOrder = orderService.placeOrder(request);
-        return ResponseEntity.status(HttpStatus.CREATED).body(placedOrder);
+    public ResponseEntity<OrderDTO> placeOrder(@Valid @RequestBody OrderRequest request,
+                                               @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+                                               Authentication authentication) {
+        HttpStatus status = placedStatus(orderIntakeService);
+        Supplier<OrderDTO> place = () -> orderIntakeService.isEnabled()
+                ? orderIntakeService.submit(request)
+                : orderService.placeOrder(request);
+        if (idempotencyKey == null) {
+            return ResponseEntity.status(status).body(place.get());
+        }
+        return toResponse(status, idempotencyService.execute(idempotencyScope("place", authentication), idempotencyKey,
+                request, OrderDTO.class, place));
+    }
+
+    @PostMapping("/checkout")
+    public ResponseEntity<CheckoutResult> checkout(@Valid @RequestBody CheckoutRequest request,
+                                                   @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+                                                   Authentication authentication) {
+        if (idempotencyKey == null) {
+            return ResponseEntity.status(HttpStatus.CREATED).body(orderService.checkout(request));
+        }
+        return toResponse(HttpStatus.CREATED, idempotencyService.execute(idempotencyScope("checkout", authentication),
+                idempotencyKey, request, CheckoutResult.class, () -> orderService.checkout(request)));
     }
 
     @GetMapping("/user/{userId}")
-    public ResponseEntity<List<OrderDTO>> getOrdersByUser(@PathVariable String userId) {
-        List<OrderDTO> orders = orderService.getOrdersByUserId(userId);
-        return ResponseEntity.ok(orders);
+    public ResponseEntity<List<OrderDTO>> getOrdersByUser(@PathVariable String userId,
+                                                          @RequestParam(required = false) String status,
+                                                          @RequestParam(required = false) String cursor,
+                                                          @RequestParam(required = false) Instant from,
+                                                          @RequestParam(required = false) Instant to,
+                                                          @RequestParam(defaultValue = "" + OrderService.DEFAULT_PAGE_SIZE) int limit,
+                                                          ServletWebRequest webRequest) {
+        // Taken before the query: a change that races with it yields a new tag on the next poll
+        String etag = orderChangeTracker.userOrdersEtag(userId);
+        if (ConditionalRequests.checkNotModified(webRequest, etag)) {
+            return null;
+        }
+
+        OrderPage page = orderService.getOrdersByUserId(userId, toQuery(status, cursor, from, to, limit));
+        return toResponse(page);
     }
 
     @GetMapping("/all")
-    public ResponseEntity<List<OrderDTO>> getAllOrders() {
-        List<OrderDTO> orders = orderService.getAllOrders();
-        return ResponseEntity.ok(orders);
+    public ResponseEntity<List<OrderDTO>> getAllOrders(@RequestParam(required = false) String status,
+                                                       @RequestParam(required = false) String cursor,
+                                                       @RequestParam(required = false) Instant from,
+                                                       @RequestParam(required = false) Instant to,
+                                                       @RequestParam(defaultValue = "" + OrderService.DEFAULT_PAGE_SIZE) int limit) {
+        OrderPage page = orderService.getAllOrders(toQuery(status, cursor, from, to, limit));
+        return toResponse(page);
     }
 
     @GetMapping("/pending")
-    public ResponseEntity<List<OrderDTO>> getPendingOrders() {
-        List<OrderDTO> pendingOrders = orderService.getPendingOrders();
-        return ResponseEntity.ok(pendingOrders);
+    public ResponseEntity<List<OrderDTO>> getPendingOrders(@RequestParam(required = false) String cursor,
+                                                           @RequestParam(required = false) Instant from,
+                                                           @RequestParam(required = false) Instant to,
+                                                           @RequestParam(defaultValue = "" + OrderService.DEFAULT_PAGE_SIZE) int limit) {
+        OrderPage page = orderService.getPendingOrders(toQuery(null, cursor, from, to, limit));
+        return toResponse(page);
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportOrders(@RequestParam(defaultValue = "ndjson") String format,
+                                                              @RequestParam(required = false) String status,
+                                                              @RequestParam(required = false) Instant from,
+                                                              @RequestParam(required = false) Instant to) {
+        OrderExportService.Format exportFormat = OrderExportService.Format.from(format);
+        // Validated here: once streaming starts the status is already 200
+        OrderQuery query = OrderService.validateFilters(toQuery(status, null, from, to, 0));
+
+        StreamingResponseBody body = out -> orderExportService.export(query, exportFormat, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .body(body);
+    }
+
+    @GetMapping("/stats")
+    public ResponseEntity<OrderStats> getStatusStats(@RequestParam(required = false) Instant from,
+                                                     @RequestParam(required = false) Instant to) {
+        return ResponseEntity.ok(orderStatsService.getStatusStats(from, to));
+    }
+
+    @GetMapping("/stats/items")
+    public ResponseEntity<List<ItemSales>> getTopItems(@RequestParam(required = false) Instant from,
+                                                       @RequestParam(required = false) Instant to,
+                                                       @RequestParam(defaultValue = "" + OrderStatsService.DEFAULT_LIMIT) int limit) {
+        return ResponseEntity.ok(orderStatsService.getTopItems(from, to, limit));
+    }
+
+    @GetMapping("/stats/items/today")
+    public ResponseEntity<List<ItemSales>> getTopItemsToday(@RequestParam(defaultValue = "" + OrderStatsService.DEFAULT_LIMIT) int limit) {
+        return ResponseEntity.ok(orderStatsService.getTopItemsToday(limit));
+    }
+
+    @GetMapping("/stats/users")
+    public ResponseEntity<List<UserSpend>> getTopSpenders(@RequestParam(required = false) Instant from,
+                                                          @RequestParam(required = false) Instant to,
+                                                          @RequestParam(defaultValue = "" + OrderStatsService.DEFAULT_LIMIT) int limit) {
+        return ResponseEntity.ok(orderStatsService.getTopSpenders(from, to, limit));
+    }
+
+    @PutMapping("/status")
+    public ResponseEntity<BulkStatusResult> updateStatuses(@Valid @RequestBody BulkStatusRequest request) {
+        return ResponseEntity.ok(orderStatusBulkService.apply(request));
     }
 
     @PutMapping("/{id}/status")
@@ -49,4 +167,51 @@ public class OrderController {
         OrderDTO updatedOrder = orderService.updateOrderStatus(id, status);
         return ResponseEntity.ok(updatedOrder);
     }
-}
\ No newline at end of file
+
+    // Buffered for a batched write, the id is already final
+    static HttpStatus placedStatus(OrderIntakeService orderIntakeService) {
+        return orderIntakeService.isEnabled() ? HttpStatus.ACCEPTED : HttpStatus.CREATED;
+    }
+
+    /**
+     * Keys are scoped to the signed-in caller, never to an id taken from the
+     * body: otherwise one user could replay, or block, another user's key.
+     */
+    static String idempotencyScope(String operation, Authentication authentication) {
+        String caller = authentication.getPrincipal() instanceof SessionUser user
+                ? user.getId()
+                : authentication.getName();
+        return operation + ":" + caller;
+    }
+
+    // A replay answers with the status of the original request
+    static <T> ResponseEntity<T> toResponse(HttpStatus status, IdempotencyService.Outcome<T> outcome) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(status);
+        if (outcome.replayed()) {
+            response.header(IDEMPOTENT_REPLAY_HEADER, "true");
+        }
+        return response.body(outcome.value());
+    }
+
+    static OrderQuery toQuery(String status, String cursor, Instant from, Instant to, int limit) {
+        OrderQuery query = new OrderQuery();
+        query.setStatus(status);
+        query.setCursor(cursor);
+        query.setFrom(from);
+        query.setTo(to);
+        query.setLimit(limit);
+        return query;
+    }
+
+    // The body stays a plain array; the position of the next page travels in a header
+    static ResponseEntity<List<OrderDTO>> toResponse(OrderPage page) {
+        return toResponse(ResponseEntity.ok(), page);
+    }
+
+    static ResponseEntity<List<OrderDTO>> toResponse(ResponseEntity.BodyBuilder response, OrderPage page) {
+        if (page.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getOrders());
+    }
+}
@@ -0,0 +1,39 @@
+package com.quickbite.controller;
+
+import com.quickbite.config.SessionUser;
+import com.quickbite.service.OrderStreamBroker;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Live order feed over Server-Sent Events. Admins receive every order;
+ * everyone else receives changes to their own orders only. Served in both the
+ * blocking and the reactive profile.
+ */
+@RestController
+@RequestMapping("/order")
+@CrossOrigin(origins = "*")
+@RequiredArgsConstructor
+public class OrderStreamController {
+
+    private static final String ADMIN_AUTHORITY = "ROLE_ADMIN";
+
+    private final OrderStreamBroker orderStreamBroker;
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamOrders(Authentication authentication,
+                                   @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        boolean admin = authentication.getAuthorities().stream()
+                .anyMatch(authority -> ADMIN_AUTHORITY.equals(authority.getAuthority()));
+        if (admin) {
+            return orderStreamBroker.subscribe(null, lastEventId);
+        }
+        if (authentication.getPrincipal() instanceof SessionUser user) {
+            return orderStreamBroker.subscribe(user.getId(), lastEventId);
+        }
+        throw new IllegalArgumentException("The order stream requires a signed-in user");
+    }
+}
@@ -0,0 +1,77 @@
+package com.quickbite.controller;
+
+import com.quickbite.dto.MenuBulkResult;
+import com.quickbite.dto.MenuItemDTO;
+import com.quickbite.dto.MenuItemOperation;
+import com.quickbite.model.MenuItem;
+import com.quickbite.service.MenuBulkService;
+import com.quickbite.service.ReactiveMenuService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.io.InputStream;
+import java.util.List;
+
+/**
+ * {@link MenuController}'s contract on the reactive service, active with the
+ * {@code reactive} profile. Handlers return {@link Mono}s, so no servlet
+ * thread waits on Mongo, except the bulk sync: it calls the blocking
+ * {@link MenuBulkService} on the bounded elastic scheduler.
+ */
+@RestController
+@RequestMapping("/menu")
+@Profile("reactive")
+@CrossOrigin(origins = "*")
+@RequiredArgsConstructor
+public class ReactiveMenuController {
+
+    private final ReactiveMenuService menuService;
+    private final MenuBulkService menuBulkService;
+
+    @GetMapping
+    public Mono<ResponseEntity<byte[]>> getMenu(@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return menuService.getMenuSnapshot()
+                .map(snapshot -> ConditionalRequests.matches(ifNoneMatch, snapshot.getEtag())
+                        ? ConditionalRequests.<byte[]>notModified(snapshot.getEtag())
+                        : ConditionalRequests.ok(snapshot.getEtag())
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .body(snapshot.getJson()));
+    }
+
+    @PostMapping
+    public Mono<ResponseEntity<MenuItemDTO>> addItem(@Valid @RequestBody MenuItem item) {
+        return menuService.addMenuItem(item)
+                .map(addedItem -> ResponseEntity.status(HttpStatus.CREATED).body(addedItem));
+    }
+
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<MenuBulkResult>> bulkSync(@RequestBody List<MenuItemOperation> operations) {
+        return ReactiveOrderController.blocking(() -> MenuController.toResponse(menuBulkService.apply(operations)));
+    }
+
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public Mono<ResponseEntity<MenuBulkResult>> bulkSyncNdjson(InputStream body) {
+        return ReactiveOrderController.blocking(() ->
+                MenuController.toResponse(menuBulkService.apply(menuBulkService.readNdjson(body))));
+    }
+
+    @PutMapping("/{id}")
+    public Mono<ResponseEntity<MenuItemDTO>> updateItem(@PathVariable String id,
+                                                        @Valid @RequestBody MenuItem newItem) {
+        return menuService.updateMenuItem(id, newItem)
+                .map(ResponseEntity::ok);
+    }
+
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<Void>> deleteItem(@PathVariable String id) {
+        return menuService.deleteMenuItem(id)
+                .then(Mono.just(ResponseEntity.noContent().build()));
+    }
+}
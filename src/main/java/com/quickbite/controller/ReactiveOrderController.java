@@ -0,0 +1,192 @@
+package com.quickbite.controller;
+
+import com.quickbite.dto.BulkStatusRequest;
+import com.quickbite.dto.BulkStatusResult;
+import com.quickbite.dto.CheckoutRequest;
+import com.quickbite.dto.CheckoutResult;
+import com.quickbite.dto.ItemSales;
+import com.quickbite.dto.OrderDTO;
+import com.quickbite.dto.OrderRequest;
+import com.quickbite.dto.OrderStats;
+import com.quickbite.dto.UserSpend;
+import com.quickbite.service.IdempotencyService;
+import com.quickbite.service.OrderExportService;
+import com.quickbite.service.OrderIntakeService;
+import com.quickbite.service.OrderService;
+import com.quickbite.service.OrderStatsService;
+import com.quickbite.service.OrderStatusBulkService;
+import com.quickbite.service.ReactiveOrderService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+
+import static com.quickbite.controller.OrderController.IDEMPOTENCY_KEY_HEADER;
+import static com.quickbite.controller.OrderController.IDEMPOTENT_REPLAY_HEADER;
+import static com.quickbite.controller.OrderController.NEXT_CURSOR_HEADER;
+
+/**
+ * {@link OrderController}'s contract on the reactive service, active with the
+ * {@code reactive} profile. The NDJSON export is a {@link Flux} written with
+ * backpressure: the next document is only pulled from the Mongo cursor once
+ * the previous one has been written to the socket.
+ * <p>
+ * Checkout, the dashboard stats, bulk status updates, the async order intake
+ * and the {@code Idempotency-Key} handling have no reactive implementation; they call
+ * the blocking services on the bounded elastic scheduler, so they keep the
+ * same contract but do hold a thread while Mongo answers.
+ */
+@RestController
+@RequestMapping("/order")
+@Profile("reactive")
+@CrossOrigin(origins = "*", exposedHeaders = {NEXT_CURSOR_HEADER, IDEMPOTENT_REPLAY_HEADER})
+@RequiredArgsConstructor
+public class ReactiveOrderController {
+
+    private final ReactiveOrderService orderService;
+    private final OrderService blockingOrderService;
+    private final OrderStatsService orderStatsService;
+    private final OrderStatusBulkService orderStatusBulkService;
+    private final IdempotencyService idempotencyService;
+    private final OrderIntakeService orderIntakeService;
+
+    @PostMapping("/place")
+    public Mono<ResponseEntity<OrderDTO>> placeOrder(@Valid @RequestBody OrderRequest request,
+                                                     @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+                                                     Authentication authentication) {
+        HttpStatus status = OrderController.placedStatus(orderIntakeService);
+        if (idempotencyKey == null) {
+            Mono<OrderDTO> placed = orderIntakeService.isEnabled()
+                    ? blocking(() -> orderIntakeService.submit(request))
+                    : orderService.placeOrder(request);
+            return placed.map(placedOrder -> ResponseEntity.status(status).body(placedOrder));
+        }
+        // Claiming the key, and waiting for a concurrent duplicate, block
+        return blocking(() -> OrderController.toResponse(status, idempotencyService.execute(
+                OrderController.idempotencyScope("place", authentication), idempotencyKey, request, OrderDTO.class,
+                () -> orderIntakeService.isEnabled()
+                        ? orderIntakeService.submit(request)
+                        : orderService.placeOrder(request).block())));
+    }
+
+    @PostMapping("/checkout")
+    public Mono<ResponseEntity<CheckoutResult>> checkout(@Valid @RequestBody CheckoutRequest request,
+                                                         @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+                                                         Authentication authentication) {
+        if (idempotencyKey == null) {
+            return blocking(() -> ResponseEntity.status(HttpStatus.CREATED).body(blockingOrderService.checkout(request)));
+        }
+        return blocking(() -> OrderController.toResponse(HttpStatus.CREATED, idempotencyService.execute(
+                OrderController.idempotencyScope("checkout", authentication), idempotencyKey, request, CheckoutResult.class,
+                () -> blockingOrderService.checkout(request))));
+    }
+
+    @GetMapping("/user/{userId}")
+    public Mono<ResponseEntity<List<OrderDTO>>> getOrdersByUser(@PathVariable String userId,
+                                                                @RequestParam(required = false) String status,
+                                                                @RequestParam(required = false) String cursor,
+                                                                @RequestParam(required = false) Instant from,
+                                                                @RequestParam(required = false) Instant to,
+                                                                @RequestParam(defaultValue = "" + OrderService.DEFAULT_PAGE_SIZE) int limit,
+                                                                @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        // Taken before the query: a change that races with it yields a new tag on the next poll
+        return orderService.getUserOrdersEtag(userId).flatMap(etag -> ConditionalRequests.matches(ifNoneMatch, etag)
+                ? Mono.just(ConditionalRequests.notModified(etag))
+                : orderService.getOrdersByUserId(userId, OrderController.toQuery(status, cursor, from, to, limit))
+                        .map(page -> OrderController.toResponse(ConditionalRequests.ok(etag), page)));
+    }
+
+    @GetMapping("/all")
+    public Mono<ResponseEntity<List<OrderDTO>>> getAllOrders(@RequestParam(required = false) String status,
+                                                             @RequestParam(required = false) String cursor,
+                                                             @RequestParam(required = false) Instant from,
+                                                             @RequestParam(required = false) Instant to,
+                                                             @RequestParam(defaultValue = "" + OrderService.DEFAULT_PAGE_SIZE) int limit) {
+        return orderService.getAllOrders(OrderController.toQuery(status, cursor, from, to, limit))
+                .map(OrderController::toResponse);
+    }
+
+    @GetMapping("/pending")
+    public Mono<ResponseEntity<List<OrderDTO>>> getPendingOrders(@RequestParam(required = false) String cursor,
+                                                                 @RequestParam(required = false) Instant from,
+                                                                 @RequestParam(required = false) Instant to,
+                                                                 @RequestParam(defaultValue = "" + OrderService.DEFAULT_PAGE_SIZE) int limit) {
+        return orderService.getPendingOrders(OrderController.toQuery(null, cursor, from, to, limit))
+                .map(OrderController::toResponse);
+    }
+
+    /**
+     * Spring MVC writes a {@link Flux} element by element when the type it may
+     * produce is a streaming one (NDJSON) and collects it into one array
+     * otherwise (JSON). The format is parsed as {@link OrderController} parses
+     * it and recorded as that producible type.
+     */
+    @GetMapping("/export")
+    public Flux<OrderDTO> exportOrders(@RequestParam(defaultValue = "ndjson") String format,
+                                       @RequestParam(required = false) String status,
+                                       @RequestParam(required = false) Instant from,
+                                       @RequestParam(required = false) Instant to,
+                                       NativeWebRequest webRequest) {
+        OrderExportService.Format exportFormat = OrderExportService.Format.from(format);
+        webRequest.setAttribute(HandlerMapping.PRODUCIBLE_MEDIA_TYPES_ATTRIBUTE,
+                Set.of(MediaType.parseMediaType(exportFormat.getContentType())), RequestAttributes.SCOPE_REQUEST);
+        return orderService.exportOrders(OrderController.toQuery(status, null, from, to, 0));
+    }
+
+    @GetMapping("/stats")
+    public Mono<ResponseEntity<OrderStats>> getStatusStats(@RequestParam(required = false) Instant from,
+                                                     @RequestParam(required = false) Instant to) {
+        return blocking(() -> ResponseEntity.ok(orderStatsService.getStatusStats(from, to)));
+    }
+
+    @GetMapping("/stats/items")
+    public Mono<ResponseEntity<List<ItemSales>>> getTopItems(@RequestParam(required = false) Instant from,
+                                                             @RequestParam(required = false) Instant to,
+                                                             @RequestParam(defaultValue = "" + OrderStatsService.DEFAULT_LIMIT) int limit) {
+        return blocking(() -> ResponseEntity.ok(orderStatsService.getTopItems(from, to, limit)));
+    }
+
+    @GetMapping("/stats/items/today")
+    public Mono<ResponseEntity<List<ItemSales>>> getTopItemsToday(@RequestParam(defaultValue = "" + OrderStatsService.DEFAULT_LIMIT) int limit) {
+        return blocking(() -> ResponseEntity.ok(orderStatsService.getTopItemsToday(limit)));
+    }
+
+    @GetMapping("/stats/users")
+    public Mono<ResponseEntity<List<UserSpend>>> getTopSpenders(@RequestParam(required = false) Instant from,
+                                                                @RequestParam(required = false) Instant to,
+                                                                @RequestParam(defaultValue = "" + OrderStatsService.DEFAULT_LIMIT) int limit) {
+        return blocking(() -> ResponseEntity.ok(orderStatsService.getTopSpenders(from, to, limit)));
+    }
+
+    @PutMapping("/status")
+    public Mono<ResponseEntity<BulkStatusResult>> updateStatuses(@Valid @RequestBody BulkStatusRequest request) {
+        return blocking(() -> ResponseEntity.ok(orderStatusBulkService.apply(request)));
+    }
+
+    @PutMapping("/{id}/status")
+    public Mono<ResponseEntity<OrderDTO>> updateStatus(@PathVariable String id,
+                                                       @RequestParam String status) {
+        return orderService.updateOrderStatus(id, status)
+                .map(ResponseEntity::ok);
+    }
+
+    static <T> Mono<T> blocking(Callable<T> call) {
+        return Mono.fromCallable(call).subscribeOn(Schedulers.boundedElastic());
+    }
+}
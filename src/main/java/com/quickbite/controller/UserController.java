@@ -1,16 +1,27 @@
 package com.quickbite.controller;
 
+import com.quickbite.config.JwtService;
+import com.quickbite.config.SessionUser;
+import com.quickbite.dto.LoginResponse;
 import com.quickbite.dto.UserDTO;
+import com.quickbite.exception.InvalidCredentialsException;
 import com.quickbite.model.User;
 import com.quickbite.service.UserService;
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpSession;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseCookie;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Duration;
 import java.util.List;
 
 @RestController
@@ -19,7 +30,13 @@ import java.util.List;
 @RequiredArgsConstructor
 public class UserController {
 
+    private static final String REFRESH_PATH = "/auth/refresh";
+
     private final UserService userService;
+    private final JwtService jwtService;
+
+    @Value("${quickbite.auth.mode:session}")
+    private String authMode;
 
     @PostMapping("/register")
     public ResponseEntity<UserDTO> register(@Valid @RequestBody User user) {
@@ -28,16 +45,46 @@ public class UserController {
     }
 
     @PostMapping("/login")
-    public ResponseEntity<User> login(@RequestBody LoginRequest loginRequest, HttpServletRequest request) {
+    public ResponseEntity<LoginResponse> login(@RequestBody LoginRequest loginRequest, HttpServletRequest request) {
         User user = userService.login(loginRequest.getUsername(), loginRequest.getPassword());
+        SessionUser principal = SessionUser.from(user);
+
+        if (isJwtMode()) {
+            return issueTokens(principal);
+        }
         
-        // Create session
+        // Create session holding only the compact principal
         HttpSession session = request.getSession(true);
-        session.setAttribute("user", user);
-        session.setAttribute("username", user.getUsername());
-        session.setAttribute("role", user.getRole());
+        session.setAttribute(SessionUser.SESSION_ATTRIBUTE, principal);
         
-        return ResponseEntity.ok(user);
+        return ResponseEntity.ok(new LoginResponse(user.getId(), user.getUsername(), user.getRole()));
+    }
+
+    // Never from the query string, where it would end up in access logs and browser history
+    @PostMapping("/refresh")
+    public ResponseEntity<LoginResponse> refresh(@CookieValue(name = JwtService.REFRESH_COOKIE, required = false) String refreshCookie,
+                                                 @RequestBody(required = false) RefreshRequest refreshRequest) {
+        if (!isJwtMode()) {
+            throw new IllegalArgumentException("Token refresh is only available in jwt auth mode");
+        }
+
+        String token = refreshRequest != null && refreshRequest.getRefreshToken() != null
+                ? refreshRequest.getRefreshToken()
+                : refreshCookie;
+        if (token == null) {
+            throw new InvalidCredentialsException("Refresh token is required");
+        }
+
+        String userId;
+        try {
+            userId = jwtService.parseRefreshToken(token);
+        } catch (JwtException | IllegalArgumentException e) {
+            throw new InvalidCredentialsException("Invalid or expired refresh token");
+        }
+
+        // Reload so role changes and deleted accounts take effect at the next refresh
+        User user = userService.findById(userId);
+        return issueTokens(SessionUser.from(user));
     }
 
     @PutMapping("/changeRole/{id}")
@@ -58,19 +105,59 @@ public class UserController {
         if (session != null) {
             session.invalidate();
         }
+        if (isJwtMode()) {
+            // Tokens stay valid until they expire; clearing the cookies ends the browser session
+            return ResponseEntity.ok()
+                    .header(HttpHeaders.SET_COOKIE, tokenCookie(JwtService.ACCESS_COOKIE, "", "/", Duration.ZERO).toString())
+                    .header(HttpHeaders.SET_COOKIE, tokenCookie(JwtService.REFRESH_COOKIE, "", REFRESH_PATH, Duration.ZERO).toString())
+                    .body("Logged out successfully");
+        }
         return ResponseEntity.ok("Logged out successfully");
     }
 
     @GetMapping("/current")
-    public ResponseEntity<User> getCurrentUser(HttpServletRequest request) {
+    public ResponseEntity<UserDTO> getCurrentUser(HttpServletRequest request) {
         HttpSession session = request.getSession(false);
-        if (session != null && session.getAttribute("user") != null) {
-            User user = (User) session.getAttribute("user");
-            return ResponseEntity.ok(user);
+        if (session != null && session.getAttribute(SessionUser.SESSION_ATTRIBUTE) instanceof SessionUser user) {
+            return ResponseEntity.ok(new UserDTO(user.getId(), user.getUsername(), user.getRole()));
+        }
+        // In jwt mode the filter has already authenticated the request from its token
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof SessionUser user) {
+            return ResponseEntity.ok(new UserDTO(user.getId(), user.getUsername(), user.getRole()));
         }
         return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
     }
 
+    private boolean isJwtMode() {
+        return "jwt".equalsIgnoreCase(authMode);
+    }
+
+    private ResponseEntity<LoginResponse> issueTokens(SessionUser principal) {
+        String accessToken = jwtService.issueAccessToken(principal);
+        String refreshToken = jwtService.issueRefreshToken(principal);
+
+        LoginResponse body = new LoginResponse(principal.getId(), principal.getUsername(), principal.getRole(),
+                accessToken, refreshToken, jwtService.getAccessTokenTtl().toSeconds());
+
+        // The browser UI authenticates through HttpOnly cookies; API clients use the body
+        return ResponseEntity.ok()
+                .header(HttpHeaders.SET_COOKIE, tokenCookie(JwtService.ACCESS_COOKIE, accessToken, "/",
+                        jwtService.getAccessTokenTtl()).toString())
+                .header(HttpHeaders.SET_COOKIE, tokenCookie(JwtService.REFRESH_COOKIE, refreshToken, REFRESH_PATH,
+                        jwtService.getRefreshTokenTtl()).toString())
+                .body(body);
+    }
+
+    private static ResponseCookie tokenCookie(String name, String value, String path, Duration maxAge) {
+        return ResponseCookie.from(name, value)
+                .httpOnly(true)
+                .sameSite("Lax")
+                .path(path)
+                .maxAge(maxAge)
+                .build();
+    }
+
     // Inner class for login request
     public static class LoginRequest {
         private String username;
@@ -101,4 +188,23 @@ public class UserController {
             this.password = password;
         }
     }
-}
\ No newline at end of file
+
+    // Inner class for refresh request
+    public static class RefreshRequest {
+        private String refreshToken;
+
+        public RefreshRequest() {}
+
+        public RefreshRequest(String refreshToken) {
+            this.refreshToken = refreshToken;
+        }
+
+        public String getRefreshToken() {
+            return refreshToken;
+        }
+
+        public void setRefreshToken(String refreshToken) {
+            this.refreshToken = refreshToken;
+        }
+    }
+}
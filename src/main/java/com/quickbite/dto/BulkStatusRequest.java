@@ -0,0 +1,20 @@
+package com.quickbite.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BulkStatusRequest {
+    public static final int MAX_ORDERS = 500;
+
+    @NotEmpty(message = "No orders given")
+    @Size(max = MAX_ORDERS, message = "At most " + MAX_ORDERS + " orders can be updated at once")
+    private List<@NotBlank String> ids;
+
+    @NotBlank(message = "Status is required")
+    private String status;
+}
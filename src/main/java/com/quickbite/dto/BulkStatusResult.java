@@ -0,0 +1,31 @@
+package com.quickbite.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk status update, with one entry per distinct order id in
+ * submission order. Orders that could not be moved are left unchanged.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkStatusResult {
+    private String status;
+    private int updated;
+    private int failed;
+    private List<ItemResult> items;
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class ItemResult {
+        private String id;
+        private String outcome;         // updated, not_found, conflict, failed
+        private String previousStatus;  // the status before the update, or the one that blocked it
+        private String error;
+    }
+}
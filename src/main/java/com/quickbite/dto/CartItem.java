@@ -0,0 +1,18 @@
+package com.quickbite.dto;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CartItem {
+    @NotBlank(message = "Menu item ID is required")
+    private String menuItemId;
+
+    @Min(value = 1, message = "Quantity must be at least 1")
+    private int quantity = 1;
+}
@@ -0,0 +1,21 @@
+package com.quickbite.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class CheckoutRequest {
+    public static final int MAX_ITEMS = 50;
+
+    @NotBlank(message = "User ID is required")
+    private String userId;
+
+    @NotEmpty(message = "The cart is empty")
+    @Size(max = MAX_ITEMS, message = "A cart holds at most " + MAX_ITEMS + " items")
+    private List<@Valid CartItem> items;
+}
@@ -0,0 +1,21 @@
+package com.quickbite.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * The orders created for one cart, one per distinct menu item, with totals
+ * computed from the prices they were placed at.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CheckoutResult {
+    private String checkoutId;
+    private List<OrderDTO> orders;
+    private int totalQuantity;
+    private double total;
+}
@@ -0,0 +1,16 @@
+package com.quickbite.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ItemSales {
+    private String menuItemId;
+    private String itemName;
+    private long orders;
+    private long quantity;
+    private double revenue;
+}
@@ -0,0 +1,27 @@
+package com.quickbite.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The logged-in user, plus the issued tokens when running in jwt auth mode.
+ * Token fields are omitted in session mode.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class LoginResponse {
+    private String id;
+    private String username;
+    private String role;
+    private String accessToken;
+    private String refreshToken;
+    private Long expiresIn;  // access token lifetime in seconds
+
+    public LoginResponse(String id, String username, String role) {
+        this(id, username, role, null, null, null);
+    }
+}
@@ -0,0 +1,33 @@
+package com.quickbite.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk menu sync, with one entry per submitted operation in
+ * submission order. When {@code applied} is false the batch failed validation
+ * and nothing was written.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class MenuBulkResult {
+    private boolean applied;
+    private int succeeded;
+    private int failed;
+    private List<ItemResult> items;
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class ItemResult {
+        private int index;
+        private String id;
+        private String op;
+        private String status;  // created, updated, deleted, not_found, invalid, failed
+        private String error;
+    }
+}
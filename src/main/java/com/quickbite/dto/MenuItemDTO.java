@@ -18,6 +18,7 @@ public class MenuItemDTO {
         this.id = item.getId();
         this.name = item.getName();
         this.description = item.getDescription();
-        this.price = item.getPrice();
+        // Unpriced items are offered at 0, as Order#snapshot prices them
+        this.price = item.getPrice() != null ? item.getPrice() : 0.0;
     }
 }
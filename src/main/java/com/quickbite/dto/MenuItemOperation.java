@@ -0,0 +1,25 @@
+package com.quickbite.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One entry of a bulk menu sync. {@code upsert} creates the item, or replaces
+ * its name, description and price when {@code id} names an existing item;
+ * {@code delete} only needs the id.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class MenuItemOperation {
+
+    public static final String UPSERT = "upsert";
+    public static final String DELETE = "delete";
+
+    private String op;
+    private String id;
+    private String name;
+    private String description;
+    private Double price;
+}
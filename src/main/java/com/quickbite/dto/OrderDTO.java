@@ -9,10 +9,12 @@ import lombok.NoArgsConstructor;
 public class
 OrderDTO {
     private String id;  // Changed from Long to String
+    private String menuItemId;
     private String itemName;
     private String status;
     private String username;
     private int quantity;
+    private double unitPrice;  // price at the time the order was placed
 
     public OrderDTO(String id, String itemName, String status, String username, int quantity) {
         this.id = id;
@@ -24,9 +26,11 @@ OrderDTO {
 
     public OrderDTO(Order order) {
         this.id = order.getId();
-        this.itemName = order.getMenuItem().getName();
+        this.menuItemId = order.getMenuItemId();
+        this.itemName = order.getItemName();
         this.status = order.getStatus();
-        this.username = order.getUser().getUsername();
+        this.username = order.getUsername();
         this.quantity = order.getQuantity();
+        this.unitPrice = order.getUnitPrice();
     }
 }
\ No newline at end of file
@@ -0,0 +1,15 @@
+package com.quickbite.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class OrderPage {
+    private List<OrderDTO> orders;
+    private String nextCursor;  // null when this is the last page
+}
@@ -0,0 +1,21 @@
+package com.quickbite.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Filters and keyset position for a page of orders. Pages are ordered newest
+ * first; {@code cursor} is the id of the last order of the previous page.
+ */
+@Data
+@NoArgsConstructor
+public class OrderQuery {
+    private String status;
+    private String userId;
+    private String cursor;
+    private Instant from;
+    private Instant to;
+    private int limit;
+}
@@ -0,0 +1,20 @@
+package com.quickbite.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * Order counts per status and the revenue of every order that was not
+ * rejected, over the requested time window.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class OrderStats {
+    private Map<String, Long> ordersByStatus;
+    private long totalOrders;
+    private double revenue;
+}
@@ -0,0 +1,15 @@
+package com.quickbite.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class UserSpend {
+    private String userId;
+    private String username;
+    private long orders;
+    private double spend;
+}
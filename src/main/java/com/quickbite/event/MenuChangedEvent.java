@@ -0,0 +1,14 @@
+package com.quickbite.event;
+
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * Published after menu items have been written. One event is published per
+ * write operation, however many items it touched.
+ */
+@Value
+public class MenuChangedEvent {
+    List<String> itemIds;
+}
@@ -0,0 +1,15 @@
+package com.quickbite.event;
+
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * Published once for a batch of order changes written together, so that
+ * listeners can handle the batch in one pass instead of once per order.
+ * The changes are not also published as single {@link OrderChangedEvent}s.
+ */
+@Value
+public class OrderBatchChangedEvent {
+    List<OrderChangedEvent> changes;
+}
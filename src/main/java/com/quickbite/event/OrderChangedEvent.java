@@ -0,0 +1,15 @@
+package com.quickbite.event;
+
+import com.quickbite.dto.OrderDTO;
+import lombok.Value;
+
+/**
+ * Published after an order has been created or has changed status.
+ * {@code previousStatus} is null for newly placed orders.
+ */
+@Value
+public class OrderChangedEvent {
+    String userId;
+    OrderDTO order;
+    String previousStatus;
+}
@@ -0,0 +1,12 @@
+package com.quickbite.exception;
+
+/**
+ * Thrown when an {@code Idempotency-Key} is reused with a different request.
+ * Mapped to {@code 422 Unprocessable Entity}.
+ */
+public class IdempotencyKeyConflictException extends RuntimeException {
+
+    public IdempotencyKeyConflictException(String key) {
+        super(String.format("Idempotency-Key %s was already used with a different request", key));
+    }
+}
@@ -0,0 +1,19 @@
+package com.quickbite.exception;
+
+import lombok.Getter;
+
+/**
+ * Thrown when a request with the same {@code Idempotency-Key} is still being
+ * processed on another node. Mapped to {@code 409 Conflict} with a
+ * {@code Retry-After} header.
+ */
+@Getter
+public class IdempotencyKeyInProgressException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public IdempotencyKeyInProgressException(String key, long retryAfterSeconds) {
+        super(String.format("A request with Idempotency-Key %s is still in progress", key));
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -0,0 +1,7 @@
+package com.quickbite.exception;
+
+public class IllegalStatusTransitionException extends RuntimeException {
+    public IllegalStatusTransitionException(String id, String from, String to) {
+        super(String.format("Order %s cannot move from %s to %s", id, from, to));
+    }
+}
@@ -0,0 +1,18 @@
+package com.quickbite.exception;
+
+import lombok.Getter;
+
+/**
+ * Thrown when the password verification pool is saturated. Mapped to
+ * {@code 503 Service Unavailable} with a {@code Retry-After} header.
+ */
+@Getter
+public class LoginCapacityExceededException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public LoginCapacityExceededException(long retryAfterSeconds) {
+        super("Too many login attempts in progress, please retry shortly");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -0,0 +1,18 @@
+package com.quickbite.exception;
+
+import lombok.Getter;
+
+/**
+ * Thrown when the asynchronous order intake buffer is full. Mapped to
+ * {@code 503 Service Unavailable} with a {@code Retry-After} header.
+ */
+@Getter
+public class OrderIntakeFullException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public OrderIntakeFullException(long retryAfterSeconds) {
+        super("Order intake is at capacity, please retry shortly");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
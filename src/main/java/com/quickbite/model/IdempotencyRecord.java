@@ -0,0 +1,36 @@
+package com.quickbite.model;
+
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * Claims an {@code Idempotency-Key} across nodes. The key is the document id,
+ * so the unique {@code _id} index lets exactly one request insert it; the
+ * TTL index removes the record once {@code expiresAt} has passed.
+ */
+@Data
+@Document(collection = "idempotency_keys")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class IdempotencyRecord {
+
+    public static final String IN_PROGRESS = "IN_PROGRESS";
+    public static final String COMPLETED = "COMPLETED";
+
+    @Id
+    private String id;  // "<scope>:<key>"
+
+    private String fingerprint;  // hash of the request the key was first used with
+    private String status;
+    private String response;     // JSON of the completed response
+    private Instant lockedUntil; // an in-progress claim older than this was abandoned
+
+    @Indexed(name = "expiresAt_ttl", expireAfter = "0s")
+    private Instant expiresAt;
+}
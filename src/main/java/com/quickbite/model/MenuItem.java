@@ -7,9 +7,8 @@ import jakarta.validation.constraints.Size;
 import lombok.*;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.mongodb.core.mapping.Document;
-import org.springframework.data.mongodb.core.mapping.DBRef;
 
-import java.util.List;
+import java.time.Instant;
 
 @Data
 @Document(collection = "menu_items")
@@ -32,6 +31,5 @@ public class MenuItem {
     @DecimalMin(value = "0.01", message = "Price must be greater than 0")
     private Double price;
 
-    @DBRef
-    private List<Order> orders;
+    private Instant lastModified;
 }
\ No newline at end of file
@@ -1,27 +1,87 @@
 package com.quickbite.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.mongodb.DBRef;
 import lombok.*;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
-import org.springframework.data.mongodb.core.mapping.DBRef;
+import org.springframework.data.mongodb.core.mapping.Field;
 
+import java.time.Instant;
+
+/**
+ * An order with an immutable snapshot of who ordered what at which price, so
+ * reading an order is a single-document fetch and later menu or user changes
+ * do not rewrite history.
+ * <p>
+ * Orders written before schema version 2 only carried {@code user} and
+ * {@code menuItem} DBRefs. Those raw references are still mapped so that
+ * {@code LegacyOrderUpgrader} can fill in the snapshot on read and
+ * {@code OrderSchemaMigration} can rewrite the documents; they are never
+ * resolved and are not written for new orders.
+ */
 @Data
 @Document(collection = "orders")
+@CompoundIndexes({
+        // Keyset pagination: equality on the filter field, then range/sort on _id
+        @CompoundIndex(name = "status_id", def = "{'status': 1, '_id': 1}"),
+        @CompoundIndex(name = "userId_id", def = "{'userId': 1, '_id': 1}"),
+        @CompoundIndex(name = "menuItemId_id", def = "{'menuItemId': 1, '_id': 1}"),
+        // Covers the per-user version behind the orders ETag
+        @CompoundIndex(name = "userId_lastModified", def = "{'userId': 1, 'lastModified': 1}"),
+        // Legacy documents are matched by reference until the migration completes
+        @CompoundIndex(name = "user_id", def = "{'user.$id': 1, '_id': 1}")
+})
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 public class Order {
+
+    public static final int SCHEMA_VERSION = 2;
+
     @Id
     private String id;  // MongoDB uses String ID
 
+    private String userId;
+    private String username;
+    private String menuItemId;
     private String itemName;
+    private double unitPrice;
+
     private int quantity;
     private String status;
 
-    @DBRef
-    private User user;
+    private Instant lastModified;
+
+    // Shared by the orders placed together in one cart checkout
+    private String checkoutId;
+
+    private int schemaVersion;
+
+    @Field("user")
+    @JsonIgnore
+    private DBRef legacyUser;
+
+    @Field("menuItem")
+    @JsonIgnore
+    private DBRef legacyMenuItem;
+
+    public boolean isLegacy() {
+        return schemaVersion < SCHEMA_VERSION;
+    }
 
-    @DBRef
-    private MenuItem menuItem;
-}
\ No newline at end of file
+    /**
+     * Copies the ordering user and the item with its current price into the order.
+     */
+    public void snapshot(User user, MenuItem menuItem) {
+        this.userId = user.getId();
+        this.username = user.getUsername();
+        this.menuItemId = menuItem.getId();
+        this.itemName = menuItem.getName();
+        this.unitPrice = menuItem.getPrice() != null ? menuItem.getPrice() : 0.0;
+        this.schemaVersion = SCHEMA_VERSION;
+    }
+}
@@ -0,0 +1,47 @@
+package com.quickbite.model;
+
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * A materialised running total maintained with {@code $inc} as orders are
+ * placed and change status, so dashboard reads do not scan {@code orders}.
+ * <p>
+ * Status counters ({@code kind = "status"}) are all-time totals per status.
+ * Item counters ({@code kind = "item"}) are per menu item and UTC day of
+ * placement and leave rejected orders out, matching the aggregate stats.
+ */
+@Data
+@Document(collection = "order_counters")
+@CompoundIndex(name = "kind_day", def = "{'kind': 1, 'day': 1}")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderCounter {
+
+    public static final String STATUS = "status";
+    public static final String ITEM = "item";
+
+    @Id
+    private String id;  // "status:<status>" or "item:<day>:<menuItemId>"
+
+    private String kind;
+    private String key;   // the status, or the menu item id
+    private String day;   // ISO date for item counters
+    private String itemName;
+
+    private long orders;
+    private long quantity;
+    private double revenue;
+
+    public static String statusId(String status) {
+        return STATUS + ":" + status;
+    }
+
+    public static String itemId(String day, String menuItemId) {
+        return ITEM + ":" + day + ":" + menuItemId;
+    }
+}
@@ -0,0 +1,68 @@
+package com.quickbite.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The order lifecycle. Orders are stored with the status name, and each
+ * status lists the ones an order may move to from it: an order is approved or
+ * rejected, an approved order is made ready (completed) and delivered, and
+ * rejected and delivered orders are final.
+ */
+public enum OrderStatus {
+    PENDING("APPROVED", "REJECTED"),
+    APPROVED("COMPLETED", "DELIVERED", "REJECTED"),
+    REJECTED,
+    COMPLETED("DELIVERED"),
+    DELIVERED;
+
+    private static final OrderStatus[] VALUES = values();
+
+    private final List<String> next;
+    private List<String> previous;
+
+    static {
+        for (OrderStatus target : VALUES) {
+            List<String> previous = new ArrayList<>();
+            for (OrderStatus source : VALUES) {
+                if (source.next.contains(target.name())) {
+                    previous.add(source.name());
+                }
+            }
+            target.previous = List.copyOf(previous);
+        }
+    }
+
+    OrderStatus(String... next) {
+        this.next = List.of(next);
+    }
+
+    /**
+     * Case-insensitive lookup that does not allocate, as it runs on every
+     * status update and filtered listing.
+     *
+     * @throws IllegalArgumentException if {@code status} is not an order status
+     */
+    public static OrderStatus from(String status) {
+        if (status != null) {
+            for (OrderStatus value : VALUES) {
+                if (value.name().equalsIgnoreCase(status)) {
+                    return value;
+                }
+            }
+        }
+        throw new IllegalArgumentException("Invalid order status: " + status);
+    }
+
+    /**
+     * @return the statuses an order may be in to move to this one
+     */
+    public List<String> getPreviousStatuses() {
+        return previous;
+    }
+
+    public boolean canFollow(String status) {
+        // Immutable lists reject contains(null); an order without a status can go nowhere
+        return status != null && previous.contains(status);
+    }
+}
@@ -1,6 +1,5 @@
 package com.quickbite.model;
 
-import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Size;
@@ -10,10 +9,6 @@ import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
-import org.springframework.data.mongodb.core.mapping.DBRef;
-
-import java.util.ArrayList;
-import java.util.List;
 
 @Data
 @Document(collection = "users")
@@ -39,8 +34,4 @@ public class User {
 
     @Pattern(regexp = "^(STUDENT|ADMIN)$", message = "Role must be either STUDENT or ADMIN")
     private String role = "STUDENT";
-
-    @DBRef
-    @JsonIgnore
-    private List<Order> orders = new ArrayList<>();
 }
\ No newline at end of file
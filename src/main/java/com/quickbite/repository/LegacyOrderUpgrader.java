@@ -0,0 +1,116 @@
+package com.quickbite.repository;
+
+import com.mongodb.DBRef;
+import com.quickbite.model.Order;
+import org.bson.Document;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.mapping.event.AfterConvertCallback;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Fills in the user and item snapshot of orders written before schema
+ * version 2, which only hold {@code user} and {@code menuItem} references.
+ * Current orders pass straight through, so the cost disappears as
+ * {@code OrderSchemaMigration} rewrites the old documents.
+ * <p>
+ * Legacy orders never recorded a price; they get the item's current price,
+ * which is the best information left. The users and items looked up are kept
+ * for {@code lookup-cache-ttl}, so a renamed item or a new price reaches legacy
+ * orders within that time; each cache holds at most {@code MAX_CACHED} entries.
+ */
+@Component
+public class LegacyOrderUpgrader implements AfterConvertCallback<Order> {
+
+    static final String USERS_COLLECTION = "users";
+    static final String MENU_COLLECTION = "menu_items";
+    private static final int MAX_CACHED = 10_000;
+
+    // The template is built with the entity callbacks, so look it up lazily
+    private final ObjectProvider<MongoTemplate> mongoTemplate;
+    private final long cacheTtlNanos;
+    private final Map<Object, CachedDocument> users = new ConcurrentHashMap<>();
+    private final Map<Object, CachedDocument> menuItems = new ConcurrentHashMap<>();
+
+    public LegacyOrderUpgrader(ObjectProvider<MongoTemplate> mongoTemplate,
+                               @Value("${quickbite.order-migration.lookup-cache-ttl:5m}") Duration cacheTtl) {
+        this.mongoTemplate = mongoTemplate;
+        this.cacheTtlNanos = cacheTtl.toNanos();
+    }
+
+    @Override
+    public Order onAfterConvert(Order order, Document document, String collection) {
+        if (!order.isLegacy()) {
+            return order;
+        }
+        Document user = lookup(users, order.getLegacyUser(), USERS_COLLECTION, "username");
+        Document menuItem = lookup(menuItems, order.getLegacyMenuItem(), MENU_COLLECTION, "name", "price");
+        upgrade(order, user, menuItem);
+        return order;
+    }
+
+    /**
+     * Copies the referenced user and item into the order and marks it current,
+     * so the next save persists the snapshot.
+     */
+    static void upgrade(Order order, Document user, Document menuItem) {
+        if (order.getLegacyUser() != null) {
+            order.setUserId(order.getLegacyUser().getId().toString());
+        }
+        if (order.getLegacyMenuItem() != null) {
+            order.setMenuItemId(order.getLegacyMenuItem().getId().toString());
+        }
+        if (user != null) {
+            order.setUsername(user.getString("username"));
+        }
+        if (menuItem != null) {
+            if (order.getItemName() == null) {
+                order.setItemName(menuItem.getString("name"));
+            }
+            if (menuItem.get("price") instanceof Number price) {
+                order.setUnitPrice(price.doubleValue());
+            }
+        }
+        order.setSchemaVersion(Order.SCHEMA_VERSION);
+    }
+
+    static Query byId(Object id, String... fields) {
+        Query query = Query.query(Criteria.where("_id").is(id));
+        query.fields().include(fields);
+        return query;
+    }
+
+    private Document lookup(Map<Object, CachedDocument> cache, DBRef ref, String collection, String... fields) {
+        if (ref == null) {
+            return null;
+        }
+        long now = System.nanoTime();
+        CachedDocument cached = cache.get(ref.getId());
+        if (cached != null && now - cached.expiresAt() < 0) {
+            return cached.document();
+        }
+        Document found = mongoTemplate.getObject().findOne(byId(ref.getId(), fields), Document.class, collection);
+        if (found != null) {
+            if (cache.size() >= MAX_CACHED) {
+                cache.values().removeIf(entry -> now - entry.expiresAt() >= 0);
+                if (cache.size() >= MAX_CACHED) {
+                    cache.clear();
+                }
+            }
+            cache.put(ref.getId(), new CachedDocument(found, now + cacheTtlNanos));
+        } else {
+            cache.remove(ref.getId());
+        }
+        return found;
+    }
+
+    private record CachedDocument(Document document, long expiresAt) {
+    }
+}
@@ -4,10 +4,12 @@ import com.quickbite.model.Order;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
-import java.util.List;
-
+/**
+ * Orders are the only place the user/item relationship is stored; look them
+ * up from either side with {@link OrderRepositoryCustom#findOrderPage} rather
+ * than holding lists of orders on {@code User} or {@code MenuItem}. Its user
+ * filter also matches legacy orders that still reference the user by DBRef.
+ */
 @Repository
-public interface OrderRepository extends MongoRepository<Order, String> {
-    List<Order> findByUserId(String userId);
-    List<Order> findByStatus(String status);
-}
\ No newline at end of file
+public interface OrderRepository extends MongoRepository<Order, String>, OrderRepositoryCustom {
+}
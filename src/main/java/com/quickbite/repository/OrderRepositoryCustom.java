@@ -0,0 +1,70 @@
+package com.quickbite.repository;
+
+import com.quickbite.dto.ItemSales;
+import com.quickbite.dto.OrderDTO;
+import com.quickbite.dto.OrderPage;
+import com.quickbite.dto.OrderQuery;
+import com.quickbite.dto.OrderStats;
+import com.quickbite.dto.UserSpend;
+import com.quickbite.model.Order;
+import com.quickbite.model.OrderCounter;
+import com.quickbite.model.OrderStatus;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Read-side projections for orders. Orders carry their own username, item and
+ * price, so each call is a single indexed find and the number of queries per
+ * request does not grow with the number of orders returned.
+ */
+public interface OrderRepositoryCustom {
+    OrderPage findOrderPage(OrderQuery query);
+
+    /**
+     * Cursor-backed stream over every matching order, oldest first. Callers
+     * must close the stream to release the server-side cursor.
+     */
+    Stream<OrderDTO> streamOrderViews(OrderQuery query);
+
+    /**
+     * Aggregations over the orders in the query's time window, computed by a
+     * single {@code $group} pipeline each. Rejected orders are counted but do
+     * not add to revenue or spend.
+     */
+    OrderStats aggregateStatusCounts(OrderQuery query);
+
+    /**
+     * Best-selling items by revenue, highest first.
+     */
+    List<ItemSales> aggregateItemSales(OrderQuery query, int limit);
+
+    /**
+     * Users by total spend, highest first.
+     */
+    List<UserSpend> aggregateUserSpend(OrderQuery query, int limit);
+
+    /**
+     * Recomputes the materialised counters from the orders themselves: every
+     * status counter, and the item counters of the days from {@code itemsFrom}.
+     */
+    List<OrderCounter> rebuildCounters(Instant itemsFrom);
+
+    /**
+     * Moves the order to {@code target} in one round trip, provided its current
+     * status allows the transition; otherwise the order is not modified.
+     *
+     * @return the order as it was before the update, {@code null} if there is
+     * no such order. Its status tells whether the transition was allowed.
+     */
+    Order transitionStatus(String orderId, OrderStatus target, Instant lastModified);
+
+    /**
+     * Version of a user's orders: their count and the sum of their modification
+     * times, from one {@code $group} over the same orders the listing returns,
+     * legacy ones included. It changes whenever one of the orders is placed, moved or
+     * removed, whichever node did it.
+     */
+    String userOrdersVersion(String userId);
+}
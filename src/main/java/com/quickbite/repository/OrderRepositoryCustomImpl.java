@@ -0,0 +1,313 @@
+package com.quickbite.repository;
+
+import com.quickbite.dto.ItemSales;
+import com.quickbite.dto.OrderDTO;
+import com.quickbite.dto.OrderPage;
+import com.quickbite.dto.OrderQuery;
+import com.quickbite.dto.OrderStats;
+import com.quickbite.dto.UserSpend;
+import com.quickbite.model.Order;
+import com.quickbite.model.OrderCounter;
+import com.quickbite.model.OrderStatus;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationExpression;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.aggregation.ArithmeticOperators;
+import org.springframework.data.mongodb.core.aggregation.ArrayOperators;
+import org.springframework.data.mongodb.core.aggregation.ConditionalOperators;
+import org.springframework.data.mongodb.core.aggregation.ConvertOperators;
+import org.springframework.data.mongodb.core.aggregation.DateOperators;
+import org.springframework.data.mongodb.core.aggregation.Fields;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.group;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.limit;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.match;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.newAggregation;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.project;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.sort;
+
+@RequiredArgsConstructor
+public class OrderRepositoryCustomImpl implements OrderRepositoryCustom {
+
+    static final String ORDERS_COLLECTION = "orders";
+    static final String REJECTED = "REJECTED";
+
+    // Legacy orders without a unit price yield null, which $sum skips
+    private static final AggregationExpression LINE_TOTAL =
+            ArithmeticOperators.Multiply.valueOf("quantity").multiplyBy("unitPrice");
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public OrderPage findOrderPage(OrderQuery query) {
+        int limit = query.getLimit();
+
+        // Fetch one extra row to learn whether another page exists. The whole
+        // page comes back in the first batch; by default that stops at 101 rows
+        // and the rest would cost a getMore.
+        Query pageQuery = Query.query(toCriteria(query))
+                .with(Sort.by(Sort.Direction.DESC, "_id"))
+                .limit(limit + 1)
+                .cursorBatchSize(limit + 1);
+
+        List<OrderDTO> orders = mongoTemplate.find(pageQuery, Order.class).stream()
+                .map(OrderDTO::new)
+                .toList();
+
+        if (orders.size() <= limit) {
+            return new OrderPage(orders, null);
+        }
+        List<OrderDTO> page = orders.subList(0, limit);
+        return new OrderPage(page, page.get(limit - 1).getId());
+    }
+
+    @Override
+    public Stream<OrderDTO> streamOrderViews(OrderQuery query) {
+        Query exportQuery = Query.query(toCriteria(query))
+                .with(Sort.by(Sort.Direction.ASC, "_id"));
+
+        return mongoTemplate.stream(exportQuery, Order.class).map(OrderDTO::new);
+    }
+
+    @Override
+    public OrderStats aggregateStatusCounts(OrderQuery query) {
+        Aggregation aggregation = newAggregation(
+                match(toCriteria(query)),
+                group("status").count().as("orders").sum(LINE_TOTAL).as("revenue"));
+
+        Map<String, Long> ordersByStatus = new LinkedHashMap<>();
+        long totalOrders = 0;
+        double revenue = 0;
+        for (Document row : aggregate(aggregation)) {
+            String status = row.getString("_id");
+            long orders = longValue(row, "orders");
+            totalOrders += orders;
+            if (status != null) {
+                ordersByStatus.put(status, orders);
+            }
+            if (!REJECTED.equals(status)) {
+                revenue += doubleValue(row, "revenue");
+            }
+        }
+        return new OrderStats(ordersByStatus, totalOrders, revenue);
+    }
+
+    @Override
+    public List<ItemSales> aggregateItemSales(OrderQuery query, int limit) {
+        Aggregation aggregation = newAggregation(
+                match(salesCriteria(query, "menuItemId")),
+                group("menuItemId").first("itemName").as("itemName")
+                        .count().as("orders")
+                        .sum("quantity").as("quantity")
+                        .sum(LINE_TOTAL).as("revenue"),
+                sort(Sort.Direction.DESC, "revenue"),
+                limit(limit));
+
+        return aggregate(aggregation).stream()
+                .map(row -> new ItemSales(row.getString("_id"), row.getString("itemName"),
+                        longValue(row, "orders"), longValue(row, "quantity"), doubleValue(row, "revenue")))
+                .toList();
+    }
+
+    @Override
+    public List<UserSpend> aggregateUserSpend(OrderQuery query, int limit) {
+        Aggregation aggregation = newAggregation(
+                match(salesCriteria(query, "userId")),
+                group("userId").first("username").as("username")
+                        .count().as("orders")
+                        .sum(LINE_TOTAL).as("spend"),
+                sort(Sort.Direction.DESC, "spend"),
+                limit(limit));
+
+        return aggregate(aggregation).stream()
+                .map(row -> new UserSpend(row.getString("_id"), row.getString("username"),
+                        longValue(row, "orders"), doubleValue(row, "spend")))
+                .toList();
+    }
+
+    @Override
+    public List<OrderCounter> rebuildCounters(Instant itemsFrom) {
+        List<OrderCounter> counters = new ArrayList<>();
+
+        Aggregation byStatus = newAggregation(
+                group("status").count().as("orders")
+                        .sum("quantity").as("quantity")
+                        .sum(LINE_TOTAL).as("revenue"));
+        for (Document row : aggregate(byStatus)) {
+            String status = row.getString("_id");
+            if (status != null) {
+                counters.add(new OrderCounter(OrderCounter.statusId(status), OrderCounter.STATUS, status, null, null,
+                        longValue(row, "orders"), longValue(row, "quantity"), doubleValue(row, "revenue")));
+            }
+        }
+
+        // The day an order was placed is the timestamp of its ObjectId
+        OrderQuery window = new OrderQuery();
+        window.setFrom(itemsFrom);
+        Aggregation byItemAndDay = newAggregation(
+                match(salesCriteria(window, "menuItemId")),
+                project("menuItemId", "itemName", "quantity")
+                        .and(DateOperators.dateOf(ConvertOperators.valueOf("_id").convertToDate()).toString("%Y-%m-%d")).as("day")
+                        .and(LINE_TOTAL).as("lineTotal"),
+                group("menuItemId", "day").first("itemName").as("itemName")
+                        .count().as("orders")
+                        .sum("quantity").as("quantity")
+                        .sum("lineTotal").as("revenue"));
+        for (Document row : aggregate(byItemAndDay)) {
+            Document id = row.get("_id", Document.class);
+            String menuItemId = id.getString("menuItemId");
+            String day = id.getString("day");
+            counters.add(new OrderCounter(OrderCounter.itemId(day, menuItemId), OrderCounter.ITEM, menuItemId, day,
+                    row.getString("itemName"), longValue(row, "orders"), longValue(row, "quantity"),
+                    doubleValue(row, "revenue")));
+        }
+        return counters;
+    }
+
+    @Override
+    public Order transitionStatus(String orderId, OrderStatus target, Instant lastModified) {
+        return mongoTemplate.findAndModify(byId(orderId), statusTransition(target, lastModified),
+                FindAndModifyOptions.options().returnNew(false), Order.class);
+    }
+
+    @Override
+    public String userOrdersVersion(String userId) {
+        return toVersion(mongoTemplate.aggregate(versionAggregation(userId), ORDERS_COLLECTION, Document.class)
+                .getUniqueMappedResult());
+    }
+
+    /**
+     * Matches the user's orders with the same criteria as their listing, so
+     * orders not yet rewritten by {@code OrderSchemaMigration} are counted
+     * through their {@code user.$id} reference. Migrated orders only need
+     * indexed fields, so their branch of the {@code $or} is a covered index scan.
+     */
+    static Aggregation versionAggregation(String userId) {
+        OrderQuery query = new OrderQuery();
+        query.setUserId(userId);
+        return newAggregation(
+                match(toCriteria(query)),
+                group().count().as("orders")
+                        .sum(ConvertOperators.valueOf("lastModified").convertToLong()).as("modified"));
+    }
+
+    static String toVersion(Document row) {
+        if (row == null) {
+            return "0";
+        }
+        return longValue(row, "orders") + "-" + Long.toString(longValue(row, "modified"), 36);
+    }
+
+    static Query byId(String orderId) {
+        return Query.query(Criteria.where("_id").is(toObjectId(orderId)));
+    }
+
+    /**
+     * Sets the status and modification time only when the current status may
+     * move to {@code target}, and otherwise leaves the order as it is. Either
+     * way the pre-image comes back, which tells the caller both whether the
+     * transition happened and, if not, which status blocked it.
+     */
+    static AggregationUpdate statusTransition(OrderStatus target, Instant lastModified) {
+        AggregationExpression allowed = ArrayOperators.In.arrayOf(target.getPreviousStatuses())
+                .containsValue(Fields.field("status"));
+        return AggregationUpdate.update()
+                .set("status").toValue(ConditionalOperators.when(allowed).then(target.name()).otherwise("$status"))
+                .set("lastModified").toValue(ConditionalOperators.when(allowed).then(lastModified).otherwise("$lastModified"));
+    }
+
+    private List<Document> aggregate(Aggregation aggregation) {
+        return mongoTemplate.aggregate(aggregation, ORDERS_COLLECTION, Document.class).getMappedResults();
+    }
+
+    /**
+     * Orders that count as a sale and carry the snapshot field being grouped
+     * on; legacy orders are left out until the migration has rewritten them.
+     */
+    private static Criteria salesCriteria(OrderQuery query, String groupField) {
+        return toCriteria(query)
+                .and(groupField).exists(true)
+                .and("status").ne(REJECTED);
+    }
+
+    private static long longValue(Document row, String key) {
+        Object value = row.get(key);
+        return value instanceof Number number ? number.longValue() : 0L;
+    }
+
+    private static double doubleValue(Document row, String key) {
+        Object value = row.get(key);
+        return value instanceof Number number ? number.doubleValue() : 0.0;
+    }
+
+    /**
+     * Equality filters come first so the {status, _id} and {userId, _id}
+     * indexes turn every page into a bounded range scan. The time range is
+     * expressed on _id as well, since an ObjectId starts with its creation time.
+     * That time only has whole seconds, so a bound with a fraction is widened
+     * to the enclosing second: {@code to} rounds up, {@code from} down.
+     * <p>
+     * Until {@code OrderSchemaMigration} has rewritten every legacy order, the
+     * user filter also matches the old {@code user.$id} reference.
+     */
+    static Criteria toCriteria(OrderQuery query) {
+        Criteria criteria = new Criteria();
+        if (query.getStatus() != null) {
+            criteria.and("status").is(query.getStatus());
+        }
+        if (query.getUserId() != null) {
+            criteria.orOperator(
+                    Criteria.where("userId").is(query.getUserId()),
+                    Criteria.where("user.$id").is(toObjectId(query.getUserId())));
+        }
+
+        ObjectId upperBound = query.getCursor() != null ? new ObjectId(query.getCursor()) : null;
+        if (query.getTo() != null) {
+            ObjectId toId = boundaryId(roundUpToSecond(query.getTo()));
+            if (upperBound == null || toId.compareTo(upperBound) < 0) {
+                upperBound = toId;
+            }
+        }
+
+        if (upperBound != null || query.getFrom() != null) {
+            Criteria idRange = criteria.and("_id");
+            if (upperBound != null) {
+                idRange.lt(upperBound);
+            }
+            if (query.getFrom() != null) {
+                idRange.gte(boundaryId(query.getFrom()));
+            }
+        }
+        return criteria;
+    }
+
+    private static ObjectId boundaryId(Instant instant) {
+        return new ObjectId(String.format("%08x%016x", instant.getEpochSecond(), 0L));
+    }
+
+    // An exclusive bound of 12:00:00.900 must still match ids stamped 12:00:00
+    private static Instant roundUpToSecond(Instant instant) {
+        Instant second = instant.truncatedTo(ChronoUnit.SECONDS);
+        return second.equals(instant) ? instant : second.plusSeconds(1);
+    }
+
+    static Object toObjectId(String id) {
+        return ObjectId.isValid(id) ? new ObjectId(id) : id;
+    }
+}
@@ -0,0 +1,59 @@
+package com.quickbite.repository;
+
+import com.mongodb.DBRef;
+import com.quickbite.model.Order;
+import org.bson.Document;
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.mapping.event.ReactiveAfterConvertCallback;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import static com.quickbite.repository.LegacyOrderUpgrader.MENU_COLLECTION;
+import static com.quickbite.repository.LegacyOrderUpgrader.USERS_COLLECTION;
+import static com.quickbite.repository.LegacyOrderUpgrader.byId;
+
+/**
+ * {@link LegacyOrderUpgrader} for the reactive driver: current orders are
+ * returned as they are, legacy ones are completed with two non-blocking lookups.
+ */
+@Component
+@Profile("reactive")
+public class ReactiveLegacyOrderUpgrader implements ReactiveAfterConvertCallback<Order> {
+
+    private final ObjectProvider<ReactiveMongoTemplate> reactiveMongoTemplate;
+
+    public ReactiveLegacyOrderUpgrader(ObjectProvider<ReactiveMongoTemplate> reactiveMongoTemplate) {
+        this.reactiveMongoTemplate = reactiveMongoTemplate;
+    }
+
+    @Override
+    public Publisher<Order> onAfterConvert(Order order, Document document, String collection) {
+        if (!order.isLegacy()) {
+            return Mono.just(order);
+        }
+        return Mono.zip(
+                        lookup(order.getLegacyUser(), USERS_COLLECTION, "username"),
+                        lookup(order.getLegacyMenuItem(), MENU_COLLECTION, "name", "price"))
+                .map(found -> {
+                    LegacyOrderUpgrader.upgrade(order, orNull(found.getT1()), orNull(found.getT2()));
+                    return order;
+                });
+    }
+
+    private Mono<Document> lookup(DBRef ref, String collection, String... fields) {
+        if (ref == null) {
+            return Mono.just(new Document());
+        }
+        return reactiveMongoTemplate.getObject()
+                .findOne(byId(ref.getId(), fields), Document.class, collection)
+                .defaultIfEmpty(new Document());
+    }
+
+    // Mono.zip drops empty results, so a missing document travels as an empty one
+    private static Document orNull(Document document) {
+        return document.isEmpty() ? null : document;
+    }
+}
@@ -0,0 +1,13 @@
+package com.quickbite.repository;
+
+import com.quickbite.model.MenuItem;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Non-blocking counterpart of {@link MenuRepository}, registered only when the
+ * {@code reactive} profile enables the reactive Mongo auto-configuration.
+ */
+@Repository
+public interface ReactiveMenuRepository extends ReactiveMongoRepository<MenuItem, String> {
+}
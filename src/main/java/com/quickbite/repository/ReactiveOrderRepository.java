@@ -0,0 +1,13 @@
+package com.quickbite.repository;
+
+import com.quickbite.model.Order;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Non-blocking counterpart of {@link OrderRepository}, registered only when the
+ * {@code reactive} profile enables the reactive Mongo auto-configuration.
+ */
+@Repository
+public interface ReactiveOrderRepository extends ReactiveMongoRepository<Order, String>, ReactiveOrderRepositoryCustom {
+}
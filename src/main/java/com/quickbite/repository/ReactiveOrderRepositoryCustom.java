@@ -0,0 +1,41 @@
+package com.quickbite.repository;
+
+import com.quickbite.dto.OrderDTO;
+import com.quickbite.dto.OrderPage;
+import com.quickbite.dto.OrderQuery;
+import com.quickbite.model.Order;
+import com.quickbite.model.OrderStatus;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+
+/**
+ * Order reads for the reactive driver, with the same single-document queries
+ * as {@link OrderRepositoryCustom}.
+ */
+public interface ReactiveOrderRepositoryCustom {
+
+    /**
+     * Same keyset page as {@link OrderRepositoryCustom#findOrderPage}.
+     */
+    Mono<OrderPage> findOrderPage(OrderQuery query);
+
+    /**
+     * Streams every matching order view, oldest first. Documents are pulled from
+     * the cursor only as fast as the subscriber requests them.
+     */
+    Flux<OrderDTO> streamOrderViews(OrderQuery query);
+
+    /**
+     * Same conditional transition as {@link OrderRepositoryCustom#transitionStatus}.
+     *
+     * @return the order as it was before the update, empty if there is no such order
+     */
+    Mono<Order> transitionStatus(String orderId, OrderStatus target, Instant lastModified);
+
+    /**
+     * Same covered version as {@link OrderRepositoryCustom#userOrdersVersion}.
+     */
+    Mono<String> userOrdersVersion(String userId);
+}
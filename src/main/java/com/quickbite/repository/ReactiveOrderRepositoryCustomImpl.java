@@ -0,0 +1,81 @@
+package com.quickbite.repository;
+
+import com.quickbite.dto.OrderDTO;
+import com.quickbite.dto.OrderPage;
+import com.quickbite.dto.OrderQuery;
+import com.quickbite.model.Order;
+import com.quickbite.model.OrderStatus;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.List;
+
+import static com.quickbite.repository.OrderRepositoryCustomImpl.ORDERS_COLLECTION;
+import static com.quickbite.repository.OrderRepositoryCustomImpl.byId;
+import static com.quickbite.repository.OrderRepositoryCustomImpl.statusTransition;
+import static com.quickbite.repository.OrderRepositoryCustomImpl.toCriteria;
+import static com.quickbite.repository.OrderRepositoryCustomImpl.toVersion;
+import static com.quickbite.repository.OrderRepositoryCustomImpl.versionAggregation;
+
+/**
+ * Runs the same queries as {@link OrderRepositoryCustomImpl} on the
+ * reactive driver.
+ */
+@RequiredArgsConstructor
+public class ReactiveOrderRepositoryCustomImpl implements ReactiveOrderRepositoryCustom {
+
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+
+    @Override
+    public Mono<OrderPage> findOrderPage(OrderQuery query) {
+        int limit = query.getLimit();
+
+        // Fetch one extra row to learn whether another page exists. The whole
+        // page comes back in the first batch; by default that stops at 101 rows
+        // and the rest would cost a getMore.
+        Query pageQuery = Query.query(toCriteria(query))
+                .with(Sort.by(Sort.Direction.DESC, "_id"))
+                .limit(limit + 1)
+                .cursorBatchSize(limit + 1);
+
+        return reactiveMongoTemplate.find(pageQuery, Order.class)
+                .map(OrderDTO::new)
+                .collectList()
+                .map(orders -> {
+                    if (orders.size() <= limit) {
+                        return new OrderPage(orders, null);
+                    }
+                    List<OrderDTO> page = orders.subList(0, limit);
+                    return new OrderPage(page, page.get(limit - 1).getId());
+                });
+    }
+
+    @Override
+    public Flux<OrderDTO> streamOrderViews(OrderQuery query) {
+        Query exportQuery = Query.query(toCriteria(query))
+                .with(Sort.by(Sort.Direction.ASC, "_id"));
+
+        return reactiveMongoTemplate.find(exportQuery, Order.class).map(OrderDTO::new);
+    }
+
+    @Override
+    public Mono<Order> transitionStatus(String orderId, OrderStatus target, Instant lastModified) {
+        return reactiveMongoTemplate.findAndModify(byId(orderId), statusTransition(target, lastModified),
+                FindAndModifyOptions.options().returnNew(false), Order.class);
+    }
+
+    @Override
+    public Mono<String> userOrdersVersion(String userId) {
+        return reactiveMongoTemplate.aggregate(versionAggregation(userId), ORDERS_COLLECTION, Document.class)
+                .next()
+                .map(OrderRepositoryCustomImpl::toVersion)
+                .defaultIfEmpty(toVersion(null));
+    }
+}
@@ -0,0 +1,244 @@
+package com.quickbite.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.quickbite.exception.IdempotencyKeyConflictException;
+import com.quickbite.exception.IdempotencyKeyInProgressException;
+import com.quickbite.model.IdempotencyRecord;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Runs a request at most once per {@code Idempotency-Key}, and answers
+ * retries with the first response.
+ *
+ * <p>Each node keeps a bounded map from key to the future of its first
+ * execution. A retry that arrives while that execution is still writing
+ * waits on the same future instead of starting another write, and a replay
+ * of a completed request is answered from memory without touching Mongo.
+ *
+ * <p>Across nodes, the first execution claims the key by inserting an
+ * {@link IdempotencyRecord}; the unique {@code _id} lets only one insert
+ * succeed. The record stores the response once the request completes and
+ * expires through a TTL index. A request whose key is held by another node's
+ * unfinished execution gets a {@link IdempotencyKeyInProgressException}; a
+ * claim left behind by a node that died is taken over once its lock expires.
+ * A request that fails releases its key so it can be retried.
+ */
+@Service
+@Slf4j
+public class IdempotencyService {
+
+    public static final int MAX_KEY_LENGTH = 255;
+
+    private final MongoTemplate mongoTemplate;
+    private final ObjectMapper objectMapper;
+    private final Duration ttl;
+    private final Duration cacheTtl;
+    private final int cacheSize;
+    private final Duration lockTimeout;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    public IdempotencyService(MongoTemplate mongoTemplate, ObjectMapper objectMapper,
+                              @Value("${quickbite.idempotency.ttl:24h}") Duration ttl,
+                              @Value("${quickbite.idempotency.cache-ttl:10m}") Duration cacheTtl,
+                              @Value("${quickbite.idempotency.cache-size:10000}") int cacheSize,
+                              @Value("${quickbite.idempotency.lock-timeout:30s}") Duration lockTimeout) {
+        this.mongoTemplate = mongoTemplate;
+        this.objectMapper = objectMapper;
+        this.ttl = ttl;
+        this.cacheTtl = cacheTtl;
+        this.cacheSize = cacheSize;
+        this.lockTimeout = lockTimeout;
+    }
+
+    public int getCachedKeyCount() {
+        return entries.size();
+    }
+
+    /**
+     * @param scope   keeps keys of different users and endpoints apart
+     * @param key     the client's {@code Idempotency-Key}
+     * @param request the request body; a retry must send an equal one
+     * @param action  performs the request the first time the key is seen
+     */
+    public <T> Outcome<T> execute(String scope, String key, Object request, Class<T> type, Supplier<T> action) {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException("Idempotency-Key must be 1 to " + MAX_KEY_LENGTH + " characters");
+        }
+        String id = scope + ":" + key;
+        String fingerprint = fingerprint(request);
+
+        long now = System.nanoTime();
+        Entry fresh = new Entry(fingerprint, new CompletableFuture<>(), now + cacheTtl.toNanos());
+        Entry existing = entries.compute(id, (k, current) ->
+                current == null || (current.future().isDone() && now - current.expiresAt() >= 0) ? fresh : current);
+        if (existing != fresh) {
+            if (!existing.fingerprint().equals(fingerprint)) {
+                throw new IdempotencyKeyConflictException(key);
+            }
+            return new Outcome<>(type.cast(await(existing, key)), true);
+        }
+
+        evictIfFull();
+        try {
+            Outcome<T> outcome = claimAndRun(id, key, fingerprint, type, action);
+            fresh.future().complete(outcome.value());
+            return outcome;
+        } catch (RuntimeException e) {
+            // Waiting duplicates see the same failure; the next retry starts over
+            entries.remove(id, fresh);
+            fresh.future().completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private <T> Outcome<T> claimAndRun(String id, String key, String fingerprint, Class<T> type, Supplier<T> action) {
+        Instant now = Instant.now();
+        IdempotencyRecord claim = new IdempotencyRecord(id, fingerprint, IdempotencyRecord.IN_PROGRESS, null,
+                now.plus(lockTimeout), now.plus(ttl));
+        try {
+            mongoTemplate.insert(claim);
+        } catch (DuplicateKeyException e) {
+            IdempotencyRecord record = mongoTemplate.findById(id, IdempotencyRecord.class);
+            if (record == null || !takeOver(record, claim, now)) {
+                return replay(record, key, fingerprint, type);
+            }
+        }
+
+        T value;
+        try {
+            value = action.get();
+        } catch (RuntimeException e) {
+            release(id);
+            throw e;
+        }
+        try {
+            mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(id)), new Update()
+                    .set("status", IdempotencyRecord.COMPLETED)
+                    .set("response", toJson(value)), IdempotencyRecord.class);
+        } catch (RuntimeException e) {
+            // The request did succeed; this node still replays it from memory
+            log.warn("Could not record the response for idempotency key {}: {}", id, e.getMessage());
+        }
+        return new Outcome<>(value, false);
+    }
+
+    private void release(String id) {
+        try {
+            mongoTemplate.remove(Query.query(Criteria.where("_id").is(id)), IdempotencyRecord.class);
+        } catch (RuntimeException e) {
+            // The claim is taken over once its lock expires
+            log.warn("Could not release idempotency key {}: {}", id, e.getMessage());
+        }
+    }
+
+    /**
+     * Claims a record whose previous owner stopped before completing it.
+     */
+    private boolean takeOver(IdempotencyRecord record, IdempotencyRecord claim, Instant now) {
+        if (!IdempotencyRecord.IN_PROGRESS.equals(record.getStatus()) || record.getLockedUntil().isAfter(now)
+                || !record.getFingerprint().equals(claim.getFingerprint())) {
+            return false;
+        }
+        IdempotencyRecord taken = mongoTemplate.findAndModify(
+                Query.query(Criteria.where("_id").is(record.getId())
+                        .and("status").is(IdempotencyRecord.IN_PROGRESS)
+                        .and("lockedUntil").is(record.getLockedUntil())),
+                new Update().set("lockedUntil", claim.getLockedUntil()).set("expiresAt", claim.getExpiresAt()),
+                FindAndModifyOptions.options().returnNew(true),
+                IdempotencyRecord.class);
+        if (taken != null) {
+            log.warn("Taking over abandoned idempotency key {}", record.getId());
+        }
+        return taken != null;
+    }
+
+    private <T> Outcome<T> replay(IdempotencyRecord record, String key, String fingerprint, Class<T> type) {
+        if (record == null) {
+            // Expired between the insert and the lookup; the client may simply retry
+            throw new IdempotencyKeyInProgressException(key, 1);
+        }
+        if (!record.getFingerprint().equals(fingerprint)) {
+            throw new IdempotencyKeyConflictException(key);
+        }
+        if (!IdempotencyRecord.COMPLETED.equals(record.getStatus())) {
+            long retryAfter = Math.max(1, Duration.between(Instant.now(), record.getLockedUntil()).toSeconds());
+            throw new IdempotencyKeyInProgressException(key, Math.min(retryAfter, 5));
+        }
+        try {
+            return new Outcome<>(objectMapper.readValue(record.getResponse(), type), true);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Stored response for " + record.getId() + " is unreadable", e);
+        }
+    }
+
+    private Object await(Entry entry, String key) {
+        try {
+            return entry.future().get(lockTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new IdempotencyKeyInProgressException(key, 1);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IdempotencyKeyInProgressException(key, 1);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private void evictIfFull() {
+        if (entries.size() <= cacheSize) {
+            return;
+        }
+        long now = System.nanoTime();
+        entries.values().removeIf(entry -> entry.future().isDone() && now - entry.expiresAt() >= 0);
+        if (entries.size() > cacheSize) {
+            // Still full of live keys: drop completed ones, Mongo still answers their replays
+            entries.values().removeIf(entry -> entry.future().isDone());
+        }
+    }
+
+    private String fingerprint(Object request) {
+        return DigestUtils.md5DigestAsHex(toJson(request).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialise " + value.getClass().getSimpleName(), e);
+        }
+    }
+
+    /**
+     * @param replayed true when {@code value} is the response of an earlier request
+     */
+    public record Outcome<T>(T value, boolean replayed) {
+    }
+
+    private record Entry(String fingerprint, CompletableFuture<Object> future, long expiresAt) {
+    }
+}
@@ -0,0 +1,273 @@
+package com.quickbite.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.bulk.BulkWriteError;
+import com.quickbite.dto.MenuBulkResult;
+import com.quickbite.dto.MenuBulkResult.ItemResult;
+import com.quickbite.dto.MenuItemOperation;
+import com.quickbite.event.MenuChangedEvent;
+import com.quickbite.model.MenuItem;
+import io.micrometer.core.annotation.Timed;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Applies a batch of menu upserts and deletes, as sent by a point-of-sale
+ * sync. The whole batch is validated before anything is written; then each
+ * chunk costs one {@code $in} lookup, to tell creates from updates and find
+ * missing deletes, and one unordered bulk write. A single
+ * {@link MenuChangedEvent} covering every written item is published at the
+ * end, so the menu cache and its ETag are invalidated once per batch.
+ */
+@Service
+@Timed("quickbite.service")
+@Slf4j
+public class MenuBulkService {
+
+    public static final String CREATED = "created";
+    public static final String UPDATED = "updated";
+    public static final String DELETED = "deleted";
+    public static final String NOT_FOUND = "not_found";
+    public static final String INVALID = "invalid";
+    public static final String SKIPPED = "skipped";
+    public static final String FAILED = "failed";
+
+    private final MongoTemplate mongoTemplate;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int chunkSize;
+    private final int maxItems;
+
+    public MenuBulkService(MongoTemplate mongoTemplate, Validator validator, ObjectMapper objectMapper,
+                           ApplicationEventPublisher eventPublisher,
+                           @Value("${quickbite.menu.bulk-chunk-size:500}") int chunkSize,
+                           @Value("${quickbite.menu.bulk-max-items:5000}") int maxItems) {
+        this.mongoTemplate = mongoTemplate;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+        this.chunkSize = chunkSize;
+        this.maxItems = maxItems;
+    }
+
+    /**
+     * Reads newline-delimited JSON operations, one object per line.
+     */
+    public List<MenuItemOperation> readNdjson(InputStream in) throws IOException {
+        List<MenuItemOperation> operations = new ArrayList<>();
+        try (MappingIterator<MenuItemOperation> lines = objectMapper.readerFor(MenuItemOperation.class).readValues(in)) {
+            while (lines.hasNextValue()) {
+                if (operations.size() == maxItems) {
+                    throw new IllegalArgumentException("A bulk menu sync is limited to " + maxItems + " items");
+                }
+                operations.add(lines.nextValue());
+            }
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Malformed NDJSON at line " + e.getLocation().getLineNr()
+                    + ": " + e.getOriginalMessage());
+        }
+        return operations;
+    }
+
+    public MenuBulkResult apply(List<MenuItemOperation> operations) {
+        if (operations == null || operations.isEmpty()) {
+            throw new IllegalArgumentException("No menu operations given");
+        }
+        if (operations.size() > maxItems) {
+            throw new IllegalArgumentException("A bulk menu sync is limited to " + maxItems + " items");
+        }
+
+        ItemResult[] results = validate(operations);
+        if (results != null) {
+            return toResult(false, results);
+        }
+
+        results = new ItemResult[operations.size()];
+        List<String> changedIds = new ArrayList<>();
+        try {
+            for (int start = 0; start < operations.size(); start += chunkSize) {
+                int end = Math.min(start + chunkSize, operations.size());
+                applyChunk(operations, start, end, results, changedIds);
+            }
+        } finally {
+            if (!changedIds.isEmpty()) {
+                eventPublisher.publishEvent(new MenuChangedEvent(List.copyOf(changedIds)));
+            }
+        }
+        MenuBulkResult result = toResult(true, results);
+        log.info("Bulk menu sync applied {} of {} operations", result.getSucceeded(), operations.size());
+        return result;
+    }
+
+    /**
+     * Normalises the operations and assigns ids to new items.
+     *
+     * @return the per-item errors, or {@code null} when the whole batch is valid
+     */
+    private ItemResult[] validate(List<MenuItemOperation> operations) {
+        ItemResult[] results = new ItemResult[operations.size()];
+        Set<String> seenIds = new HashSet<>();
+        boolean valid = true;
+        for (int i = 0; i < operations.size(); i++) {
+            if (operations.get(i) == null) {
+                operations.set(i, new MenuItemOperation());
+            }
+            MenuItemOperation operation = operations.get(i);
+            String error = validate(operation, seenIds);
+            if (error != null) {
+                valid = false;
+            }
+            results[i] = new ItemResult(i, operation.getId(), operation.getOp(),
+                    error != null ? INVALID : SKIPPED, error);
+        }
+        if (valid) {
+            for (MenuItemOperation operation : operations) {
+                if (operation.getId() == null) {
+                    operation.setId(new ObjectId().toHexString());
+                }
+            }
+            return null;
+        }
+        return results;
+    }
+
+    private String validate(MenuItemOperation operation, Set<String> seenIds) {
+        String op = operation.getOp() == null ? null : operation.getOp().trim().toLowerCase(Locale.ROOT);
+        if (!MenuItemOperation.UPSERT.equals(op) && !MenuItemOperation.DELETE.equals(op)) {
+            return "op must be '" + MenuItemOperation.UPSERT + "' or '" + MenuItemOperation.DELETE + "'";
+        }
+        operation.setOp(op);
+
+        if (operation.getId() != null) {
+            if (operation.getId().isBlank()) {
+                return "id must not be blank";
+            }
+            if (!seenIds.add(operation.getId())) {
+                return "id appears more than once in the batch";
+            }
+        }
+        if (MenuItemOperation.DELETE.equals(op)) {
+            return operation.getId() == null ? "id is required to delete an item" : null;
+        }
+
+        MenuItem item = new MenuItem(operation.getId(), operation.getName(), operation.getDescription(),
+                operation.getPrice(), null);
+        Set<ConstraintViolation<MenuItem>> violations = validator.validate(item);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private void applyChunk(List<MenuItemOperation> operations, int start, int end,
+                            ItemResult[] results, List<String> changedIds) {
+        List<MenuItemOperation> chunk = operations.subList(start, end);
+        Set<String> existing = findExistingIds(chunk);
+
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, MenuItem.class);
+        List<Integer> queued = new ArrayList<>();
+        Instant now = Instant.now();
+        for (int i = start; i < end; i++) {
+            MenuItemOperation operation = operations.get(i);
+            String id = operation.getId();
+            if (MenuItemOperation.DELETE.equals(operation.getOp())) {
+                if (!existing.contains(id)) {
+                    results[i] = new ItemResult(i, id, operation.getOp(), NOT_FOUND, "Menu item not found");
+                    continue;
+                }
+                bulk.remove(byId(id));
+                results[i] = new ItemResult(i, id, operation.getOp(), DELETED, null);
+            } else {
+                bulk.upsert(byId(id), new Update()
+                        .set("name", operation.getName())
+                        .set("description", operation.getDescription())
+                        .set("price", operation.getPrice())
+                        .set("lastModified", now));
+                results[i] = new ItemResult(i, id, operation.getOp(), existing.contains(id) ? UPDATED : CREATED, null);
+            }
+            queued.add(i);
+        }
+        if (queued.isEmpty()) {
+            return;
+        }
+
+        Set<Integer> failed = new HashSet<>();
+        try {
+            bulk.execute();
+        } catch (BulkOperationException e) {
+            // Unordered: every write without an error went through
+            for (BulkWriteError error : e.getErrors()) {
+                int index = queued.get(error.getIndex());
+                failed.add(index);
+                results[index].setStatus(FAILED);
+                results[index].setError(error.getMessage());
+            }
+        } catch (RuntimeException e) {
+            log.warn("Bulk menu write of {} items failed: {}", queued.size(), e.getMessage());
+            for (int index : queued) {
+                failed.add(index);
+                results[index].setStatus(FAILED);
+                results[index].setError(e.getMessage());
+            }
+        }
+        for (int index : queued) {
+            if (!failed.contains(index)) {
+                changedIds.add(results[index].getId());
+            }
+        }
+    }
+
+    private Set<String> findExistingIds(List<MenuItemOperation> chunk) {
+        List<String> ids = chunk.stream().map(MenuItemOperation::getId).toList();
+        Query query = Query.query(Criteria.where("_id").in(ids));
+        query.fields().include("_id");
+        return mongoTemplate.find(query, MenuItem.class).stream()
+                .map(MenuItem::getId)
+                .collect(Collectors.toSet());
+    }
+
+    private static Query byId(String id) {
+        return Query.query(Criteria.where("_id").is(id));
+    }
+
+    private static MenuBulkResult toResult(boolean applied, ItemResult[] results) {
+        int succeeded = 0;
+        int failed = 0;
+        for (ItemResult result : results) {
+            switch (result.getStatus()) {
+                case CREATED, UPDATED, DELETED -> succeeded++;
+                case SKIPPED -> { }
+                default -> failed++;
+            }
+        }
+        return new MenuBulkResult(applied, succeeded, failed, Arrays.asList(results));
+    }
+}
@@ -0,0 +1,134 @@
+package com.quickbite.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.quickbite.dto.MenuItemDTO;
+import com.quickbite.event.MenuChangedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache holding a single {@link MenuSnapshot}. Any
+ * {@link MenuChangedEvent} drops the snapshot; the next reader rebuilds it.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class MenuCache {
+
+    private final ObjectMapper objectMapper;
+
+    private final AtomicReference<MenuSnapshot> snapshot = new AtomicReference<>();
+    private final AtomicLong generation = new AtomicLong();
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder rebuilds = new LongAdder();
+    private final LongAdder rebuildNanos = new LongAdder();
+    private volatile long lastRebuildNanos;
+
+    public MenuSnapshot get(Supplier<List<MenuItemDTO>> loader) {
+        MenuSnapshot current = snapshot.get();
+        if (current != null) {
+            hits.increment();
+            return current;
+        }
+        misses.increment();
+        return rebuild(loader);
+    }
+
+    /**
+     * Returns the current snapshot without loading, or {@code null} when it has
+     * to be rebuilt. Lets a non-blocking caller fetch the items itself and then
+     * hand them to {@link #get}.
+     */
+    public MenuSnapshot getIfPresent() {
+        MenuSnapshot current = snapshot.get();
+        if (current != null) {
+            hits.increment();
+        }
+        return current;
+    }
+
+    @EventListener
+    public void onMenuChanged(MenuChangedEvent event) {
+        log.debug("Menu changed ({}), invalidating cached snapshot", event.getItemIds());
+        invalidate();
+    }
+
+    public void invalidate() {
+        generation.incrementAndGet();
+        snapshot.set(null);
+    }
+
+    private MenuSnapshot rebuild(Supplier<List<MenuItemDTO>> loader) {
+        rebuildLock.lock();
+        try {
+            // Another reader may have rebuilt while we were waiting
+            MenuSnapshot current = snapshot.get();
+            if (current != null) {
+                return current;
+            }
+
+            long expectedGeneration = generation.get();
+            long start = System.nanoTime();
+
+            List<MenuItemDTO> items = List.copyOf(loader.get());
+            byte[] json = objectMapper.writeValueAsBytes(items);
+            MenuSnapshot built = new MenuSnapshot(items, json, "\"" + DigestUtils.md5DigestAsHex(json) + "\"");
+
+            long elapsed = System.nanoTime() - start;
+            rebuilds.increment();
+            rebuildNanos.add(elapsed);
+            lastRebuildNanos = elapsed;
+            log.debug("Rebuilt menu snapshot with {} items in {} µs", items.size(), elapsed / 1_000);
+
+            // A write that raced with the rebuild wins: serve this snapshot once, but don't keep it
+            if (generation.get() == expectedGeneration) {
+                snapshot.compareAndSet(null, built);
+            }
+            return built;
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialise menu snapshot", e);
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public double getHitRatio() {
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+        return total == 0 ? 0.0 : (double) hitCount / total;
+    }
+
+    public long getRebuildCount() {
+        return rebuilds.sum();
+    }
+
+    public long getTotalRebuildNanos() {
+        return rebuildNanos.sum();
+    }
+
+    public long getLastRebuildNanos() {
+        return lastRebuildNanos;
+    }
+}
@@ -1,33 +1,50 @@
 package com.quickbite.service;
 
 import com.quickbite.dto.MenuItemDTO;
+import com.quickbite.event.MenuChangedEvent;
 import com.quickbite.exception.MenuItemNotFoundException;
 import com.quickbite.model.MenuItem;
 import com.quickbite.repository.MenuRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 
 @Service
+@Timed("quickbite.service")
 @RequiredArgsConstructor
 @Slf4j
 public class MenuService {
 
     private final MenuRepository menuRepository;
+    private final MenuCache menuCache;
+    private final ApplicationEventPublisher eventPublisher;
 
     public List<MenuItemDTO> getAllMenuItems() {
-        log.info("Fetching all menu items");
+        return getMenuSnapshot().getItems();
+    }
+
+    public MenuSnapshot getMenuSnapshot() {
+        return menuCache.get(this::loadMenuItems);
+    }
+
+    private List<MenuItemDTO> loadMenuItems() {
+        log.debug("Loading all menu items");
         return menuRepository.findAll().stream()
-                .map(item -> new MenuItemDTO(item.getId(), item.getName(),
-                        item.getDescription(), item.getPrice()))
+                .map(MenuItemDTO::new)
                 .toList();
     }
 
     public MenuItemDTO addMenuItem(MenuItem menuItem) {
         log.info("Adding new menu item: {}", menuItem.getName());
+        menuItem.setLastModified(Instant.now());
         MenuItem savedItem = menuRepository.save(menuItem);
+        eventPublisher.publishEvent(new MenuChangedEvent(List.of(savedItem.getId())));
         log.info("Menu item added successfully with id: {}", savedItem.getId());
         return new MenuItemDTO(savedItem);
     }
@@ -41,8 +58,10 @@ public class MenuService {
         existingItem.setName(updatedItem.getName());
         existingItem.setDescription(updatedItem.getDescription());
         existingItem.setPrice(updatedItem.getPrice());
+        existingItem.setLastModified(Instant.now());
 
         MenuItem savedItem = menuRepository.save(existingItem);
+        eventPublisher.publishEvent(new MenuChangedEvent(List.of(id)));
         log.info("Menu item updated successfully: {}", savedItem.getName());
 
         return new MenuItemDTO(savedItem);
@@ -56,9 +75,29 @@ public class MenuService {
         }
 
         menuRepository.deleteById(id);
+        eventPublisher.publishEvent(new MenuChangedEvent(List.of(id)));
         log.info("Menu item deleted successfully with id: {}", id);
     }
 
+    /**
+     * Looks up an item in the cached menu snapshot, without a Mongo round trip
+     * when the snapshot is warm.
+     */
+    public MenuItemDTO findCachedItem(String id) {
+        MenuItemDTO item = getMenuSnapshot().getItemsById().get(id);
+        if (item == null) {
+            throw new MenuItemNotFoundException(id);
+        }
+        return item;
+    }
+
+    /**
+     * Loads the given items with one {@code $in} query; missing ids are left out.
+     */
+    public List<MenuItem> findAllById(Collection<String> ids) {
+        return menuRepository.findAllById(ids);
+    }
+
     public MenuItem findById(String id) {
         return menuRepository.findById(id)
                 .orElseThrow(() -> new MenuItemNotFoundException(id));
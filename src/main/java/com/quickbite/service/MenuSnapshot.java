@@ -0,0 +1,34 @@
+package com.quickbite.service;
+
+import com.quickbite.dto.MenuItemDTO;
+import lombok.Value;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable view of the whole menu together with its serialised JSON, so a
+ * warm {@code GET /menu} can write bytes without touching Mongo or Jackson.
+ * The ETag is a content hash, so every node computes the same tag for the
+ * same menu.
+ */
+@Value
+public class MenuSnapshot {
+    List<MenuItemDTO> items;
+    byte[] json;
+    String etag;  // strong validator derived from the JSON bytes
+    Map<String, MenuItemDTO> itemsById;
+
+    public MenuSnapshot(List<MenuItemDTO> items, byte[] json, String etag) {
+        this.items = items;
+        this.json = json;
+        this.etag = etag;
+        Map<String, MenuItemDTO> byId = new HashMap<>();
+        for (MenuItemDTO item : items) {
+            byId.put(item.getId(), item);
+        }
+        this.itemsById = Collections.unmodifiableMap(byId);
+    }
+}
@@ -0,0 +1,28 @@
+package com.quickbite.service;
+
+import com.quickbite.repository.OrderRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Strong ETags for a user's orders, so a poll can be answered with 304 without
+ * reading any order documents.
+ * <p>
+ * The tag is derived from the orders collection itself, by a query covered by
+ * the {userId, lastModified} index, so every node computes the same tag for
+ * the same orders and a change made through any node invalidates it.
+ */
+@Component
+@RequiredArgsConstructor
+public class OrderChangeTracker {
+
+    private final OrderRepository orderRepository;
+
+    public String userOrdersEtag(String userId) {
+        return toEtag(orderRepository.userOrdersVersion(userId));
+    }
+
+    public static String toEtag(String version) {
+        return "\"" + version + "\"";
+    }
+}
@@ -0,0 +1,412 @@
+package com.quickbite.service;
+
+import com.quickbite.dto.ItemSales;
+import com.quickbite.dto.OrderDTO;
+import com.quickbite.dto.OrderStats;
+import com.quickbite.event.OrderChangedEvent;
+import com.quickbite.model.OrderCounter;
+import com.quickbite.repository.OrderRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps the {@link OrderCounter}s in {@code order_counters} up to date, so
+ * "orders per status" and "top sellers today" are answered from a handful of
+ * small documents instead of an aggregation over {@code orders}.
+ *
+ * <p>The services that insert orders or move them between statuses call
+ * {@link #recordAll} right after their write, which applies the changes with
+ * one unordered bulk of {@code $inc} upserts before the request is answered.
+ * Reads go through a copy of the counters that lives for {@code cache-ttl}
+ * and is dropped whenever this node writes, so a node sees its own orders at
+ * once and the other nodes' within {@code cache-ttl}.
+ *
+ * <p>A counter write that fails is not retried, because a timed-out
+ * {@code $inc} may still have been applied. It is logged and counted, and
+ * {@link #reconcile} is brought forward. That job rebuilds the counters from
+ * the orders on startup and every {@code reconcile-interval}, reports how far
+ * they had drifted and {@code $inc}s the difference into the ones that were
+ * off, so counter writes racing with it are kept rather than overwritten.
+ */
+@Service
+@Slf4j
+public class OrderCounterService {
+
+    static final String REJECTED = "REJECTED";
+
+    private static final double REVENUE_TOLERANCE = 0.005;
+    private static final int MAX_LOGGED_COUNTERS = 10;
+    private static final Duration RECONCILE_AFTER_FAILURE = Duration.ofSeconds(30);
+
+    private final MongoTemplate mongoTemplate;
+    private final OrderRepository orderRepository;
+    private final boolean enabled;
+    private final long cacheTtlNanos;
+    private final Duration reconcileInterval;
+    private final int itemDays;
+
+    // Status counters and today's item counters as last read, until cachedUntil (nanoTime)
+    private volatile Map<String, OrderCounter> cached = Map.of();
+    private volatile long cachedUntil = System.nanoTime();
+    private final AtomicLong writes = new AtomicLong();
+    private final AtomicLong failedWrites = new AtomicLong();
+    private final AtomicBoolean reconcileRequested = new AtomicBoolean();
+    private volatile long lastDrift;
+
+    private ScheduledExecutorService scheduler;
+
+    public OrderCounterService(MongoTemplate mongoTemplate, OrderRepository orderRepository,
+                               @Value("${quickbite.order-counters.enabled:true}") boolean enabled,
+                               @Value("${quickbite.order-counters.cache-ttl:1s}") Duration cacheTtl,
+                               @Value("${quickbite.order-counters.reconcile-interval:15m}") Duration reconcileInterval,
+                               @Value("${quickbite.order-counters.item-days:30}") int itemDays) {
+        this.mongoTemplate = mongoTemplate;
+        this.orderRepository = orderRepository;
+        this.enabled = enabled;
+        this.cacheTtlNanos = cacheTtl.toNanos();
+        this.reconcileInterval = reconcileInterval;
+        this.itemDays = itemDays;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public long getFailedWrites() {
+        return failedWrites.get();
+    }
+
+    public long getLastDrift() {
+        return lastDrift;
+    }
+
+    public void record(OrderChangedEvent change) {
+        recordAll(List.of(change));
+    }
+
+    /**
+     * Applies already written order changes to the counters with one bulk of
+     * {@code $inc} upserts. Never throws: the orders are saved either way.
+     */
+    public void recordAll(List<OrderChangedEvent> changes) {
+        if (!enabled) {
+            return;
+        }
+        Map<String, Increment> increments = new LinkedHashMap<>();
+        for (OrderChangedEvent change : changes) {
+            collect(change.getOrder(), change.getPreviousStatus(), increments);
+        }
+        if (increments.isEmpty()) {
+            return;
+        }
+
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, OrderCounter.class);
+        increments.values().forEach(increment -> bulk.upsert(byId(increment.id), increment.toUpdate()));
+        try {
+            bulk.execute();
+        } catch (RuntimeException e) {
+            failedWrites.incrementAndGet();
+            log.warn("Writing {} order counters failed, reconciling in {}: {}",
+                    increments.size(), RECONCILE_AFTER_FAILURE, e.getMessage());
+            requestReconcile();
+        } finally {
+            // The next read on this node sees this write
+            writes.incrementAndGet();
+            cachedUntil = System.nanoTime();
+        }
+    }
+
+    /**
+     * Orders per status and the revenue of all but rejected orders, since the
+     * first order.
+     */
+    public OrderStats getStatusStats() {
+        Map<String, Long> ordersByStatus = new LinkedHashMap<>();
+        long totalOrders = 0;
+        double revenue = 0;
+        for (OrderCounter counter : current()) {
+            if (!OrderCounter.STATUS.equals(counter.getKind()) || counter.getOrders() == 0) {
+                continue;
+            }
+            ordersByStatus.put(counter.getKey(), counter.getOrders());
+            totalOrders += counter.getOrders();
+            if (!REJECTED.equals(counter.getKey())) {
+                revenue += counter.getRevenue();
+            }
+        }
+        return new OrderStats(ordersByStatus, totalOrders, revenue);
+    }
+
+    /**
+     * Today's (UTC) best-selling items by revenue, highest first.
+     */
+    public List<ItemSales> getTopItemsToday(int limit) {
+        String today = today().toString();
+        return current().stream()
+                .filter(counter -> OrderCounter.ITEM.equals(counter.getKind()) && today.equals(counter.getDay()))
+                .filter(counter -> counter.getOrders() > 0)
+                .sorted(Comparator.comparingDouble(OrderCounter::getRevenue).reversed())
+                .limit(limit)
+                .map(counter -> new ItemSales(counter.getKey(), counter.getItemName(),
+                        counter.getOrders(), counter.getQuantity(), counter.getRevenue()))
+                .toList();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "order-counters");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.execute(() -> runSafely("reconciliation", this::reconcile));
+        scheduler.scheduleWithFixedDelay(() -> runSafely("reconciliation", this::reconcile),
+                reconcileInterval.toMillis(), reconcileInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        if (scheduler == null) {
+            return;
+        }
+        scheduler.shutdownNow();
+        scheduler.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Re-reads the status counters and today's item counters. A write on this
+     * node during the read leaves the copy already expired.
+     */
+    void refresh() {
+        long writesBefore = writes.get();
+        long now = System.nanoTime();
+        Query query = new Query(new Criteria().orOperator(
+                Criteria.where("kind").is(OrderCounter.STATUS),
+                Criteria.where("kind").is(OrderCounter.ITEM).and("day").is(today().toString())));
+        cached = mongoTemplate.find(query, OrderCounter.class).stream()
+                .collect(Collectors.toUnmodifiableMap(OrderCounter::getId, Function.identity()));
+        cachedUntil = writes.get() == writesBefore ? now + cacheTtlNanos : now;
+    }
+
+    /**
+     * Rebuilds the counters from {@code orders}, corrects those that differ
+     * and drops item counters older than {@code item-days}.
+     */
+    public synchronized Reconciliation reconcile() {
+        LocalDate firstDay = firstItemDay();
+        Map<String, OrderCounter> expected = orderRepository
+                .rebuildCounters(firstDay.atStartOfDay(ZoneOffset.UTC).toInstant()).stream()
+                .collect(Collectors.toMap(OrderCounter::getId, Function.identity()));
+
+        Query scope = new Query(new Criteria().orOperator(
+                Criteria.where("kind").is(OrderCounter.STATUS),
+                Criteria.where("kind").is(OrderCounter.ITEM).and("day").gte(firstDay.toString())));
+        Map<String, OrderCounter> actual = mongoTemplate.find(scope, OrderCounter.class).stream()
+                .collect(Collectors.toMap(OrderCounter::getId, Function.identity()));
+
+        Set<String> ids = new HashSet<>(expected.keySet());
+        ids.addAll(actual.keySet());
+        List<String> drifted = new ArrayList<>();
+        long drift = 0;
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, OrderCounter.class);
+        for (String id : ids) {
+            OrderCounter want = expected.get(id);
+            OrderCounter have = actual.get(id);
+            if (matches(want, have)) {
+                continue;
+            }
+            drifted.add(id);
+            drift += Math.abs(orders(want) - orders(have));
+            Increment correction = new Increment(want != null ? want : have);
+            correction.add(orders(want) - orders(have), quantity(want) - quantity(have), revenue(want) - revenue(have));
+            bulk.upsert(byId(id), correction.toUpdate());
+        }
+        if (!drifted.isEmpty()) {
+            bulk.execute();
+            log.warn("Order counters had drifted by {} orders across {} counters and were corrected: {}",
+                    drift, drifted.size(), drifted.subList(0, Math.min(drifted.size(), MAX_LOGGED_COUNTERS)));
+        } else {
+            log.debug("Order counters match the {} rebuilt counters", expected.size());
+        }
+        mongoTemplate.remove(new Query(Criteria.where("kind").is(OrderCounter.ITEM)
+                .and("day").lt(firstDay.toString())), OrderCounter.class);
+
+        lastDrift = drift;
+        writes.incrementAndGet();
+        cachedUntil = System.nanoTime();
+        return new Reconciliation(expected.size(), drifted.size(), drift);
+    }
+
+    public record Reconciliation(int counters, int drifted, long drift) {
+    }
+
+    private Collection<OrderCounter> current() {
+        if (System.nanoTime() - cachedUntil >= 0) {
+            refresh();
+        }
+        return cached.values();
+    }
+
+    private void collect(OrderDTO order, String previousStatus, Map<String, Increment> increments) {
+        if (order.getStatus().equals(previousStatus)) {
+            return;
+        }
+        int quantity = order.getQuantity();
+        double lineTotal = quantity * order.getUnitPrice();
+
+        if (previousStatus != null) {
+            statusIncrement(previousStatus, increments).add(-1, -quantity, -lineTotal);
+        }
+        statusIncrement(order.getStatus(), increments).add(1, quantity, lineTotal);
+
+        // Item counters only count sales: placing or un-rejecting adds, rejecting removes
+        boolean wasSale = previousStatus != null && !REJECTED.equals(previousStatus);
+        boolean isSale = !REJECTED.equals(order.getStatus());
+        LocalDate day = placedOn(order.getId());
+        if (wasSale != isSale && order.getMenuItemId() != null && !day.isBefore(firstItemDay())) {
+            int sign = isSale ? 1 : -1;
+            itemIncrement(day.toString(), order, increments).add(sign, sign * quantity, sign * lineTotal);
+        }
+    }
+
+    private void requestReconcile() {
+        if (scheduler != null && reconcileRequested.compareAndSet(false, true)) {
+            scheduler.schedule(() -> {
+                reconcileRequested.set(false);
+                runSafely("reconciliation", this::reconcile);
+            }, RECONCILE_AFTER_FAILURE.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private static Increment statusIncrement(String status, Map<String, Increment> increments) {
+        String id = OrderCounter.statusId(status);
+        return increments.computeIfAbsent(id, key -> new Increment(key, OrderCounter.STATUS, status, null, null));
+    }
+
+    private static Increment itemIncrement(String day, OrderDTO order, Map<String, Increment> increments) {
+        String id = OrderCounter.itemId(day, order.getMenuItemId());
+        return increments.computeIfAbsent(id, key ->
+                new Increment(key, OrderCounter.ITEM, order.getMenuItemId(), day, order.getItemName()));
+    }
+
+    private static boolean matches(OrderCounter want, OrderCounter have) {
+        return orders(want) == orders(have)
+                && quantity(want) == quantity(have)
+                && Math.abs(revenue(want) - revenue(have)) < REVENUE_TOLERANCE;
+    }
+
+    private static long orders(OrderCounter counter) {
+        return counter == null ? 0 : counter.getOrders();
+    }
+
+    private static long quantity(OrderCounter counter) {
+        return counter == null ? 0 : counter.getQuantity();
+    }
+
+    private static double revenue(OrderCounter counter) {
+        return counter == null ? 0 : counter.getRevenue();
+    }
+
+    private static Query byId(String id) {
+        return Query.query(Criteria.where("_id").is(id));
+    }
+
+    private static LocalDate placedOn(String orderId) {
+        return orderId != null && ObjectId.isValid(orderId)
+                ? LocalDate.ofInstant(new ObjectId(orderId).getDate().toInstant(), ZoneOffset.UTC)
+                : today();
+    }
+
+    private LocalDate firstItemDay() {
+        return today().minusDays(itemDays - 1L);
+    }
+
+    private static LocalDate today() {
+        return LocalDate.now(ZoneOffset.UTC);
+    }
+
+    private void runSafely(String task, Runnable runnable) {
+        try {
+            runnable.run();
+        } catch (RuntimeException e) {
+            log.warn("Order counter {} failed: {}", task, e.getMessage());
+        }
+    }
+
+    /**
+     * The change to one counter, merged over all orders of one write.
+     */
+    private static final class Increment {
+
+        private final String id;
+        private final String kind;
+        private final String key;
+        private final String day;
+        private final String itemName;
+
+        private long orders;
+        private long quantity;
+        private double revenue;
+
+        private Increment(String id, String kind, String key, String day, String itemName) {
+            this.id = id;
+            this.kind = kind;
+            this.key = key;
+            this.day = day;
+            this.itemName = itemName;
+        }
+
+        private Increment(OrderCounter counter) {
+            this(counter.getId(), counter.getKind(), counter.getKey(), counter.getDay(), counter.getItemName());
+        }
+
+        void add(long orders, long quantity, double revenue) {
+            this.orders += orders;
+            this.quantity += quantity;
+            this.revenue += revenue;
+        }
+
+        Update toUpdate() {
+            return new Update()
+                    .inc("orders", orders)
+                    .inc("quantity", quantity)
+                    .inc("revenue", revenue)
+                    .setOnInsert("kind", kind)
+                    .setOnInsert("key", key)
+                    .setOnInsert("day", day)
+                    .setOnInsert("itemName", itemName);
+        }
+    }
+}
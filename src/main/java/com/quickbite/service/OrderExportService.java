@@ -0,0 +1,82 @@
+package com.quickbite.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.quickbite.dto.OrderDTO;
+import com.quickbite.dto.OrderQuery;
+import com.quickbite.repository.OrderRepository;
+import io.micrometer.core.annotation.Timed;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Service
+@Timed("quickbite.service")
+@RequiredArgsConstructor
+@Slf4j
+public class OrderExportService {
+
+    private final OrderRepository orderRepository;
+    private final ObjectMapper objectMapper;
+
+    @Getter
+    @RequiredArgsConstructor
+    public enum Format {
+        NDJSON("application/x-ndjson"),
+        JSON("application/json");
+
+        private final String contentType;
+
+        public static Format from(String value) {
+            for (Format format : values()) {
+                if (format.name().equalsIgnoreCase(value)) {
+                    return format;
+                }
+            }
+            throw new IllegalArgumentException("Unsupported export format: " + value);
+        }
+    }
+
+    /**
+     * Writes every matching order to {@code out} while the Mongo cursor is
+     * being read, so memory use does not depend on the size of the history.
+     * The generator's own buffer decides when bytes hit the socket; only the
+     * first row is flushed eagerly so clients see data immediately.
+     */
+    public void export(OrderQuery query, Format format, OutputStream out) throws IOException {
+        log.info("Exporting orders as {}", format);
+        long count = 0;
+
+        try (Stream<OrderDTO> orders = orderRepository.streamOrderViews(query);
+             JsonGenerator generator = objectMapper.createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+            if (format == Format.JSON) {
+                generator.writeStartArray();
+            }
+
+            Iterator<OrderDTO> iterator = orders.iterator();
+            while (iterator.hasNext()) {
+                generator.writeObject(iterator.next());
+                if (format == Format.NDJSON) {
+                    generator.writeRaw('\n');
+                }
+                if (++count == 1) {
+                    generator.flush();
+                }
+            }
+
+            if (format == Format.JSON) {
+                generator.writeEndArray();
+            }
+        }
+
+        log.info("Exported {} orders", count);
+    }
+}
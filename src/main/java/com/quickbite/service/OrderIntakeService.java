@@ -0,0 +1,442 @@
+package com.quickbite.service;
+
+import com.mongodb.MongoException;
+import com.mongodb.MongoNodeIsRecoveringException;
+import com.mongodb.MongoNotPrimaryException;
+import com.mongodb.MongoSocketException;
+import com.mongodb.MongoTimeoutException;
+import com.mongodb.bulk.BulkWriteError;
+import com.quickbite.dto.MenuItemDTO;
+import com.quickbite.dto.OrderDTO;
+import com.quickbite.dto.OrderRequest;
+import com.quickbite.event.OrderChangedEvent;
+import com.quickbite.exception.OrderIntakeFullException;
+import com.quickbite.model.Order;
+import com.quickbite.model.User;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import io.micrometer.core.annotation.Timed;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Asynchronous order intake, enabled with {@code quickbite.order-intake.mode=async}.
+ *
+ * <p>{@link #submit} validates the request against the cached menu snapshot
+ * and a short-lived user cache, assigns the order id up front and appends the
+ * order to a bounded buffer. A single writer thread drains the buffer and
+ * writes each micro-batch with one unordered bulk insert, then publishes the
+ * usual {@link OrderChangedEvent}s.
+ *
+ * <p>Durability is chosen with {@code quickbite.order-intake.durability}:
+ * <ul>
+ *   <li>{@code batched} answers as soon as the order is buffered; orders still
+ *       buffered when the process dies are lost.</li>
+ *   <li>{@code flush-on-ack} holds the response until the batch containing the
+ *       order has been acknowledged by Mongo (group commit), trading latency for
+ *       durability while still sharing one round trip between many orders.
+ *       If the acknowledgement takes longer than the ack timeout the order is
+ *       still answered with its final id; it stays buffered and is written.</li>
+ * </ul>
+ *
+ * <p>An accepted order is not silently dropped. While Mongo has no writable
+ * primary the writer retries with a capped backoff until the orders are
+ * written, and new orders are turned away with {@code 503} instead of piling
+ * up behind them. An order Mongo refuses for its content (validation, size)
+ * cannot succeed by waiting; after a few attempts it is moved to
+ * {@code order_intake_dead_letters} and the writer carries on.
+ */
+@Service
+@Slf4j
+public class OrderIntakeService {
+
+    static final String DEAD_LETTER_COLLECTION = "order_intake_dead_letters";
+
+    private static final int DUPLICATE_KEY = 11000;
+    private static final int MAX_REJECTED_ATTEMPTS = 3;
+    private static final String RETRYABLE_WRITE_ERROR = "RetryableWriteError";
+    // Interrupted, timed out, write conflict, shutting down, stepped down, not primary
+    private static final Set<Integer> TRANSIENT_WRITE_ERRORS =
+            Set.of(11601, 11602, 11600, 50, 262, 112, 91, 189, 10107, 13435, 13436);
+    private static final long MAX_RETRY_BACKOFF_MILLIS = 2_000;
+    private static final Duration USER_CACHE_TTL = Duration.ofMinutes(1);
+    private static final int MAX_CACHED_USERS = 10_000;
+
+    public enum Durability {
+        BATCHED, FLUSH_ON_ACK;
+
+        public static Durability from(String value) {
+            try {
+                return valueOf(value.trim().replace('-', '_').toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unsupported order intake durability: " + value);
+            }
+        }
+    }
+
+    private final MongoTemplate mongoTemplate;
+    private final UserService userService;
+    private final MenuService menuService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final OrderCounterService orderCounterService;
+
+    private final boolean enabled;
+    private final Durability durability;
+    private final int batchSize;
+    private final Duration ackTimeout;
+    private final BlockingQueue<PendingOrder> buffer;
+    private final Map<String, CachedUser> users = new ConcurrentHashMap<>();
+
+    private final AtomicLong deadLettered = new AtomicLong();
+
+    private volatile boolean running;
+    private volatile boolean writeFailing;
+    private Thread writer;
+
+    public OrderIntakeService(MongoTemplate mongoTemplate, UserService userService, MenuService menuService,
+                              ApplicationEventPublisher eventPublisher, OrderCounterService orderCounterService,
+                              @Value("${quickbite.order-intake.mode:sync}") String mode,
+                              @Value("${quickbite.order-intake.durability:batched}") String durability,
+                              @Value("${quickbite.order-intake.capacity:4096}") int capacity,
+                              @Value("${quickbite.order-intake.batch-size:256}") int batchSize,
+                              @Value("${quickbite.order-intake.ack-timeout:5s}") Duration ackTimeout) {
+        this.mongoTemplate = mongoTemplate;
+        this.userService = userService;
+        this.menuService = menuService;
+        this.eventPublisher = eventPublisher;
+        this.orderCounterService = orderCounterService;
+        this.enabled = "async".equalsIgnoreCase(mode);
+        this.durability = Durability.from(durability);
+        this.batchSize = batchSize;
+        this.ackTimeout = ackTimeout;
+        this.buffer = new ArrayBlockingQueue<>(capacity);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public Durability getDurability() {
+        return durability;
+    }
+
+    public int getBufferedCount() {
+        return buffer.size();
+    }
+
+    public int getCachedUserCount() {
+        return users.size();
+    }
+
+    public long getDeadLetteredCount() {
+        return deadLettered.get();
+    }
+
+    /**
+     * Validates and buffers an order, returning it with its pre-assigned id.
+     *
+     * @throws OrderIntakeFullException if the buffer is full or the writer
+     *                                  cannot currently reach Mongo
+     */
+    @Timed("quickbite.service")
+    public OrderDTO submit(OrderRequest request) {
+        if (writeFailing) {
+            throw new OrderIntakeFullException(1);
+        }
+        CachedUser user = findUser(request.getUserId());
+        MenuItemDTO menuItem = menuService.findCachedItem(request.getMenuItemId());
+
+        Order order = new Order();
+        order.setId(new ObjectId().toHexString());
+        order.setUserId(request.getUserId());
+        order.setUsername(user.username());
+        order.setMenuItemId(menuItem.getId());
+        order.setItemName(menuItem.getName());
+        order.setUnitPrice(menuItem.getPrice());
+        order.setSchemaVersion(Order.SCHEMA_VERSION);
+        order.setQuantity(request.getQuantity());
+        order.setStatus("PENDING");
+        order.setLastModified(Instant.now());
+
+        PendingOrder pending = new PendingOrder(order, new CompletableFuture<>());
+        if (!buffer.offer(pending)) {
+            throw new OrderIntakeFullException(1);
+        }
+        log.debug("Order {} buffered for user {}", order.getId(), request.getUserId());
+
+        if (durability == Durability.FLUSH_ON_ACK) {
+            awaitWrite(pending);
+        }
+        return new OrderDTO(order);
+    }
+
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        writer = new Thread(this::drainLoop, "order-intake-writer");
+        writer.setDaemon(true);
+        writer.start();
+        log.info("Asynchronous order intake started ({} durability, capacity {}, batch size {})",
+                durability, buffer.remainingCapacity(), batchSize);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        if (writer == null) {
+            return;
+        }
+        // The writer keeps draining until the buffer is empty
+        running = false;
+        writer.join(TimeUnit.SECONDS.toMillis(30));
+        if (writer.isAlive()) {
+            log.error("Order intake stopped while still writing, {} more orders buffered", buffer.size());
+        }
+    }
+
+    private void drainLoop() {
+        while (running || !buffer.isEmpty()) {
+            try {
+                drainBatch(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Order intake writer failed", e);
+            }
+        }
+    }
+
+    /**
+     * Waits up to {@code waitMillis} for the first order, then writes it together
+     * with whatever else is already buffered, up to the batch size.
+     *
+     * @return the number of orders taken from the buffer
+     */
+    int drainBatch(long waitMillis) throws InterruptedException {
+        PendingOrder first = buffer.poll(waitMillis, TimeUnit.MILLISECONDS);
+        if (first == null) {
+            return 0;
+        }
+        List<PendingOrder> batch = new ArrayList<>(batchSize);
+        batch.add(first);
+        buffer.drainTo(batch, batchSize - 1);
+
+        write(batch);
+        return batch.size();
+    }
+
+    /**
+     * Writes the batch. Orders that failed for want of a healthy primary are
+     * retried until they are written, and while that lasts {@link #submit}
+     * refuses new orders. An order Mongo rejects for what it contains is tried
+     * {@code MAX_REJECTED_ATTEMPTS} times and then dead-lettered, so neither the
+     * rest of the batch nor new orders wait on it.
+     */
+    private void write(List<PendingOrder> batch) throws InterruptedException {
+        List<PendingOrder> remaining = batch;
+        Map<PendingOrder, Integer> rejections = new IdentityHashMap<>();
+        for (int attempt = 1; !remaining.isEmpty(); attempt++) {
+            List<Failure> failures = insert(remaining);
+            Set<PendingOrder> failed = Collections.newSetFromMap(new IdentityHashMap<>());
+            failures.forEach(failure -> failed.add(failure.pending()));
+            acknowledge(remaining.stream().filter(p -> !failed.contains(p)).toList());
+
+            List<PendingOrder> retry = new ArrayList<>(failures.size());
+            boolean unavailable = false;
+            for (Failure failure : failures) {
+                if (!failure.rejected()) {
+                    unavailable = true;
+                    retry.add(failure.pending());
+                } else if (rejections.merge(failure.pending(), 1, Integer::sum) < MAX_REJECTED_ATTEMPTS) {
+                    retry.add(failure.pending());
+                } else {
+                    deadLetter(failure);
+                }
+            }
+            if (unavailable && !writeFailing) {
+                log.error("Order intake cannot write {} orders, refusing new orders until it can", retry.size());
+                writeFailing = true;
+            }
+
+            remaining = retry;
+            if (!remaining.isEmpty()) {
+                Thread.sleep(Math.min(50L * attempt, MAX_RETRY_BACKOFF_MILLIS));
+            }
+        }
+        if (writeFailing) {
+            log.info("Order intake writes recovered");
+            writeFailing = false;
+        }
+    }
+
+    /**
+     * @return the orders that were not written, each marked as rejected for
+     * its content or as failed for want of a healthy primary
+     */
+    private List<Failure> insert(List<PendingOrder> batch) {
+        List<Order> orders = batch.stream().map(PendingOrder::order).toList();
+        try {
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Order.class)
+                    .insert(orders)
+                    .execute();
+            return List.of();
+        } catch (BulkOperationException e) {
+            // Unordered: every document without an error was written. A duplicate
+            // key means an earlier attempt already wrote it.
+            List<Failure> failures = new ArrayList<>();
+            for (BulkWriteError error : e.getErrors()) {
+                if (error.getCode() != DUPLICATE_KEY) {
+                    failures.add(new Failure(batch.get(error.getIndex()),
+                            !TRANSIENT_WRITE_ERRORS.contains(error.getCode()),
+                            error.getCode() + ": " + error.getMessage()));
+                }
+            }
+            log.warn("Bulk insert of {} orders had {} failures", batch.size(), failures.size());
+            return failures;
+        } catch (RuntimeException e) {
+            if (isTransient(e)) {
+                log.warn("Bulk insert of {} orders failed: {}", batch.size(), e.getMessage());
+                return batch.stream().map(pending -> new Failure(pending, false, e.getMessage())).toList();
+            }
+            if (batch.size() > 1) {
+                // Not the connection, so one of the documents: write them one by one to find it
+                log.warn("Bulk insert of {} orders was refused, writing them one by one: {}",
+                        batch.size(), e.getMessage());
+                return batch.stream().flatMap(pending -> insert(List.of(pending)).stream()).toList();
+            }
+            return List.of(new Failure(batch.get(0), true, e.getMessage()));
+        }
+    }
+
+    /**
+     * Whether the error is about reaching a writable primary rather than about
+     * the documents, so the same write can succeed later.
+     */
+    static boolean isTransient(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof TransientDataAccessException
+                    || cause instanceof DataAccessResourceFailureException
+                    || cause instanceof MongoSocketException
+                    || cause instanceof MongoTimeoutException
+                    || cause instanceof MongoNotPrimaryException
+                    || cause instanceof MongoNodeIsRecoveringException) {
+                return true;
+            }
+            if (cause instanceof MongoException mongo && (mongo.hasErrorLabel(RETRYABLE_WRITE_ERROR)
+                    || TRANSIENT_WRITE_ERRORS.contains(mongo.getCode()))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Keeps a rejected order in {@code order_intake_dead_letters}, or in the
+     * error log when even that write fails. Its caller, if still waiting, gets
+     * an error.
+     */
+    private void deadLetter(Failure failure) {
+        Order order = failure.pending().order();
+        deadLettered.incrementAndGet();
+        log.error("Order {} rejected {} times, dead-lettering it: {}", order.getId(), MAX_REJECTED_ATTEMPTS,
+                failure.reason());
+        Document letter = new Document("orderId", order.getId())
+                .append("userId", order.getUserId())
+                .append("menuItemId", order.getMenuItemId())
+                .append("quantity", order.getQuantity())
+                .append("unitPrice", order.getUnitPrice())
+                .append("error", failure.reason())
+                .append("failedAt", Instant.now());
+        try {
+            mongoTemplate.insert(letter, DEAD_LETTER_COLLECTION);
+        } catch (RuntimeException e) {
+            log.error("Could not dead-letter order {}: {}", order.getId(), letter.toJson());
+        }
+        failure.pending().written().completeExceptionally(new IllegalStateException(failure.reason()));
+    }
+
+    /**
+     * Counts the written orders with one counter write, then releases their
+     * callers and publishes the events.
+     */
+    private void acknowledge(List<PendingOrder> written) {
+        if (written.isEmpty()) {
+            return;
+        }
+        List<OrderChangedEvent> placed = written.stream()
+                .map(pending -> new OrderChangedEvent(pending.order().getUserId(), new OrderDTO(pending.order()), null))
+                .toList();
+        orderCounterService.recordAll(placed);
+        written.forEach(pending -> pending.written().complete(null));
+        placed.forEach(eventPublisher::publishEvent);
+    }
+
+    private void awaitWrite(PendingOrder pending) {
+        try {
+            pending.written().get(ackTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // Still buffered and will be written: answer 202 with the final id
+            // rather than an error a client would retry into a duplicate
+            log.warn("Order {} not acknowledged within {}, answering before the write",
+                    pending.order().getId(), ackTimeout);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Order could not be written", e.getCause());
+        }
+    }
+
+    private CachedUser findUser(String userId) {
+        long now = System.nanoTime();
+        CachedUser cached = users.get(userId);
+        if (cached != null && now - cached.expiresAt() < 0) {
+            return cached;
+        }
+        User user = userService.findById(userId);
+        if (users.size() >= MAX_CACHED_USERS) {
+            users.clear();
+        }
+        CachedUser fresh = new CachedUser(user.getUsername(), now + USER_CACHE_TTL.toNanos());
+        users.put(userId, fresh);
+        return fresh;
+    }
+
+    private record PendingOrder(Order order, CompletableFuture<Void> written) {
+    }
+
+    private record Failure(PendingOrder pending, boolean rejected, String reason) {
+    }
+
+    private record CachedUser(String username, long expiresAt) {
+    }
+}
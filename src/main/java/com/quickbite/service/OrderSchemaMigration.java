@@ -0,0 +1,159 @@
+package com.quickbite.service;
+
+import com.mongodb.DBRef;
+import com.quickbite.model.Order;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Rewrites orders stored before schema version 2 so they carry their own
+ * user and item snapshot. Runs once in the background after startup, walking
+ * the legacy orders in {@code _id} order one batch at a time: one query for
+ * the batch, one {@code $in} query each for its users and items, and one
+ * unordered bulk update.
+ * <p>
+ * Every update is guarded on the document still being legacy, so running it
+ * on several nodes at once, or next to writes that already upgrade an order,
+ * is safe. The old references stay in place so a rollback can still read them.
+ */
+@Component
+@Slf4j
+public class OrderSchemaMigration {
+
+    private static final String ORDERS_COLLECTION = "orders";
+
+    private final MongoTemplate mongoTemplate;
+    private final boolean enabled;
+    private final int batchSize;
+
+    public OrderSchemaMigration(MongoTemplate mongoTemplate,
+                                @Value("${quickbite.order-migration.enabled:true}") boolean enabled,
+                                @Value("${quickbite.order-migration.batch-size:500}") int batchSize) {
+        this.mongoTemplate = mongoTemplate;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        Thread thread = new Thread(() -> {
+            try {
+                run();
+            } catch (RuntimeException e) {
+                // Unmigrated orders are still upgraded on read; the next start resumes
+                log.error("Order schema migration stopped", e);
+            }
+        }, "order-schema-migration");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * @return the number of orders rewritten
+     */
+    public long run() {
+        long migrated = 0;
+        Object lastId = null;
+        while (true) {
+            List<Document> batch = findLegacyOrders(lastId);
+            if (batch.isEmpty()) {
+                break;
+            }
+            migrated += migrate(batch);
+            lastId = batch.get(batch.size() - 1).get("_id");
+            if (batch.size() < batchSize) {
+                break;
+            }
+        }
+        if (migrated > 0) {
+            log.info("Migrated {} orders to schema version {}", migrated, Order.SCHEMA_VERSION);
+        }
+        return migrated;
+    }
+
+    private List<Document> findLegacyOrders(Object afterId) {
+        Criteria criteria = legacy();
+        if (afterId != null) {
+            criteria.and("_id").gt(afterId);
+        }
+        Query query = Query.query(criteria)
+                .with(Sort.by(Sort.Direction.ASC, "_id"))
+                .limit(batchSize);
+        query.fields().include("user", "menuItem", "itemName");
+        return mongoTemplate.find(query, Document.class, ORDERS_COLLECTION);
+    }
+
+    private int migrate(List<Document> orders) {
+        Map<Object, Document> users = findByIds(orders, "user", "users", "username");
+        Map<Object, Document> menuItems = findByIds(orders, "menuItem", "menu_items", "name", "price");
+
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ORDERS_COLLECTION);
+        for (Document order : orders) {
+            Update update = new Update().set("schemaVersion", Order.SCHEMA_VERSION);
+            if (order.get("user") instanceof DBRef ref) {
+                update.set("userId", ref.getId().toString());
+                Document user = users.get(ref.getId());
+                if (user != null) {
+                    update.set("username", user.getString("username"));
+                }
+            }
+            if (order.get("menuItem") instanceof DBRef ref) {
+                update.set("menuItemId", ref.getId().toString());
+                Document menuItem = menuItems.get(ref.getId());
+                if (menuItem != null) {
+                    if (order.getString("itemName") == null) {
+                        update.set("itemName", menuItem.getString("name"));
+                    }
+                    // No price was recorded for legacy orders; the current price is the best left
+                    if (menuItem.get("price") instanceof Number price) {
+                        update.set("unitPrice", price.doubleValue());
+                    }
+                }
+            }
+            bulk.updateOne(Query.query(legacy().and("_id").is(order.get("_id"))), update);
+        }
+        return bulk.execute().getModifiedCount();
+    }
+
+    private Map<Object, Document> findByIds(List<Document> orders, String refField, String collection,
+                                            String... fields) {
+        Set<Object> ids = new HashSet<>();
+        for (Document order : orders) {
+            if (order.get(refField) instanceof DBRef ref) {
+                ids.add(ref.getId());
+            }
+        }
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        Query query = Query.query(Criteria.where("_id").in(ids));
+        query.fields().include(fields);
+        return mongoTemplate.find(query, Document.class, collection).stream()
+                .collect(Collectors.toMap(document -> document.get("_id"), Function.identity()));
+    }
+
+    // Missing or older schema version
+    private static Criteria legacy() {
+        return Criteria.where("schemaVersion").not().gte(Order.SCHEMA_VERSION);
+    }
+}
@@ -1,105 +1,206 @@
 package com.quickbite.service;
 
+import com.quickbite.dto.CartItem;
+import com.quickbite.dto.CheckoutRequest;
+import com.quickbite.dto.CheckoutResult;
 import com.quickbite.dto.OrderDTO;
+import com.quickbite.dto.OrderPage;
+import com.quickbite.dto.OrderQuery;
 import com.quickbite.dto.OrderRequest;
+import com.quickbite.event.OrderChangedEvent;
+import com.quickbite.exception.IllegalStatusTransitionException;
+import com.quickbite.exception.MenuItemNotFoundException;
 import com.quickbite.exception.OrderNotFoundException;
 import com.quickbite.model.MenuItem;
 import com.quickbite.model.Order;
+import com.quickbite.model.OrderStatus;
 import com.quickbite.model.User;
 import com.quickbite.repository.OrderRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
+@Timed("quickbite.service")
 @RequiredArgsConstructor
 @Slf4j
 public class OrderService {
 
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 200;
+
     private final OrderRepository orderRepository;
     private final UserService userService;
     private final MenuService menuService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final OrderCounterService orderCounterService;
 
     public OrderDTO placeOrder(OrderRequest request) {
-        log.info("Placing order for user: {} and menu item: {}",
+        log.debug("Placing order for user: {} and menu item: {}",
                 request.getUserId(), request.getMenuItemId());
 
         User user = userService.findById(request.getUserId());
         MenuItem menuItem = menuService.findById(request.getMenuItemId());
 
         Order order = new Order();
-        order.setUser(user);
-        order.setMenuItem(menuItem);
-        order.setItemName(menuItem.getName());
+        order.snapshot(user, menuItem);
         order.setQuantity(request.getQuantity());
         order.setStatus("PENDING");
+        order.setLastModified(Instant.now());
 
         Order savedOrder = orderRepository.save(order);
-        log.info("Order placed successfully with id: {}", savedOrder.getId());
+        log.debug("Order placed successfully with id: {}", savedOrder.getId());
 
-        return new OrderDTO(savedOrder);
+        OrderDTO placedOrder = new OrderDTO(savedOrder);
+        OrderChangedEvent placed = new OrderChangedEvent(user.getId(), placedOrder, null);
+        orderCounterService.record(placed);
+        eventPublisher.publishEvent(placed);
+        return placedOrder;
     }
 
-    public List<OrderDTO> getOrdersByUserId(String userId) {
-        log.info("Fetching orders for user: {}", userId);
+    /**
+     * Places one order per distinct menu item in the cart: one user lookup, one
+     * {@code $in} query for every item and one insert for all the orders.
+     * Repeated items are merged into a single order.
+     */
+    public CheckoutResult checkout(CheckoutRequest request) {
+        log.debug("Checking out {} cart items for user: {}", request.getItems().size(), request.getUserId());
+
+        Map<String, Integer> quantities = new LinkedHashMap<>();
+        for (CartItem item : request.getItems()) {
+            quantities.merge(item.getMenuItemId(), item.getQuantity(), Integer::sum);
+        }
 
-        // Verify user exists
-        userService.findById(userId);
+        User user = userService.findById(request.getUserId());
+        Map<String, MenuItem> menuItems = menuService.findAllById(quantities.keySet()).stream()
+                .collect(Collectors.toMap(MenuItem::getId, Function.identity()));
+
+        String checkoutId = new ObjectId().toHexString();
+        Instant now = Instant.now();
+        List<Order> orders = new ArrayList<>(quantities.size());
+        for (Map.Entry<String, Integer> line : quantities.entrySet()) {
+            MenuItem menuItem = menuItems.get(line.getKey());
+            if (menuItem == null) {
+                throw new MenuItemNotFoundException(line.getKey());
+            }
+            Order order = new Order();
+            order.snapshot(user, menuItem);
+            order.setQuantity(line.getValue());
+            order.setStatus("PENDING");
+            order.setLastModified(now);
+            order.setCheckoutId(checkoutId);
+            orders.add(order);
+        }
 
-        return orderRepository.findByUserId(userId).stream()
+        List<OrderDTO> placedOrders = orderRepository.insert(orders).stream()
                 .map(OrderDTO::new)
                 .toList();
+        log.debug("Checkout {} placed {} orders", checkoutId, placedOrders.size());
+
+        int totalQuantity = 0;
+        double total = 0;
+        List<OrderChangedEvent> placed = new ArrayList<>(placedOrders.size());
+        for (OrderDTO placedOrder : placedOrders) {
+            totalQuantity += placedOrder.getQuantity();
+            total += placedOrder.getQuantity() * placedOrder.getUnitPrice();
+            placed.add(new OrderChangedEvent(user.getId(), placedOrder, null));
+        }
+        orderCounterService.recordAll(placed);
+        placed.forEach(eventPublisher::publishEvent);
+        return new CheckoutResult(checkoutId, placedOrders, totalQuantity, total);
     }
 
-    public List<OrderDTO> getAllOrders() {
-        log.info("Fetching all orders");
-        return orderRepository.findAll().stream()
-                .map(order -> new OrderDTO(
-                        order.getId(),
-                        order.getMenuItem().getName(),
-                        order.getStatus(),
-                        order.getUser().getUsername(),
-                        order.getQuantity()
-                ))
-                .toList();
+    public OrderPage getOrdersByUserId(String userId, OrderQuery query) {
+        log.debug("Fetching orders for user: {}", userId);
+
+        // Verify user exists
+        userService.findById(userId);
+
+        query.setUserId(userId);
+        return findOrderPage(query);
     }
 
-    public List<OrderDTO> getPendingOrders() {
-        log.info("Fetching pending orders");
-        return orderRepository.findByStatus("PENDING").stream()
-                .map(order -> new OrderDTO(
-                        order.getId(),
-                        order.getMenuItem().getName(),
-                        order.getStatus(),
-                        order.getUser().getUsername(),
-                        order.getQuantity()
-                ))
-                .toList();
+    public OrderPage getAllOrders(OrderQuery query) {
+        log.debug("Fetching all orders");
+        return findOrderPage(query);
     }
 
-    public OrderDTO updateOrderStatus(String orderId, String status) {
-        log.info("Updating order {} status to: {}", orderId, status);
+    public OrderPage getPendingOrders(OrderQuery query) {
+        log.debug("Fetching pending orders");
+        query.setStatus("PENDING");
+        return findOrderPage(query);
+    }
 
-        Order order = orderRepository.findById(orderId)
-                .orElseThrow(() -> new OrderNotFoundException(orderId));
+    private OrderPage findOrderPage(OrderQuery query) {
+        return orderRepository.findOrderPage(validatePageQuery(query));
+    }
 
-        // Validate status
-        if (!isValidStatus(status)) {
-            throw new IllegalArgumentException("Invalid order status: " + status);
+    /**
+     * Checks and normalises paging input; shared with the reactive variant.
+     */
+    static OrderQuery validatePageQuery(OrderQuery query) {
+        if (query.getLimit() < 1) {
+            throw new IllegalArgumentException("Page size must be at least 1");
         }
+        query.setLimit(Math.min(query.getLimit(), MAX_PAGE_SIZE));
+        return validateFilters(query);
+    }
 
-        order.setStatus(status);
-        Order savedOrder = orderRepository.save(order);
-
-        log.info("Order status updated successfully for order: {}", orderId);
-        return new OrderDTO(savedOrder);
+    /**
+     * Checks and normalises the cursor and status filter; also used by the
+     * exports, which have no page size.
+     */
+    public static OrderQuery validateFilters(OrderQuery query) {
+        if (query.getCursor() != null && !ObjectId.isValid(query.getCursor())) {
+            throw new IllegalArgumentException("Invalid cursor: " + query.getCursor());
+        }
+        if (query.getStatus() != null) {
+            query.setStatus(OrderStatus.from(query.getStatus()).name());
+        }
+        return query;
     }
 
-    private boolean isValidStatus(String status) {
-        return List.of("PENDING", "APPROVED", "REJECTED", "DELIVERED", "COMPLETED")
-                .contains(status.toUpperCase());
+    /**
+     * Moves an order along {@link OrderStatus} with a single conditional
+     * findAndModify, so concurrent updates cannot overwrite each other.
+     *
+     * @throws IllegalStatusTransitionException if the order's current status
+     *                                          does not allow the transition
+     */
+    public OrderDTO updateOrderStatus(String orderId, String status) {
+        log.debug("Updating order {} status to: {}", orderId, status);
+        OrderStatus target = OrderStatus.from(status);
+
+        Instant now = Instant.now();
+        Order order = orderRepository.transitionStatus(orderId, target, now);
+        if (order == null) {
+            throw new OrderNotFoundException(orderId);
+        }
+        String previousStatus = order.getStatus();
+        if (!target.canFollow(previousStatus)) {
+            throw new IllegalStatusTransitionException(orderId, previousStatus, target.name());
+        }
+
+        // The snapshot fields never change, so the pre-image plus the new status is the updated order
+        order.setStatus(target.name());
+        order.setLastModified(now);
+        log.info("Order status updated successfully for order: {}", orderId);
+        OrderDTO updatedOrder = new OrderDTO(order);
+        OrderChangedEvent changed = new OrderChangedEvent(order.getUserId(), updatedOrder, previousStatus);
+        orderCounterService.record(changed);
+        eventPublisher.publishEvent(changed);
+        return updatedOrder;
     }
 
     public Order findById(String id) {
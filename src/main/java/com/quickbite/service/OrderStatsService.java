@@ -0,0 +1,124 @@
+package com.quickbite.service;
+
+import com.quickbite.dto.ItemSales;
+import com.quickbite.dto.OrderQuery;
+import com.quickbite.dto.OrderStats;
+import com.quickbite.dto.UserSpend;
+import com.quickbite.repository.OrderRepository;
+import io.micrometer.core.annotation.Timed;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Dashboard aggregates computed in Mongo. Results are cached per query for
+ * {@code quickbite.order-stats.ttl}, so a dashboard polled by several admins
+ * runs each pipeline at most once per TTL; the figures may lag new orders by
+ * that much.
+ * <p>
+ * The all-time status counts and today's top items are read from the
+ * {@link OrderCounterService} counters instead when those are enabled.
+ */
+@Service
+@Timed("quickbite.service")
+@Slf4j
+public class OrderStatsService {
+
+    public static final int DEFAULT_LIMIT = 10;
+    public static final int MAX_LIMIT = 100;
+
+    private static final int MAX_CACHED_RESULTS = 1_000;
+
+    private final OrderRepository orderRepository;
+    private final OrderCounterService orderCounterService;
+    private final Duration ttl;
+    private final Map<StatsKey, CachedResult> cache = new ConcurrentHashMap<>();
+
+    public OrderStatsService(OrderRepository orderRepository, OrderCounterService orderCounterService,
+                             @Value("${quickbite.order-stats.ttl:30s}") Duration ttl) {
+        this.orderRepository = orderRepository;
+        this.orderCounterService = orderCounterService;
+        this.ttl = ttl;
+    }
+
+    public OrderStats getStatusStats(Instant from, Instant to) {
+        if (from == null && to == null && orderCounterService.isEnabled()) {
+            return orderCounterService.getStatusStats();
+        }
+        return cached(new StatsKey("status", from, to, 0),
+                () -> orderRepository.aggregateStatusCounts(toQuery(from, to)));
+    }
+
+    public List<ItemSales> getTopItems(Instant from, Instant to, int limit) {
+        int validLimit = validateLimit(limit);
+        return cached(new StatsKey("items", from, to, validLimit),
+                () -> orderRepository.aggregateItemSales(toQuery(from, to), validLimit));
+    }
+
+    public List<ItemSales> getTopItemsToday(int limit) {
+        int validLimit = validateLimit(limit);
+        if (orderCounterService.isEnabled()) {
+            return orderCounterService.getTopItemsToday(validLimit);
+        }
+        Instant startOfDay = LocalDate.now(ZoneOffset.UTC).atStartOfDay(ZoneOffset.UTC).toInstant();
+        return getTopItems(startOfDay, null, validLimit);
+    }
+
+    public List<UserSpend> getTopSpenders(Instant from, Instant to, int limit) {
+        int validLimit = validateLimit(limit);
+        return cached(new StatsKey("users", from, to, validLimit),
+                () -> orderRepository.aggregateUserSpend(toQuery(from, to), validLimit));
+    }
+
+    public int getCachedResultCount() {
+        return cache.size();
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T cached(StatsKey key, Supplier<T> loader) {
+        long now = System.nanoTime();
+        CachedResult cachedResult = cache.get(key);
+        if (cachedResult != null && now - cachedResult.expiresAt() < 0) {
+            return (T) cachedResult.value();
+        }
+        log.debug("Computing {} stats for {} .. {}", key.kind(), key.from(), key.to());
+        T value = loader.get();
+        if (cache.size() >= MAX_CACHED_RESULTS) {
+            cache.clear();
+        }
+        cache.put(key, new CachedResult(value, now + ttl.toNanos()));
+        return value;
+    }
+
+    private static OrderQuery toQuery(Instant from, Instant to) {
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new IllegalArgumentException("'from' must be before 'to'");
+        }
+        OrderQuery query = new OrderQuery();
+        query.setFrom(from);
+        query.setTo(to);
+        return query;
+    }
+
+    private static int validateLimit(int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("Limit must be at least 1");
+        }
+        return Math.min(limit, MAX_LIMIT);
+    }
+
+    private record StatsKey(String kind, Instant from, Instant to, int limit) {
+    }
+
+    private record CachedResult(Object value, long expiresAt) {
+    }
+}
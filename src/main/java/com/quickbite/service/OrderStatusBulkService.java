@@ -0,0 +1,168 @@
+package com.quickbite.service;
+
+import com.mongodb.bulk.BulkWriteResult;
+import com.quickbite.dto.BulkStatusRequest;
+import com.quickbite.dto.BulkStatusResult;
+import com.quickbite.dto.BulkStatusResult.ItemResult;
+import com.quickbite.dto.OrderDTO;
+import com.quickbite.event.OrderBatchChangedEvent;
+import com.quickbite.event.OrderChangedEvent;
+import com.quickbite.model.Order;
+import com.quickbite.model.OrderStatus;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Moves many orders to one status, as the kitchen dashboard does at peak.
+ *
+ * <p>One {@code $in} read fetches the orders, telling missing orders and
+ * disallowed transitions apart. The allowed ones are then written with a
+ * single unordered bulk write holding one {@code updateMany} per current
+ * status, each guarded by that status, so an order changed by someone else
+ * in between is left alone. Only when the bulk write modifies fewer orders
+ * than expected are the candidates read again to find out which ones moved.
+ *
+ * <p>The moved orders are counted with one counter write and published as
+ * one {@link OrderBatchChangedEvent}, so caches and the order stream handle
+ * the batch in one pass.
+ */
+@Service
+@Timed("quickbite.service")
+@RequiredArgsConstructor
+@Slf4j
+public class OrderStatusBulkService {
+
+    public static final String UPDATED = "updated";
+    public static final String NOT_FOUND = "not_found";
+    public static final String CONFLICT = "conflict";
+    public static final String FAILED = "failed";
+
+    private final MongoTemplate mongoTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final OrderCounterService orderCounterService;
+
+    public BulkStatusResult apply(BulkStatusRequest request) {
+        OrderStatus target = OrderStatus.from(request.getStatus());
+        List<String> ids = List.copyOf(new LinkedHashSet<>(request.getIds()));
+
+        Map<String, Order> orders = mongoTemplate.find(Query.query(Criteria.where("_id").in(ids)), Order.class).stream()
+                .collect(Collectors.toMap(Order::getId, Function.identity()));
+
+        Map<String, ItemResult> results = new LinkedHashMap<>();
+        Map<String, List<Order>> bySource = new LinkedHashMap<>();
+        for (String id : ids) {
+            Order order = orders.get(id);
+            if (order == null) {
+                results.put(id, new ItemResult(id, NOT_FOUND, null, "Order not found"));
+            } else if (!target.canFollow(order.getStatus())) {
+                results.put(id, new ItemResult(id, CONFLICT, order.getStatus(), cannotMove(order.getStatus(), target)));
+            } else {
+                results.put(id, new ItemResult(id, UPDATED, order.getStatus(), null));
+                bySource.computeIfAbsent(order.getStatus(), status -> new ArrayList<>()).add(order);
+            }
+        }
+
+        // Mongo keeps milliseconds; the stamp must compare equal when read back
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        List<OrderChangedEvent> changes = new ArrayList<>();
+        for (Order order : write(bySource, target, now, results)) {
+            String previousStatus = order.getStatus();
+            order.setStatus(target.name());
+            order.setLastModified(now);
+            changes.add(new OrderChangedEvent(order.getUserId(), new OrderDTO(order), previousStatus));
+        }
+        if (!changes.isEmpty()) {
+            orderCounterService.recordAll(changes);
+            eventPublisher.publishEvent(new OrderBatchChangedEvent(List.copyOf(changes)));
+        }
+
+        int failed = ids.size() - changes.size();
+        log.info("Bulk status update to {} moved {} of {} orders", target, changes.size(), ids.size());
+        return new BulkStatusResult(target.name(), changes.size(), failed, List.copyOf(results.values()));
+    }
+
+    /**
+     * @return the orders that were moved, as they were before the update
+     */
+    private List<Order> write(Map<String, List<Order>> bySource, OrderStatus target, Instant now,
+                              Map<String, ItemResult> results) {
+        List<Order> candidates = bySource.values().stream().flatMap(List::stream).toList();
+        if (candidates.isEmpty()) {
+            return List.of();
+        }
+
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Order.class);
+        Update update = new Update().set("status", target.name()).set("lastModified", now);
+        bySource.forEach((status, group) -> bulk.updateMulti(
+                Query.query(Criteria.where("_id").in(group.stream().map(Order::getId).toList()).and("status").is(status)),
+                update));
+
+        String error = null;
+        try {
+            BulkWriteResult result = bulk.execute();
+            if (result.getModifiedCount() == candidates.size()) {
+                return candidates;
+            }
+        } catch (RuntimeException e) {
+            // Unordered: some of the updates may still have been applied
+            log.warn("Bulk status update of {} orders failed: {}", candidates.size(), e.getMessage());
+            error = e.getMessage();
+        }
+        return verify(candidates, target, now, results, error);
+    }
+
+    /**
+     * Reads the candidates back and keeps those carrying this batch's status
+     * and timestamp; the others changed concurrently or were not written.
+     */
+    private List<Order> verify(List<Order> candidates, OrderStatus target, Instant now,
+                               Map<String, ItemResult> results, String error) {
+        Query query = Query.query(Criteria.where("_id").in(candidates.stream().map(Order::getId).toList()));
+        query.fields().include("status", "lastModified");
+        Map<String, Order> current = mongoTemplate.find(query, Order.class).stream()
+                .collect(Collectors.toMap(Order::getId, Function.identity()));
+
+        List<Order> moved = new ArrayList<>();
+        for (Order candidate : candidates) {
+            Order order = current.get(candidate.getId());
+            ItemResult result = results.get(candidate.getId());
+            if (order != null && target.name().equals(order.getStatus()) && now.equals(order.getLastModified())) {
+                moved.add(candidate);
+            } else if (error != null) {
+                result.setOutcome(FAILED);
+                result.setError(error);
+            } else if (order == null) {
+                result.setOutcome(NOT_FOUND);
+                result.setError("Order not found");
+            } else {
+                result.setOutcome(CONFLICT);
+                result.setPreviousStatus(order.getStatus());
+                result.setError(cannotMove(order.getStatus(), target));
+            }
+        }
+        return moved;
+    }
+
+    private static String cannotMove(String status, OrderStatus target) {
+        return "Cannot move from " + status + " to " + target;
+    }
+}
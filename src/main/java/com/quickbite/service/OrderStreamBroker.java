@@ -0,0 +1,247 @@
+package com.quickbite.service;
+
+import com.quickbite.event.OrderBatchChangedEvent;
+import com.quickbite.event.OrderChangedEvent;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Fans {@link OrderChangedEvent}s out to Server-Sent Event subscribers, so
+ * clients receive each placed order and status change once instead of
+ * re-fetching their order lists.
+ *
+ * <p>Every subscriber has a bounded queue drained by its own sender task;
+ * publishing only appends to those queues and never waits on a socket. A
+ * subscriber that falls a full queue behind is disconnected and resumes from
+ * the replay history when its {@code EventSource} reconnects.
+ *
+ * <p>Event ids are {@code <epoch>-<sequence>}. The last {@code history}
+ * events are kept for {@code Last-Event-ID} resumes; a resume from another
+ * node, a previous process or beyond the history gets a {@code reset} event,
+ * telling the client to reload its list once.
+ */
+@Component
+@Slf4j
+public class OrderStreamBroker {
+
+    public static final String PLACED_EVENT = "order-placed";
+    public static final String UPDATED_EVENT = "order-updated";
+    public static final String RESET_EVENT = "reset";
+
+    private static final StreamEvent HEARTBEAT = new StreamEvent(-1, null, null, null);
+
+    private final String epoch = Long.toString(ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE, 36);
+    private final Duration timeout;
+    private final int queueCapacity;
+
+    // Guarded by "this": appends, replays and fan-out are ordered by sequence
+    private final StreamEvent[] history;
+    private long sequence;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+    private final ScheduledExecutorService heartbeats = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "order-stream-heartbeat");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public OrderStreamBroker(@Value("${quickbite.order-stream.timeout:30m}") Duration timeout,
+                             @Value("${quickbite.order-stream.queue-capacity:256}") int queueCapacity,
+                             @Value("${quickbite.order-stream.history:1024}") int history,
+                             @Value("${quickbite.order-stream.heartbeat:20s}") Duration heartbeat) {
+        this.timeout = timeout;
+        this.queueCapacity = queueCapacity;
+        this.history = new StreamEvent[history];
+        heartbeats.scheduleAtFixedRate(this::sendHeartbeats, heartbeat.toMillis(), heartbeat.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * @param userId      only stream this user's orders, or {@code null} for every order
+     * @param lastEventId the client's {@code Last-Event-ID}, if it is reconnecting
+     */
+    public SseEmitter subscribe(String userId, String lastEventId) {
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        Subscriber subscriber = new Subscriber(emitter, userId);
+
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(error -> subscribers.remove(subscriber));
+
+        synchronized (this) {
+            replay(subscriber, lastEventId);
+            subscribers.add(subscriber);
+        }
+        subscriber.scheduleDrain();
+        return emitter;
+    }
+
+    @EventListener
+    public void onOrderChanged(OrderChangedEvent event) {
+        synchronized (this) {
+            append(event);
+        }
+    }
+
+    // Clients still get one stream event per order, appended under a single lock
+    @EventListener
+    public void onOrdersChanged(OrderBatchChangedEvent event) {
+        synchronized (this) {
+            event.getChanges().forEach(this::append);
+        }
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        heartbeats.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        senders.shutdownNow();
+    }
+
+    // Caller holds the lock
+    private void append(OrderChangedEvent event) {
+        String name = event.getPreviousStatus() == null ? PLACED_EVENT : UPDATED_EVENT;
+        StreamEvent streamEvent = new StreamEvent(++sequence, name, event.getUserId(), event);
+        history[(int) (streamEvent.sequence() % history.length)] = streamEvent;
+        for (Subscriber subscriber : subscribers) {
+            subscriber.offer(streamEvent);
+        }
+    }
+
+    // Caller holds the lock
+    private void replay(Subscriber subscriber, String lastEventId) {
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return;
+        }
+        long lastSequence = parseSequence(lastEventId);
+        long oldestRetained = Math.max(1, sequence - history.length + 1);
+        if (lastSequence < 0 || lastSequence > sequence || lastSequence + 1 < oldestRetained) {
+            subscriber.queue.offer(new StreamEvent(sequence, RESET_EVENT, null, null));
+            return;
+        }
+        for (long next = lastSequence + 1; next <= sequence; next++) {
+            StreamEvent missed = history[(int) (next % history.length)];
+            if (subscriber.accepts(missed) && !subscriber.queue.offer(missed)) {
+                // Too far behind to replay within one queue: start over instead
+                subscriber.queue.clear();
+                subscriber.queue.offer(new StreamEvent(sequence, RESET_EVENT, null, null));
+                return;
+            }
+        }
+    }
+
+    private long parseSequence(String lastEventId) {
+        int separator = lastEventId.lastIndexOf('-');
+        if (separator < 0 || !lastEventId.substring(0, separator).equals(epoch)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(lastEventId.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private void sendHeartbeats() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.offer(HEARTBEAT);
+        }
+    }
+
+    private record StreamEvent(long sequence, String name, String userId, OrderChangedEvent payload) {
+    }
+
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final String userId;
+        private final BlockingQueue<StreamEvent> queue = new ArrayBlockingQueue<>(queueCapacity);
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        private Subscriber(SseEmitter emitter, String userId) {
+            this.emitter = emitter;
+            this.userId = userId;
+        }
+
+        boolean accepts(StreamEvent event) {
+            return userId == null || event == HEARTBEAT || userId.equals(event.userId());
+        }
+
+        void offer(StreamEvent event) {
+            if (!accepts(event)) {
+                return;
+            }
+            if (!queue.offer(event)) {
+                if (event == HEARTBEAT) {
+                    return;
+                }
+                log.debug("Order stream subscriber fell {} events behind, disconnecting", queueCapacity);
+                subscribers.remove(this);
+                emitter.complete();
+                return;
+            }
+            scheduleDrain();
+        }
+
+        void scheduleDrain() {
+            if (!queue.isEmpty() && draining.compareAndSet(false, true)) {
+                senders.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                StreamEvent event;
+                while ((event = queue.poll()) != null) {
+                    send(event);
+                }
+            } catch (IOException | IllegalStateException e) {
+                // Client went away; the container reports completion separately
+                subscribers.remove(this);
+                return;
+            } finally {
+                draining.set(false);
+            }
+            // An event may have arrived after the last poll but before the flag was cleared
+            scheduleDrain();
+        }
+
+        private void send(StreamEvent event) throws IOException {
+            if (event == HEARTBEAT) {
+                emitter.send(SseEmitter.event().comment("keep-alive"));
+                return;
+            }
+            SseEmitter.SseEventBuilder builder = SseEmitter.event()
+                    .id(epoch + "-" + event.sequence())
+                    .name(event.name());
+            if (event.payload() != null) {
+                builder.data(event.payload(), MediaType.APPLICATION_JSON);
+            } else {
+                builder.data("{}", MediaType.APPLICATION_JSON);
+            }
+            emitter.send(builder);
+        }
+    }
+}
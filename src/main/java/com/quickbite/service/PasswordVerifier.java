@@ -0,0 +1,173 @@
+package com.quickbite.service;
+
+import com.quickbite.exception.LoginCapacityExceededException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Verifies passwords against their stored BCrypt hashes on a dedicated,
+ * bounded pool so that a login storm can use at most {@code threads} cores
+ * and never starves the request threads serving menu and order traffic.
+ * When the pool's queue is full the caller gets a
+ * {@link LoginCapacityExceededException} instead of waiting.
+ *
+ * <p>Successful verifications are remembered for a short TTL, keyed by a
+ * salted SHA-256 of username, password and stored hash. A repeated login
+ * with the same credentials skips the KDF; changing the password changes the
+ * stored hash and so misses the cache. The salt is random per process and
+ * never leaves memory. Failed verifications are never cached.
+ */
+@Component
+@Slf4j
+public class PasswordVerifier {
+
+    private static final int MAX_CACHED_CREDENTIALS = 10_000;
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final Duration waitTimeout;
+    private final long cacheTtlNanos;
+    private final long retryAfterSeconds;
+
+    private final byte[] salt = new byte[32];
+    private final Map<String, Long> verified = new ConcurrentHashMap<>();
+
+    public PasswordVerifier(PasswordEncoder passwordEncoder,
+                            @Value("${quickbite.auth.verify-threads:0}") int threads,
+                            @Value("${quickbite.auth.verify-queue:64}") int queueCapacity,
+                            @Value("${quickbite.auth.verify-timeout:5s}") Duration waitTimeout,
+                            @Value("${quickbite.auth.credential-cache-ttl:5m}") Duration cacheTtl) {
+        this.passwordEncoder = passwordEncoder;
+        this.waitTimeout = waitTimeout;
+        this.cacheTtlNanos = cacheTtl.toNanos();
+        new SecureRandom().nextBytes(salt);
+
+        // Default to half the cores: logins degrade, everything else keeps running
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-verify-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        // A full queue drains in roughly queue / threads BCrypt rounds of ~100 ms each
+        this.retryAfterSeconds = Math.max(1, (queueCapacity / poolSize) / 10);
+    }
+
+    /**
+     * @throws LoginCapacityExceededException if the verification pool is saturated
+     */
+    public boolean matches(String username, String rawPassword, String encodedPassword) {
+        String cacheKey = cacheKey(username, rawPassword, encodedPassword);
+        Long expiresAt = verified.get(cacheKey);
+        if (expiresAt != null) {
+            if (System.nanoTime() - expiresAt < 0) {
+                return true;
+            }
+            verified.remove(cacheKey, expiresAt);
+        }
+
+        boolean matches = verifyOnPool(rawPassword, encodedPassword);
+        if (matches) {
+            remember(cacheKey);
+        }
+        return matches;
+    }
+
+    /**
+     * Drops every cached verification, e.g. after a bulk credential reset.
+     */
+    public void clearCache() {
+        verified.clear();
+    }
+
+    public int getCacheSize() {
+        return verified.size();
+    }
+
+    public int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+
+    public int getActiveCount() {
+        return executor.getActiveCount();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private boolean verifyOnPool(String rawPassword, String encodedPassword) {
+        Future<Boolean> result;
+        try {
+            result = executor.submit(() -> passwordEncoder.matches(rawPassword, encodedPassword));
+        } catch (RejectedExecutionException e) {
+            log.warn("Password verification pool saturated ({} queued), rejecting login", executor.getQueue().size());
+            throw new LoginCapacityExceededException(retryAfterSeconds);
+        }
+
+        try {
+            return result.get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            result.cancel(true);
+            throw new LoginCapacityExceededException(retryAfterSeconds);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            result.cancel(true);
+            throw new LoginCapacityExceededException(retryAfterSeconds);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Password verification failed", e.getCause());
+        }
+    }
+
+    private void remember(String cacheKey) {
+        if (verified.size() >= MAX_CACHED_CREDENTIALS) {
+            long now = System.nanoTime();
+            verified.values().removeIf(expiresAt -> now - expiresAt >= 0);
+            if (verified.size() >= MAX_CACHED_CREDENTIALS) {
+                // Still full of live entries: drop them all rather than grow without bound
+                verified.clear();
+            }
+        }
+        verified.put(cacheKey, System.nanoTime() + cacheTtlNanos);
+    }
+
+    private String cacheKey(String username, String rawPassword, String encodedPassword) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(salt);
+            digest.update(username.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(rawPassword.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(encodedPassword.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
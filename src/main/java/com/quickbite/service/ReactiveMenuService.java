@@ -0,0 +1,76 @@
+package com.quickbite.service;
+
+import com.quickbite.dto.MenuItemDTO;
+import com.quickbite.event.MenuChangedEvent;
+import com.quickbite.exception.MenuItemNotFoundException;
+import com.quickbite.model.MenuItem;
+import com.quickbite.repository.ReactiveMenuRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Reactive counterpart of {@link MenuService}. Reads share the same
+ * {@link MenuCache}; writes publish the same {@link MenuChangedEvent}s.
+ */
+@Service
+@Profile("reactive")
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveMenuService {
+
+    private final ReactiveMenuRepository menuRepository;
+    private final MenuCache menuCache;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public Mono<MenuSnapshot> getMenuSnapshot() {
+        return Mono.defer(() -> {
+            MenuSnapshot cached = menuCache.getIfPresent();
+            if (cached != null) {
+                return Mono.just(cached);
+            }
+            return menuRepository.findAll()
+                    .map(MenuItemDTO::new)
+                    .collectList()
+                    .map(items -> menuCache.get(() -> items));
+        });
+    }
+
+    public Mono<MenuItemDTO> addMenuItem(MenuItem menuItem) {
+        log.info("Adding new menu item: {}", menuItem.getName());
+        menuItem.setLastModified(Instant.now());
+        return menuRepository.save(menuItem)
+                .doOnNext(saved -> eventPublisher.publishEvent(new MenuChangedEvent(List.of(saved.getId()))))
+                .map(MenuItemDTO::new);
+    }
+
+    public Mono<MenuItemDTO> updateMenuItem(String id, MenuItem updatedItem) {
+        log.info("Updating menu item with id: {}", id);
+        return menuRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new MenuItemNotFoundException(id)))
+                .flatMap(existingItem -> {
+                    existingItem.setName(updatedItem.getName());
+                    existingItem.setDescription(updatedItem.getDescription());
+                    existingItem.setPrice(updatedItem.getPrice());
+                    existingItem.setLastModified(Instant.now());
+                    return menuRepository.save(existingItem);
+                })
+                .doOnNext(saved -> eventPublisher.publishEvent(new MenuChangedEvent(List.of(id))))
+                .map(MenuItemDTO::new);
+    }
+
+    public Mono<Void> deleteMenuItem(String id) {
+        log.info("Deleting menu item with id: {}", id);
+        return menuRepository.existsById(id)
+                .flatMap(exists -> exists
+                        ? menuRepository.deleteById(id)
+                        : Mono.error(new MenuItemNotFoundException(id)))
+                .then(Mono.fromRunnable(() -> eventPublisher.publishEvent(new MenuChangedEvent(List.of(id)))));
+    }
+}
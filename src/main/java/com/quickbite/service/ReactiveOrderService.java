@@ -0,0 +1,137 @@
+package com.quickbite.service;
+
+import com.quickbite.dto.OrderDTO;
+import com.quickbite.dto.OrderPage;
+import com.quickbite.dto.OrderQuery;
+import com.quickbite.dto.OrderRequest;
+import com.quickbite.event.OrderChangedEvent;
+import com.quickbite.exception.IllegalStatusTransitionException;
+import com.quickbite.exception.MenuItemNotFoundException;
+import com.quickbite.exception.OrderNotFoundException;
+import com.quickbite.exception.UserNotFoundException;
+import com.quickbite.model.Order;
+import com.quickbite.model.OrderStatus;
+import com.quickbite.repository.ReactiveMenuRepository;
+import com.quickbite.repository.ReactiveOrderRepository;
+import com.quickbite.repository.ReactiveUserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Instant;
+
+/**
+ * Reactive counterpart of {@link OrderService}: same validation, same
+ * queries, same {@link OrderChangedEvent}s, on the reactive Mongo driver.
+ * The order counters are written through {@link OrderCounterService} on
+ * the bounded elastic scheduler, off the event loop.
+ */
+@Service
+@Profile("reactive")
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveOrderService {
+
+    private final ReactiveOrderRepository orderRepository;
+    private final ReactiveUserRepository userRepository;
+    private final ReactiveMenuRepository menuRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final OrderCounterService orderCounterService;
+
+    public Mono<OrderDTO> placeOrder(OrderRequest request) {
+        log.debug("Placing order for user: {} and menu item: {}",
+                request.getUserId(), request.getMenuItemId());
+
+        // Both lookups are in flight at the same time
+        return Mono.zip(
+                        userRepository.findById(request.getUserId())
+                                .switchIfEmpty(Mono.error(() -> new UserNotFoundException(request.getUserId(), "id"))),
+                        menuRepository.findById(request.getMenuItemId())
+                                .switchIfEmpty(Mono.error(() -> new MenuItemNotFoundException(request.getMenuItemId()))))
+                .flatMap(tuple -> {
+                    Order order = new Order();
+                    order.snapshot(tuple.getT1(), tuple.getT2());
+                    order.setQuantity(request.getQuantity());
+                    order.setStatus("PENDING");
+                    order.setLastModified(Instant.now());
+                    return orderRepository.save(order);
+                })
+                .map(OrderDTO::new)
+                .flatMap(placedOrder -> count(new OrderChangedEvent(request.getUserId(), placedOrder, null)));
+    }
+
+    public Mono<String> getUserOrdersEtag(String userId) {
+        return orderRepository.userOrdersVersion(userId).map(OrderChangeTracker::toEtag);
+    }
+
+    public Mono<OrderPage> getOrdersByUserId(String userId, OrderQuery query) {
+        log.debug("Fetching orders for user: {}", userId);
+        query.setUserId(userId);
+        OrderQuery validated = OrderService.validatePageQuery(query);
+
+        return userRepository.existsById(userId)
+                .flatMap(exists -> exists
+                        ? orderRepository.findOrderPage(validated)
+                        : Mono.error(new UserNotFoundException(userId, "id")));
+    }
+
+    public Mono<OrderPage> getAllOrders(OrderQuery query) {
+        log.debug("Fetching all orders");
+        return Mono.fromCallable(() -> OrderService.validatePageQuery(query))
+                .flatMap(orderRepository::findOrderPage);
+    }
+
+    public Mono<OrderPage> getPendingOrders(OrderQuery query) {
+        log.debug("Fetching pending orders");
+        query.setStatus("PENDING");
+        return getAllOrders(query);
+    }
+
+    // Throws before the Flux exists, so a bad filter is a 400 rather than a broken stream
+    public Flux<OrderDTO> exportOrders(OrderQuery query) {
+        return orderRepository.streamOrderViews(OrderService.validateFilters(query));
+    }
+
+    public Mono<OrderDTO> updateOrderStatus(String orderId, String status) {
+        log.debug("Updating order {} status to: {}", orderId, status);
+        OrderStatus target;
+        try {
+            target = OrderStatus.from(status);
+        } catch (IllegalArgumentException e) {
+            return Mono.error(e);
+        }
+
+        Instant now = Instant.now();
+        return orderRepository.transitionStatus(orderId, target, now)
+                .switchIfEmpty(Mono.error(() -> new OrderNotFoundException(orderId)))
+                .<OrderChangedEvent>handle((order, sink) -> {
+                    String previousStatus = order.getStatus();
+                    if (!target.canFollow(previousStatus)) {
+                        sink.error(new IllegalStatusTransitionException(orderId, previousStatus, target.name()));
+                        return;
+                    }
+                    // The snapshot fields never change, so the pre-image plus the new status is the updated order
+                    order.setStatus(target.name());
+                    order.setLastModified(now);
+                    sink.next(new OrderChangedEvent(order.getUserId(), new OrderDTO(order), previousStatus));
+                })
+                .flatMap(this::count);
+    }
+
+    /**
+     * Counts a written order change, then publishes it.
+     */
+    private Mono<OrderDTO> count(OrderChangedEvent change) {
+        return Mono.fromRunnable(() -> orderCounterService.record(change))
+                .subscribeOn(Schedulers.boundedElastic())
+                .then(Mono.fromSupplier(() -> {
+                    eventPublisher.publishEvent(change);
+                    return change.getOrder();
+                }));
+    }
+}
@@ -6,6 +6,7 @@ import com.quickbite.exception.UserAlreadyExistsException;
 import com.quickbite.exception.UserNotFoundException;
 import com.quickbite.model.User;
 import com.quickbite.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -14,12 +15,14 @@ import org.springframework.stereotype.Service;
 import java.util.List;
 
 @Service
+@Timed("quickbite.service")
 @RequiredArgsConstructor
 @Slf4j
 public class UserService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final PasswordVerifier passwordVerifier;
 
     public UserDTO register(User user) {
         log.info("Attempting to register user: {}", user.getUsername());
@@ -38,18 +41,18 @@ public class UserService {
     }
 
     public User login(String username, String password) {
-        log.info("Attempting login for user: {}", username);
+        log.debug("Attempting login for user: {}", username);
 
         User user = userRepository.findByUsername(username);
         if (user == null) {
             throw new InvalidCredentialsException();
         }
 
-        if (!passwordEncoder.matches(password, user.getPassword())) {
+        if (!passwordVerifier.matches(username, password, user.getPassword())) {
             throw new InvalidCredentialsException();
         }
 
-        log.info("User logged in successfully: {}", username);
+        log.debug("User logged in successfully: {}", username);
         return user;
     }
 
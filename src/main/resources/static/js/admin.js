@@ -49,16 +49,19 @@ document.addEventListener("DOMContentLoaded", () => {
   loadMenu();
   loadOrders();
   loadDashboardStats();
+  subscribeToOrderStream();
 });
 
 // ============ DASHBOARD STATISTICS ============
 function loadDashboardStats() {
   Promise.all([
     fetch('/menu', { credentials: 'include' }).then(r => r.json()),
-    fetch('/order/all', { credentials: 'include' }).then(r => r.json()),
+    // Aggregated server-side instead of downloading every order
+    fetch('/order/stats', { credentials: 'include' }).then(r => r.json()),
     fetch('/auth', { credentials: 'include' }).then(r => r.json())
   ])
-  .then(([menuItems, orders, users]) => {
+  .then(([menuItems, stats, users]) => {
+    const pending = stats.ordersByStatus.PENDING || 0;
     const statsHtml = `
       <div class="row mb-4">
         <div class="col-md-3">
@@ -74,8 +77,8 @@ function loadDashboardStats() {
           <div class="card text-center border-warning">
             <div class="card-body">
               <i class="bi bi-receipt" style="font-size: 2rem; color: #ffc107;"></i>
-              <h3 class="mt-2">${orders.length}</h3>
-              <p class="text-muted mb-0">Total Orders</p>
+              <h3 class="mt-2">${stats.totalOrders}</h3>
+              <p class="text-muted mb-0">Total Orders &middot; ₹${stats.revenue.toFixed(2)}</p>
             </div>
           </div>
         </div>
@@ -83,7 +86,7 @@ function loadDashboardStats() {
           <div class="card text-center border-info">
             <div class="card-body">
               <i class="bi bi-clock-history" style="font-size: 2rem; color: #0dcaf0;"></i>
-              <h3 class="mt-2">${orders.filter(o => o.status === 'PENDING').length}</h3>
+              <h3 class="mt-2">${pending}</h3>
               <p class="text-muted mb-0">Pending</p>
             </div>
           </div>
@@ -323,19 +326,22 @@ function deleteItem(id) {
 
 // ============ ORDER MANAGEMENT ============
 
-function loadOrders() {
-  fetch('/order/all', { credentials: 'include' })
+// Orders are paged newest first; the server returns the next page position in X-Next-Cursor
+function loadOrders(cursor) {
+  const url = cursor ? `/order/all?cursor=${encodeURIComponent(cursor)}` : '/order/all';
+
+  fetch(url, { credentials: 'include' })
     .then(res => {
       if (!res.ok) throw new Error('Failed to load orders');
-      return res.json();
+      return res.json().then(orders => ({ orders, nextCursor: res.headers.get('X-Next-Cursor') }));
     })
-    .then(orders => {
+    .then(({ orders, nextCursor }) => {
       const tbody = document.querySelector("#orders-table tbody");
 
-      if (orders.length === 0) {
+      if (!cursor && orders.length === 0) {
         tbody.innerHTML = `
           <tr>
-            <td colspan="6" class="text-center">
+            <td colspan="7" class="text-center">
               <div class="alert alert-info mb-0">No orders yet.</div>
             </td>
           </tr>
@@ -343,46 +349,14 @@ function loadOrders() {
         return;
       }
 
-      tbody.innerHTML = orders.map(o => {
-        const statusClass = {
-          'PENDING': 'warning',
-          'APPROVED': 'info',
-          'COMPLETED': 'success',
-          'DELIVERED': 'success',
-          'REJECTED': 'danger'
-        }[o.status] || 'secondary';
+      const rows = orders.map(renderOrderRow).join('');
 
-        // Use quantity from order, default to 1 if not present
-        const quantity = o.quantity || 1;
-
-        return `
-          <tr>
-            <td><code>${o.id}</code></td>
-            <td>${escapeHtml(o.username || 'N/A')}</td>
-            <td><strong>${escapeHtml(o.itemName)}</strong></td>
-            <td class="text-center"><span class="badge bg-primary">${quantity}</span></td>
-            <td>
-              <span class="badge bg-${statusClass}">${o.status}</span>
-            </td>
-            <td>
-              <div class="btn-group" role="group">
-                <button class="btn btn-sm btn-success" onclick="updateOrderStatus('${o.id}', 'APPROVED')"
-                        ${o.status !== 'PENDING' ? 'disabled' : ''}>
-                  <i class="bi bi-check"></i>
-                </button>
-                <button class="btn btn-sm btn-danger" onclick="updateOrderStatus('${o.id}', 'REJECTED')"
-                        ${o.status !== 'PENDING' ? 'disabled' : ''}>
-                  <i class="bi bi-x"></i>
-                </button>
-                <button class="btn btn-sm btn-primary" onclick="updateOrderStatus('${o.id}', 'DELIVERED')"
-                        ${o.status !== 'APPROVED' ? 'disabled' : ''}>
-                  <i class="bi bi-box-seam"></i>
-                </button>
-              </div>
-            </td>
-          </tr>
-        `;
-      }).join('');
+      if (cursor) {
+        tbody.insertAdjacentHTML('beforeend', rows);
+      } else {
+        tbody.innerHTML = rows;
+      }
+      renderLoadMoreOrders(nextCursor);
     })
     .catch(err => {
       console.error('Error loading orders:', err);
@@ -390,6 +364,88 @@ function loadOrders() {
     });
 }
 
+function renderOrderRow(o) {
+  const statusClass = {
+    'PENDING': 'warning',
+    'APPROVED': 'info',
+    'COMPLETED': 'success',
+    'DELIVERED': 'success',
+    'REJECTED': 'danger'
+  }[o.status] || 'secondary';
+
+  // Use quantity from order, default to 1 if not present
+  const quantity = o.quantity || 1;
+
+  return `
+    <tr data-order-id="${o.id}">
+      <td><input type="checkbox" class="form-check-input order-select" value="${o.id}"></td>
+      <td><code>${o.id}</code></td>
+      <td>${escapeHtml(o.username || 'N/A')}</td>
+      <td><strong>${escapeHtml(o.itemName)}</strong></td>
+      <td class="text-center"><span class="badge bg-primary">${quantity}</span></td>
+      <td>
+        <span class="badge bg-${statusClass}">${o.status}</span>
+      </td>
+      <td>
+        <div class="btn-group" role="group">
+          <button class="btn btn-sm btn-success" onclick="updateOrderStatus('${o.id}', 'APPROVED')"
+                  ${o.status !== 'PENDING' ? 'disabled' : ''}>
+            <i class="bi bi-check"></i>
+          </button>
+          <button class="btn btn-sm btn-danger" onclick="updateOrderStatus('${o.id}', 'REJECTED')"
+                  ${o.status !== 'PENDING' ? 'disabled' : ''}>
+            <i class="bi bi-x"></i>
+          </button>
+          <button class="btn btn-sm btn-primary" onclick="updateOrderStatus('${o.id}', 'DELIVERED')"
+                  ${o.status !== 'APPROVED' ? 'disabled' : ''}>
+            <i class="bi bi-box-seam"></i>
+          </button>
+        </div>
+      </td>
+    </tr>
+  `;
+}
+
+// Live updates: new orders are prepended, status changes replace their row in place.
+// EventSource reconnects on its own and resumes from the last event it saw.
+function subscribeToOrderStream() {
+  const stream = new EventSource('/order/stream', { withCredentials: true });
+
+  const applyChange = event => {
+    const { order } = JSON.parse(event.data);
+    const tbody = document.querySelector("#orders-table tbody");
+    const existing = tbody.querySelector(`tr[data-order-id="${order.id}"]`);
+    if (existing) {
+      existing.outerHTML = renderOrderRow(order);
+    } else if (event.type === 'order-placed') {
+      if (!tbody.querySelector('tr[data-order-id]')) {
+        tbody.innerHTML = '';
+      }
+      tbody.insertAdjacentHTML('afterbegin', renderOrderRow(order));
+    }
+  };
+
+  stream.addEventListener('order-placed', applyChange);
+  stream.addEventListener('order-updated', applyChange);
+  // The server could not replay what we missed: reload the first page once
+  stream.addEventListener('reset', () => loadOrders());
+}
+
+function renderLoadMoreOrders(nextCursor) {
+  const existing = document.getElementById('load-more-orders');
+  if (existing) existing.remove();
+  if (!nextCursor) return;
+
+  const table = document.getElementById('orders-table');
+  table.insertAdjacentHTML('afterend', `
+    <div class="text-center my-3" id="load-more-orders">
+      <button class="btn btn-outline-secondary btn-sm" onclick="loadOrders('${nextCursor}')">
+        <i class="bi bi-arrow-down-circle"></i> Load more orders
+      </button>
+    </div>
+  `);
+}
+
 // Update order status
 function updateOrderStatus(orderId, status) {
   const confirmMessages = {
@@ -414,9 +470,13 @@ function updateOrderStatus(orderId, status) {
       }
       return res.json();
     })
-    .then(() => {
+    .then(order => {
       showNotification(`Order ${status.toLowerCase()} successfully!`, 'success');
-      loadOrders();
+      // Replace just this row; the order stream delivers the same change to other admins
+      const row = document.querySelector(`#orders-table tr[data-order-id="${order.id}"]`);
+      if (row) {
+        row.outerHTML = renderOrderRow(order);
+      }
     })
     .catch(err => {
       console.error('Error updating order:', err);
@@ -424,6 +484,48 @@ function updateOrderStatus(orderId, status) {
     });
 }
 
+function toggleAllOrders(checked) {
+  document.querySelectorAll('#orders-table .order-select').forEach(box => box.checked = checked);
+}
+
+// One request for the whole selection; orders that cannot move are reported, not retried
+function updateSelectedOrders(status) {
+  const ids = [...document.querySelectorAll('#orders-table .order-select:checked')].map(box => box.value);
+  if (ids.length === 0) {
+    showNotification('Select some orders first', 'warning');
+    return;
+  }
+  if (!confirm(`Move ${ids.length} orders to ${status}?`)) {
+    return;
+  }
+
+  fetch('/order/status', {
+    method: 'PUT',
+    credentials: 'include',
+    headers: {'Content-Type': 'application/json'},
+    body: JSON.stringify({ ids, status })
+  })
+    .then(res => {
+      if (!res.ok) {
+        return res.json().then(error => {
+          throw new Error(error.message || 'Failed to update orders');
+        });
+      }
+      return res.json();
+    })
+    .then(result => {
+      const type = result.failed === 0 ? 'success' : 'warning';
+      showNotification(`${result.updated} orders updated, ${result.failed} skipped`, type);
+      document.getElementById('select-all-orders').checked = false;
+      // Updated rows arrive through the order stream; just clear the selection
+      toggleAllOrders(false);
+    })
+    .catch(err => {
+      console.error('Error updating orders:', err);
+      showNotification(err.message, 'danger');
+    });
+}
+
 // ============ UTILITIES ============
 
 function showNotification(message, type = 'info') {
@@ -80,6 +80,11 @@ function login() {
     localStorage.setItem('role', data.role);
     localStorage.setItem('username', data.username);
 
+    // jwt auth mode: the tokens live in HttpOnly cookies, we only track when to refresh
+    if (data.expiresIn) {
+      storeTokenExpiry(data.expiresIn);
+    }
+
     showSuccess('login-msg', `Welcome ${data.username}!`);
 
     // Redirect based on role
@@ -192,6 +197,7 @@ function logout() {
     localStorage.removeItem('userId');
     localStorage.removeItem('username');
     localStorage.removeItem('role');
+    clearTokenExpiry();
 
     // Show success message if on a page with message container
     const msgElement = document.getElementById('login-msg') || document.getElementById('register-msg');
@@ -210,10 +216,58 @@ function logout() {
     localStorage.removeItem('userId');
     localStorage.removeItem('username');
     localStorage.removeItem('role');
+    clearTokenExpiry();
     window.location.href = 'index.html';
   });
 }
 
+// ===================== TOKEN REFRESH (jwt auth mode) =====================
+let tokenRefreshTimer = null;
+
+function storeTokenExpiry(expiresInSeconds) {
+  localStorage.setItem('tokenExpiresAt', String(Date.now() + expiresInSeconds * 1000));
+  scheduleTokenRefresh();
+}
+
+function clearTokenExpiry() {
+  localStorage.removeItem('tokenExpiresAt');
+  if (tokenRefreshTimer) {
+    clearTimeout(tokenRefreshTimer);
+    tokenRefreshTimer = null;
+  }
+}
+
+function scheduleTokenRefresh() {
+  const expiresAt = Number(localStorage.getItem('tokenExpiresAt'));
+  if (!expiresAt) {
+    return;
+  }
+  if (tokenRefreshTimer) {
+    clearTimeout(tokenRefreshTimer);
+  }
+  // Refresh one minute before the access token expires
+  const delay = Math.max(expiresAt - Date.now() - 60000, 0);
+  tokenRefreshTimer = setTimeout(refreshToken, delay);
+}
+
+function refreshToken() {
+  fetch('/auth/refresh', {
+    method: 'POST',
+    credentials: 'include'
+  })
+  .then(res => {
+    if (!res.ok) {
+      throw new Error('Session expired');
+    }
+    return res.json();
+  })
+  .then(data => storeTokenExpiry(data.expiresIn))
+  .catch(err => {
+    console.error('Token refresh error:', err);
+    clearTokenExpiry();
+  });
+}
+
 // ===================== CHECK AUTH STATUS =====================
 function checkAuthStatus() {
   // For now, use localStorage as fallback, but ideally should check server session
@@ -265,6 +319,7 @@ function checkServerAuthStatus() {
     localStorage.removeItem('userId');
     localStorage.removeItem('username');
     localStorage.removeItem('role');
+    clearTokenExpiry();
     
     return {
       isAuthenticated: false
@@ -274,6 +329,8 @@ function checkServerAuthStatus() {
 
 // ===================== ENTER KEY SUPPORT =====================
 document.addEventListener('DOMContentLoaded', () => {
+  scheduleTokenRefresh();
+
   // Login page
   const usernameInput = document.getElementById('username');
   const passwordInput = document.getElementById('password');
@@ -5,6 +5,10 @@ document.addEventListener('DOMContentLoaded', () => {
   loadMenu();
 });
 
+// Cart: menu item id -> { item, quantity }; checked out with one request
+const cart = new Map();
+const menuById = new Map();
+
 // Load and display menu items
 function loadMenu() {
   const container = document.getElementById('menu-container');
@@ -27,6 +31,7 @@ function loadMenu() {
       return res.json();
     })
     .then(menuItems => {
+      menuItems.forEach(item => menuById.set(item.id, item));
       if (menuItems.length === 0) {
         container.innerHTML = `
           <div class="col-12 text-center">
@@ -62,9 +67,14 @@ function loadMenu() {
                     <i class="bi bi-plus"></i>
                   </button>
                 </div>
-                <button class="btn btn-success w-100" onclick="placeOrder('${item.id}')">
-                  <i class="bi bi-cart-plus"></i> Order Now
-                </button>
+                <div class="d-flex gap-2">
+                  <button class="btn btn-outline-success w-50" onclick="addToCart('${item.id}')">
+                    <i class="bi bi-cart-plus"></i> Add to Cart
+                  </button>
+                  <button class="btn btn-success w-50" onclick="placeOrder('${item.id}')">
+                    <i class="bi bi-bag-check"></i> Order Now
+                  </button>
+                </div>
               </div>
             </div>
           </div>
@@ -130,7 +140,7 @@ function placeOrder(menuItemId) {
 
   fetch('/order/place', {
     method: 'POST',
-    headers: {'Content-Type': 'application/json'},
+    headers: {'Content-Type': 'application/json', 'Idempotency-Key': crypto.randomUUID()},
     body: JSON.stringify({
       userId: userId,
       menuItemId: menuItemId,
@@ -165,6 +175,100 @@ function placeOrder(menuItemId) {
   });
 }
 
+// ============ CART ============
+function addToCart(menuItemId) {
+  const qtyInput = document.getElementById(`qty-${menuItemId}`);
+  const quantity = parseInt(qtyInput.value) || 1;
+  const line = cart.get(menuItemId) || { item: menuById.get(menuItemId), quantity: 0 };
+  line.quantity = Math.min(line.quantity + quantity, 10);
+  cart.set(menuItemId, line);
+  qtyInput.value = 1;
+  renderCart();
+  showNotification(`🛒 ${escapeHtml(line.item.name)} added to cart`, 'info');
+}
+
+function removeFromCart(menuItemId) {
+  cart.delete(menuItemId);
+  renderCart();
+}
+
+function renderCart() {
+  let bar = document.getElementById('cart-bar');
+  if (cart.size === 0) {
+    if (bar) {
+      bar.remove();
+    }
+    return;
+  }
+  if (!bar) {
+    bar = document.createElement('div');
+    bar.id = 'cart-bar';
+    bar.className = 'position-fixed bottom-0 start-0 end-0 bg-light border-top shadow p-3';
+    document.body.appendChild(bar);
+  }
+
+  const lines = [...cart.entries()];
+  const total = lines.reduce((sum, [, line]) => sum + line.quantity * line.item.price, 0);
+  bar.innerHTML = `
+    <div class="container d-flex flex-wrap align-items-center gap-2">
+      ${lines.map(([id, line]) => `
+        <span class="badge bg-secondary fs-6">
+          ${escapeHtml(line.item.name)} × ${line.quantity}
+          <i class="bi bi-x-circle ms-1" role="button" onclick="removeFromCart('${id}')"></i>
+        </span>
+      `).join('')}
+      <span class="ms-auto fw-bold">₹${total.toFixed(2)}</span>
+      <button id="checkout-btn" class="btn btn-success" onclick="checkout()">
+        <i class="bi bi-bag-check"></i> Checkout
+      </button>
+    </div>
+  `;
+}
+
+// The whole cart is placed with one request; prices and totals come from the server
+function checkout() {
+  const auth = checkAuthStatus();
+
+  if (!auth.isAuthenticated) {
+    if (confirm('Please login first to place an order. Go to login page?')) {
+      window.location.href = 'login.html';
+    }
+    return;
+  }
+
+  const btn = document.getElementById('checkout-btn');
+  btn.innerHTML = '<span class="spinner-border spinner-border-sm"></span> Placing...';
+  btn.disabled = true;
+
+  fetch('/order/checkout', {
+    method: 'POST',
+    headers: {'Content-Type': 'application/json', 'Idempotency-Key': crypto.randomUUID()},
+    body: JSON.stringify({
+      userId: auth.userId,
+      items: [...cart.entries()].map(([menuItemId, line]) => ({ menuItemId, quantity: line.quantity }))
+    })
+  })
+  .then(res => {
+    if (!res.ok) {
+      return res.json().then(error => {
+        throw new Error(error.message || 'Checkout failed');
+      });
+    }
+    return res.json();
+  })
+  .then(result => {
+    cart.clear();
+    renderCart();
+    showNotification(`✅ ${result.orders.length} orders placed, total ₹${result.total.toFixed(2)}`, 'success');
+  })
+  .catch(err => {
+    console.error('Checkout failed:', err);
+    showNotification(`❌ ${err.message}`, 'danger');
+    btn.innerHTML = '<i class="bi bi-bag-check"></i> Checkout';
+    btn.disabled = false;
+  });
+}
+
 // Show order confirmation modal/toast
 function showOrderConfirmation(orderData) {
   const confirmationHtml = `
@@ -9,6 +9,7 @@ document.addEventListener('DOMContentLoaded', () => {
   
 
   loadUserOrders(auth.userId);
+  subscribeToOrderStream(auth.userId);
 });
 
 // Show login required message
@@ -70,30 +71,7 @@ function loadUserOrders(userId) {
         return;
       }
       
-      tableBody.innerHTML = orders.map(order => {
-        const statusBadge = getStatusBadge(order.status);
-        const statusIcon = getStatusIcon(order.status);
-        
-        return `
-          <tr>
-            <td>${order.id}</td>
-            <td>
-              <strong>${escapeHtml(order.itemName)}</strong>
-            </td>
-            <td class="text-center">${order.quantity}</td>
-            <td>₹${calculateTotal(order)}</td>
-            <td class="text-center">
-              ${statusIcon} ${statusBadge}
-            </td>
-            <td>
-              <button class="btn btn-sm btn-outline-primary" 
-                      onclick="showOrderDetails('${order.id}')">
-                <i class="bi bi-eye"></i> Details
-              </button>
-            </td>
-          </tr>
-        `;
-      }).join('');
+      tableBody.innerHTML = orders.map(renderUserOrderRow).join('');
       
       // Show order summary
       showOrderSummary(orders);
@@ -113,11 +91,59 @@ function loadUserOrders(userId) {
     });
 }
 
+function renderUserOrderRow(order) {
+  const statusBadge = getStatusBadge(order.status);
+  const statusIcon = getStatusIcon(order.status);
+
+  return `
+    <tr data-order-id="${order.id}">
+      <td>${order.id}</td>
+      <td>
+        <strong>${escapeHtml(order.itemName)}</strong>
+      </td>
+      <td class="text-center">${order.quantity}</td>
+      <td>₹${calculateTotal(order)}</td>
+      <td class="text-center">
+        ${statusIcon} ${statusBadge}
+      </td>
+      <td>
+        <button class="btn btn-sm btn-outline-primary" 
+                onclick="showOrderDetails('${order.id}')">
+          <i class="bi bi-eye"></i> Details
+        </button>
+      </td>
+    </tr>
+  `;
+}
+
+// Live updates for this user's orders: status changes replace their row in place
+function subscribeToOrderStream(userId) {
+  const stream = new EventSource('/order/stream', { withCredentials: true });
+
+  const applyChange = event => {
+    const { order } = JSON.parse(event.data);
+    const tableBody = document.getElementById('orders-table');
+    const existing = tableBody.querySelector(`tr[data-order-id="${order.id}"]`);
+    if (existing) {
+      existing.outerHTML = renderUserOrderRow(order);
+      if (event.type === 'order-updated') {
+        showNotification(`Order ${order.id}: ${getStatusMessage(order.status)}`, 'info');
+      }
+    } else {
+      // A new order (e.g. placed from another tab): reload to keep the summary right
+      loadUserOrders(userId);
+    }
+  };
+
+  stream.addEventListener('order-placed', applyChange);
+  stream.addEventListener('order-updated', applyChange);
+  stream.addEventListener('reset', () => loadUserOrders(userId));
+}
+
 // Calculate order total (from menu price would be better, but using estimate)
 function calculateTotal(order) {
-  // Since we don't have price in order DTO, we'll need to fetch or estimate
-  // For now, using quantity * estimated price
-  return (order.quantity * 150).toFixed(2); // Default estimate
+  // Orders carry the unit price they were placed at
+  return (order.quantity * (order.unitPrice || 0)).toFixed(2);
 }
 
 // Get status badge HTML
@@ -0,0 +1,93 @@
+package com.quickbite.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * The actuator chain of {@link SecurityConfig}, against stand-ins for the
+ * actuator endpoints, which a web slice does not start.
+ */
+@WebMvcTest(controllers = ActuatorSecurityTest.ActuatorStub.class)
+@Import({SecurityConfig.class, ActuatorSecurityTest.ActuatorStub.class})
+@TestPropertySource(properties = {
+        "quickbite.metrics.username=prometheus",
+        "quickbite.metrics.password=scrape@secret"
+})
+class ActuatorSecurityTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private CustomAuthenticationProvider customAuthenticationProvider;
+
+    @MockBean
+    private JwtService jwtService;
+
+    @Test
+    void prometheus_ShouldBeScraped_WithTheMetricsCredentials() throws Exception {
+        mockMvc.perform(get("/actuator/prometheus").with(httpBasic("prometheus", "scrape@secret")))
+                .andExpect(status().isOk())
+                .andExpect(content().string("metrics"));
+    }
+
+    @Test
+    void prometheus_ShouldBeRejected_WithoutOrWithWrongCredentials() throws Exception {
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/actuator/prometheus").with(httpBasic("prometheus", "wrong")))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void metricsUser_ShouldNotReachOtherActuatorEndpoints() throws Exception {
+        mockMvc.perform(get("/actuator/metrics").with(httpBasic("prometheus", "scrape@secret")))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void actuator_ShouldAcceptAnAdminSession_AndLeaveHealthPublic() throws Exception {
+        // Given
+        MockHttpSession session = new MockHttpSession();
+        session.setAttribute(SessionUser.SESSION_ATTRIBUTE, new SessionUser("1", "admin", "ADMIN"));
+
+        // When & Then
+        mockMvc.perform(get("/actuator/prometheus").session(session))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/actuator/metrics").session(session))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/actuator/health/liveness"))
+                .andExpect(status().isOk());
+    }
+
+    @RestController
+    static class ActuatorStub {
+
+        @GetMapping("/actuator/prometheus")
+        String prometheus() {
+            return "metrics";
+        }
+
+        @GetMapping("/actuator/metrics")
+        String metrics() {
+            return "{}";
+        }
+
+        @GetMapping("/actuator/health/liveness")
+        String liveness() {
+            return "UP";
+        }
+    }
+}
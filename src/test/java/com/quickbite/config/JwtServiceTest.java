@@ -0,0 +1,60 @@
+package com.quickbite.config;
+
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class JwtServiceTest {
+
+    private final JwtService jwtService = new JwtService("", Duration.ofMinutes(15), Duration.ofDays(7));
+
+    private final SessionUser user = new SessionUser("1", "testuser", "STUDENT");
+
+    @Test
+    void parseAccessToken_ShouldReturnIssuedPrincipal() {
+        // Given
+        String token = jwtService.issueAccessToken(user);
+
+        // When
+        SessionUser parsed = jwtService.parseAccessToken(token);
+
+        // Then
+        assertEquals("1", parsed.getId());
+        assertEquals("testuser", parsed.getUsername());
+        assertEquals("STUDENT", parsed.getRole());
+    }
+
+    @Test
+    void parseAccessToken_ShouldRejectTamperedToken() {
+        // Given
+        String token = jwtService.issueAccessToken(user);
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+        // When & Then
+        assertThrows(JwtException.class, () -> jwtService.parseAccessToken(tampered));
+    }
+
+    @Test
+    void parseAccessToken_ShouldRejectRefreshToken() {
+        // Given
+        String refreshToken = jwtService.issueRefreshToken(user);
+
+        // When & Then
+        assertThrows(JwtException.class, () -> jwtService.parseAccessToken(refreshToken));
+        assertEquals("1", jwtService.parseRefreshToken(refreshToken));
+    }
+
+    @Test
+    void parseAccessToken_ShouldRejectTokenFromAnotherKey() {
+        // Given
+        JwtService otherNode = new JwtService("", Duration.ofMinutes(15), Duration.ofDays(7));
+        String token = otherNode.issueAccessToken(user);
+
+        // When & Then
+        assertThrows(JwtException.class, () -> jwtService.parseAccessToken(token));
+    }
+}
@@ -0,0 +1,81 @@
+package com.quickbite.config;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.spi.FilterReply;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LogSamplingFilterTest {
+
+    private final AtomicLong nanoTime = new AtomicLong();
+    private LogSamplingFilter filter;
+    private Logger logger;
+
+    @BeforeEach
+    void setUp() {
+        filter = new LogSamplingFilter(nanoTime::get);
+        filter.setMaxPerSecond(3);
+        logger = new LoggerContext().getLogger("com.quickbite.service.OrderService");
+        logger.setLevel(Level.INFO);
+    }
+
+    @Test
+    void decide_ShouldDenyTemplateOverLimit_AndCountSuppressed() {
+        // Given
+        String template = "Fetching orders for user: {}";
+
+        // When
+        int admitted = admitted(template, 10);
+
+        // Then
+        assertEquals(3, admitted);
+        assertEquals(7, filter.getSuppressedCount());
+        assertEquals(FilterReply.NEUTRAL, filter.decide(null, logger, Level.INFO, "Another message", null, null));
+    }
+
+    @Test
+    void decide_ShouldAdmitAgain_InTheNextSecond() {
+        // Given
+        String template = "Order placed successfully with id: {}";
+        admitted(template, 10);
+
+        // When
+        nanoTime.addAndGet(TimeUnit.SECONDS.toNanos(1));
+
+        // Then
+        assertEquals(3, admitted(template, 10));
+    }
+
+    @Test
+    void decide_ShouldNeverSampleWarnings() {
+        for (int i = 0; i < 10; i++) {
+            assertEquals(FilterReply.NEUTRAL, filter.decide(null, logger, Level.WARN, "Pool saturated", null, null));
+        }
+        assertEquals(0, filter.getSuppressedCount());
+    }
+
+    @Test
+    void decide_ShouldIgnoreDisabledLevels() {
+        for (int i = 0; i < 10; i++) {
+            assertEquals(FilterReply.NEUTRAL, filter.decide(null, logger, Level.DEBUG, "Placing order", null, null));
+        }
+        assertEquals(0, filter.getSuppressedCount());
+    }
+
+    private int admitted(String template, int events) {
+        int admitted = 0;
+        for (int i = 0; i < events; i++) {
+            if (filter.decide(null, logger, Level.INFO, template, new Object[]{"id" + i}, null) == FilterReply.NEUTRAL) {
+                admitted++;
+            }
+        }
+        return admitted;
+    }
+}
@@ -0,0 +1,82 @@
+package com.quickbite.config;
+
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class MongoCommandMetricsTest {
+
+    private SimpleMeterRegistry registry;
+    private MongoCommandMetrics metrics;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        metrics = new MongoCommandMetrics(registry, Duration.ofMillis(100));
+    }
+
+    @Test
+    void endRequest_ShouldRecordCommandsIssuedDuringTheRequest() {
+        // Given
+        metrics.beginRequest();
+        metrics.commandStarted(started(1, "find", "orders"));
+        metrics.commandStarted(started(2, "find", "users"));
+
+        // When
+        int count = metrics.endRequest();
+        metrics.commandStarted(started(3, "find", "orders"));
+
+        // Then
+        assertEquals(2, count);
+        DistributionSummary summary = registry.get("quickbite.mongo.commands.per.request").summary();
+        assertEquals(1, summary.count());
+        assertEquals(2, summary.totalAmount());
+    }
+
+    @Test
+    void commandSucceeded_ShouldCountOnlySlowCommands() {
+        // Given
+        metrics.commandStarted(started(1, "find", "orders"));
+        metrics.commandStarted(started(2, "aggregate", "orders"));
+
+        // When
+        metrics.commandSucceeded(succeeded(1, "find", Duration.ofMillis(5)));
+        metrics.commandSucceeded(succeeded(2, "aggregate", Duration.ofMillis(250)));
+
+        // Then
+        assertNull(registry.find("quickbite.mongo.slow.commands").tag("command", "find").counter());
+        Counter slow = registry.get("quickbite.mongo.slow.commands").tag("command", "aggregate").counter();
+        assertEquals(1, slow.count());
+    }
+
+    private static CommandStartedEvent started(int requestId, String command, String collection) {
+        CommandStartedEvent event = mock(CommandStartedEvent.class);
+        when(event.getRequestId()).thenReturn(requestId);
+        when(event.getCommandName()).thenReturn(command);
+        when(event.getCommand()).thenReturn(new BsonDocument(command, new BsonString(collection)));
+        return event;
+    }
+
+    private static CommandSucceededEvent succeeded(int requestId, String command, Duration elapsed) {
+        CommandSucceededEvent event = mock(CommandSucceededEvent.class);
+        when(event.getRequestId()).thenReturn(requestId);
+        when(event.getCommandName()).thenReturn(command);
+        when(event.getDatabaseName()).thenReturn("quickbite");
+        when(event.getElapsedTime(any(TimeUnit.class))).thenAnswer(invocation ->
+                invocation.getArgument(0, TimeUnit.class).convert(elapsed));
+        return event;
+    }
+}
@@ -0,0 +1,68 @@
+package com.quickbite.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SessionAuthenticationFilterTest {
+
+    private final SessionAuthenticationFilter filter = new SessionAuthenticationFilter();
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void doFilter_ShouldReuseTheSameAuthentication_AcrossRequests() throws Exception {
+        // Given
+        MockHttpSession session = new MockHttpSession();
+        session.setAttribute(SessionUser.SESSION_ATTRIBUTE, new SessionUser("1", "user1", "STUDENT"));
+
+        // When
+        Authentication first = authenticate(session);
+        Authentication second = authenticate(session);
+
+        // Then
+        assertSame(first, second);
+        assertTrue(first.isAuthenticated());
+        assertEquals("ROLE_STUDENT", first.getAuthorities().iterator().next().getAuthority());
+        assertNull(first.getCredentials());
+    }
+
+    @Test
+    void toAuthentication_ShouldShareAuthorities_BetweenUsersWithTheSameRole() {
+        // Given
+        SessionUser alice = new SessionUser("1", "alice", "ADMIN");
+        SessionUser bob = new SessionUser("2", "bob", "ADMIN");
+
+        // Then
+        assertSame(RoleAuthorities.forRole("ADMIN"), RoleAuthorities.forRole(bob.getRole()));
+        assertEquals(alice.toAuthentication().getAuthorities(), bob.toAuthentication().getAuthorities());
+    }
+
+    @Test
+    void doFilter_ShouldLeaveContextEmpty_WithoutSession() throws Exception {
+        // When
+        filter.doFilter(new MockHttpServletRequest(), new MockHttpServletResponse(), new MockFilterChain());
+
+        // Then
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    private Authentication authenticate(MockHttpSession session) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setSession(session);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        SecurityContextHolder.clearContext();
+        return authentication;
+    }
+}
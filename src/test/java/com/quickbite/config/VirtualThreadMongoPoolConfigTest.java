@@ -0,0 +1,33 @@
+package com.quickbite.config;
+
+import com.mongodb.ConnectionString;
+import com.mongodb.MongoClientSettings;
+import com.mongodb.connection.ConnectionPoolSettings;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VirtualThreadMongoPoolConfigTest {
+
+    @Test
+    void customizer_ShouldSizeThePool_AndKeepTheConfiguredHost() {
+        // Given - a deployment URI with its own pool options
+        MongoClientSettings.Builder builder = MongoClientSettings.builder()
+                .applyConnectionString(new ConnectionString("mongodb://mongo.internal:27017/quickbite?maxPoolSize=10"));
+
+        // When
+        new VirtualThreadMongoPoolConfig()
+                .virtualThreadMongoPoolCustomizer(200, Duration.ofSeconds(2))
+                .customize(builder);
+        MongoClientSettings settings = builder.build();
+
+        // Then
+        ConnectionPoolSettings pool = settings.getConnectionPoolSettings();
+        assertEquals(200, pool.getMaxSize());
+        assertEquals(2000, pool.getMaxWaitTime(TimeUnit.MILLISECONDS));
+        assertEquals("mongo.internal", settings.getClusterSettings().getHosts().get(0).getHost());
+    }
+}
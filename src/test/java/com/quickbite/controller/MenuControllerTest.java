@@ -2,9 +2,13 @@ package com.quickbite.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.quickbite.config.TestSecurityConfig;
+import com.quickbite.dto.MenuBulkResult;
 import com.quickbite.dto.MenuItemDTO;
+import com.quickbite.dto.MenuItemOperation;
 import com.quickbite.model.MenuItem;
+import com.quickbite.service.MenuBulkService;
 import com.quickbite.service.MenuService;
+import com.quickbite.service.MenuSnapshot;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -15,11 +19,13 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.context.annotation.Import;
 import org.springframework.security.test.context.support.WithMockUser; // <-- ADDED IMPORT
 
+import java.io.InputStream;
 import java.util.Arrays;
 import java.util.List;
 
 import static org.hamcrest.Matchers.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -36,6 +42,9 @@ class MenuControllerTest {
     @MockBean
     private MenuService menuService;
 
+    @MockBean
+    private MenuBulkService menuBulkService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -63,7 +72,7 @@ class MenuControllerTest {
         MenuItemDTO item2 = new MenuItemDTO("2", "Burger", "Tasty", 149.0);
         List<MenuItemDTO> menuItems = Arrays.asList(item1, item2);
 
-        when(menuService.getAllMenuItems()).thenReturn(menuItems);
+        when(menuService.getMenuSnapshot()).thenReturn(snapshotOf(menuItems));
 
         // When & Then
         mockMvc.perform(get("/menu"))
@@ -71,13 +80,13 @@ class MenuControllerTest {
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$", hasSize(2)));
 
-        verify(menuService, times(1)).getAllMenuItems();
+        verify(menuService, times(1)).getMenuSnapshot();
     }
 
     @Test
     void getMenu_ShouldReturnEmptyList_WhenNoItemsExist() throws Exception {
         // Given
-        when(menuService.getAllMenuItems()).thenReturn(Arrays.asList());
+        when(menuService.getMenuSnapshot()).thenReturn(snapshotOf(List.of()));
 
         // When & Then
         mockMvc.perform(get("/menu"))
@@ -85,19 +94,35 @@ class MenuControllerTest {
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$", hasSize(0)));
 
-        verify(menuService, times(1)).getAllMenuItems();
+        verify(menuService, times(1)).getMenuSnapshot();
+    }
+
+    @Test
+    void getMenu_ShouldReturnEtag_AndNotModified_WhenEtagMatches() throws Exception {
+        // Given
+        when(menuService.getMenuSnapshot()).thenReturn(snapshotOf(List.of(testMenuItemDTO)));
+
+        // When & Then
+        mockMvc.perform(get("/menu"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"menu-v1\""))
+                .andExpect(header().string("Cache-Control", "no-cache"));
+
+        mockMvc.perform(get("/menu").header("If-None-Match", "\"menu-v1\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
     }
 
     @Test
     void getMenu_ShouldHandleServiceException() throws Exception {
         // Given
-        when(menuService.getAllMenuItems()).thenThrow(new RuntimeException("Database error"));
+        when(menuService.getMenuSnapshot()).thenThrow(new RuntimeException("Database error"));
 
         // When & Then
         mockMvc.perform(get("/menu"))
                 .andExpect(status().isInternalServerError());
 
-        verify(menuService, times(1)).getAllMenuItems();
+        verify(menuService, times(1)).getMenuSnapshot();
     }
 
     // --- POST /menu Tests (Requires ADMIN Role + CSRF) ---
@@ -298,4 +323,64 @@ class MenuControllerTest {
         verify(menuService, never()).deleteMenuItem(any());
     }
 
-}
\ No newline at end of file
+    // --- POST /menu/bulk Tests (Requires ADMIN Role) ---
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void bulkSync_ShouldReportEachItem_ForJsonArray() throws Exception {
+        // Given
+        List<MenuItemOperation> operations = List.of(
+                new MenuItemOperation("upsert", null, "Paneer Wrap", "Seasonal", 149.0),
+                new MenuItemOperation("delete", "2", null, null, null));
+        when(menuBulkService.apply(anyList())).thenReturn(new MenuBulkResult(true, 2, 0, List.of(
+                new MenuBulkResult.ItemResult(0, "10", "upsert", MenuBulkService.CREATED, null),
+                new MenuBulkResult.ItemResult(1, "2", "delete", MenuBulkService.DELETED, null))));
+
+        // When & Then
+        mockMvc.perform(post("/menu/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(operations))
+                        .with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.succeeded", is(2)))
+                .andExpect(jsonPath("$.items", hasSize(2)))
+                .andExpect(jsonPath("$.items[0].status", is("created")));
+
+        verify(menuBulkService).apply(argThat(list -> list.size() == 2 && "Paneer Wrap".equals(list.get(0).getName())));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void bulkSync_ShouldReturnBadRequest_ForNdjson_WhenBatchIsInvalid() throws Exception {
+        // Given
+        List<MenuItemOperation> operations = List.of(new MenuItemOperation("upsert", null, "X", null, 0.0));
+        when(menuBulkService.readNdjson(any(InputStream.class))).thenReturn(operations);
+        when(menuBulkService.apply(operations)).thenReturn(new MenuBulkResult(false, 0, 1, List.of(
+                new MenuBulkResult.ItemResult(0, null, "upsert", MenuBulkService.INVALID, "Price must be greater than 0"))));
+
+        // When & Then
+        mockMvc.perform(post("/menu/bulk")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content("{\"op\":\"upsert\",\"name\":\"X\",\"price\":0}\n")
+                        .with(csrf()))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.applied", is(false)))
+                .andExpect(jsonPath("$.items[0].status", is("invalid")));
+    }
+
+    @Test
+    @WithMockUser(roles = "STUDENT")
+    void bulkSync_ShouldReturnForbidden_WhenNotAdmin() throws Exception {
+        mockMvc.perform(post("/menu/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]")
+                        .with(csrf()))
+                .andExpect(status().isForbidden());
+
+        verifyNoInteractions(menuBulkService);
+    }
+
+    private MenuSnapshot snapshotOf(List<MenuItemDTO> items) throws Exception {
+        return new MenuSnapshot(items, objectMapper.writeValueAsBytes(items), "\"menu-v1\"");
+    }
+}
@@ -1,10 +1,28 @@
 package com.quickbite.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.quickbite.config.SessionUser;
 import com.quickbite.config.TestSecurityConfig; // <-- ADDED
+import com.quickbite.dto.BulkStatusRequest;
+import com.quickbite.dto.BulkStatusResult;
+import com.quickbite.dto.CartItem;
+import com.quickbite.dto.CheckoutRequest;
+import com.quickbite.dto.CheckoutResult;
+import com.quickbite.dto.ItemSales;
 import com.quickbite.dto.OrderDTO;
+import com.quickbite.dto.OrderPage;
+import com.quickbite.dto.OrderQuery;
 import com.quickbite.dto.OrderRequest;
+import com.quickbite.dto.OrderStats;
+import com.quickbite.exception.IdempotencyKeyInProgressException;
+import com.quickbite.exception.IllegalStatusTransitionException;
+import com.quickbite.service.IdempotencyService;
+import com.quickbite.service.OrderChangeTracker;
+import com.quickbite.service.OrderExportService;
+import com.quickbite.service.OrderIntakeService;
 import com.quickbite.service.OrderService;
+import com.quickbite.service.OrderStatsService;
+import com.quickbite.service.OrderStatusBulkService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -14,21 +32,28 @@ import org.springframework.context.annotation.Import; // <-- ADDED
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser; // <-- ADDED
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 // Assuming these exceptions exist in the quickbite.exception package
 import com.quickbite.exception.UserNotFoundException;
 import com.quickbite.exception.MenuItemNotFoundException;
 import com.quickbite.exception.OrderNotFoundException;
 
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 
 import static org.hamcrest.Matchers.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.authentication;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf; // <-- ADDED
 
 @WebMvcTest(OrderController.class)
@@ -41,6 +66,24 @@ class OrderControllerTest {
     @MockBean
     private OrderService orderService;
 
+    @MockBean
+    private OrderExportService orderExportService;
+
+    @MockBean
+    private OrderChangeTracker orderChangeTracker;
+
+    @MockBean
+    private OrderIntakeService orderIntakeService;
+
+    @MockBean
+    private OrderStatsService orderStatsService;
+
+    @MockBean
+    private IdempotencyService idempotencyService;
+
+    @MockBean
+    private OrderStatusBulkService orderStatusBulkService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -60,6 +103,8 @@ class OrderControllerTest {
         testOrderRequest.setUserId("user1");
         testOrderRequest.setMenuItemId("item1");
         testOrderRequest.setQuantity(2);
+
+        when(orderChangeTracker.userOrdersEtag(anyString())).thenReturn("\"2-1a\"");
     }
 
     // --- POST /order/place Tests (Requires CSRF) ---
@@ -85,6 +130,25 @@ class OrderControllerTest {
         verify(orderService, times(1)).placeOrder(any(OrderRequest.class));
     }
 
+    @Test
+    @WithMockUser(roles = "STUDENT")
+    void placeOrder_ShouldReturnAccepted_WhenAsyncIntakeIsEnabled() throws Exception {
+        // Given
+        when(orderIntakeService.isEnabled()).thenReturn(true);
+        when(orderIntakeService.submit(any(OrderRequest.class))).thenReturn(testOrderDTO);
+
+        // When & Then
+        mockMvc.perform(post("/order/place")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(testOrderRequest))
+                        .with(csrf()))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.id", is("1")))
+                .andExpect(jsonPath("$.status", is("PENDING")));
+
+        verify(orderService, never()).placeOrder(any(OrderRequest.class));
+    }
+
     @Test
     @WithMockUser(roles = "STUDENT")
     void placeOrder_ShouldReturnBadRequest_WhenUserIdMissing() throws Exception {
@@ -121,6 +185,104 @@ class OrderControllerTest {
         verify(orderService, times(1)).placeOrder(any(OrderRequest.class));
     }
 
+    @Test
+    @WithMockUser(roles = "STUDENT")
+    void placeOrder_ShouldMarkReplay_WhenIdempotencyKeyWasSeen() throws Exception {
+        // Given
+        when(idempotencyService.execute(eq("place:user"), eq("key-1"), any(OrderRequest.class),
+                eq(OrderDTO.class), any())).thenReturn(new IdempotencyService.Outcome<>(testOrderDTO, true));
+
+        // When & Then
+        mockMvc.perform(post("/order/place")
+                        .header(OrderController.IDEMPOTENCY_KEY_HEADER, "key-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(testOrderRequest))
+                        .with(csrf()))
+                .andExpect(status().isCreated())
+                .andExpect(header().string(OrderController.IDEMPOTENT_REPLAY_HEADER, "true"))
+                .andExpect(jsonPath("$.id", is("1")));
+
+        verify(orderService, never()).placeOrder(any(OrderRequest.class));
+    }
+
+    @Test
+    void placeOrder_ShouldScopeIdempotencyKey_ToTheSignedInUser() throws Exception {
+        // Given - the body names user1, the session belongs to user42
+        SessionUser signedIn = new SessionUser("user42", "student42", "STUDENT");
+        when(idempotencyService.execute(anyString(), anyString(), any(OrderRequest.class),
+                eq(OrderDTO.class), any())).thenReturn(new IdempotencyService.Outcome<>(testOrderDTO, false));
+
+        // When
+        mockMvc.perform(post("/order/place")
+                        .header(OrderController.IDEMPOTENCY_KEY_HEADER, "key-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(testOrderRequest))
+                        .with(authentication(signedIn.toAuthentication()))
+                        .with(csrf()))
+                .andExpect(status().isCreated());
+
+        // Then
+        verify(idempotencyService).execute(eq("place:user42"), eq("key-1"), any(OrderRequest.class),
+                eq(OrderDTO.class), any());
+    }
+
+    @Test
+    @WithMockUser(roles = "STUDENT")
+    void placeOrder_ShouldReturnConflict_WhenIdempotencyKeyIsInProgress() throws Exception {
+        // Given
+        when(idempotencyService.execute(anyString(), anyString(), any(), eq(OrderDTO.class), any()))
+                .thenThrow(new IdempotencyKeyInProgressException("key-1", 2));
+
+        // When & Then
+        mockMvc.perform(post("/order/place")
+                        .header(OrderController.IDEMPOTENCY_KEY_HEADER, "key-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(testOrderRequest))
+                        .with(csrf()))
+                .andExpect(status().isConflict())
+                .andExpect(header().string("Retry-After", "2"));
+    }
+
+    // --- POST /order/checkout Tests ---
+    @Test
+    @WithMockUser(roles = "STUDENT")
+    void checkout_ShouldPlaceTheWholeCart() throws Exception {
+        // Given
+        CheckoutRequest request = new CheckoutRequest();
+        request.setUserId("user1");
+        request.setItems(List.of(new CartItem("item1", 2), new CartItem("item2", 1)));
+        when(orderService.checkout(any(CheckoutRequest.class)))
+                .thenReturn(new CheckoutResult("cart1", List.of(testOrderDTO, testOrderDTO), 3, 497.0));
+
+        // When & Then
+        mockMvc.perform(post("/order/checkout")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request))
+                        .with(csrf()))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.checkoutId", is("cart1")))
+                .andExpect(jsonPath("$.orders", hasSize(2)))
+                .andExpect(jsonPath("$.total", is(497.0)));
+    }
+
+    @Test
+    @WithMockUser(roles = "STUDENT")
+    void checkout_ShouldReturnBadRequest_WhenCartIsEmpty() throws Exception {
+        // Given
+        CheckoutRequest request = new CheckoutRequest();
+        request.setUserId("user1");
+        request.setItems(List.of());
+
+        // When & Then
+        mockMvc.perform(post("/order/checkout")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request))
+                        .with(csrf()))
+                .andExpect(status().isBadRequest());
+
+        verify(orderService, never()).checkout(any(CheckoutRequest.class));
+    }
+
     // --- GET /order/user/{userId} Tests (Requires Authentication) ---
     @Test
     @WithMockUser(username = "user1", roles = "STUDENT") // Must be authenticated to view their orders
@@ -132,15 +294,28 @@ class OrderControllerTest {
         );
         String userId = "user1";
 
-        when(orderService.getOrdersByUserId(userId)).thenReturn(orders);
+        when(orderService.getOrdersByUserId(eq(userId), any(OrderQuery.class)))
+                .thenReturn(new OrderPage(orders, null));
 
         // When & Then
         mockMvc.perform(get("/order/user/{userId}", userId))
                 .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(OrderController.NEXT_CURSOR_HEADER))
                 .andExpect(jsonPath("$", hasSize(2)))
                 .andExpect(jsonPath("$[0].itemName", is("Pizza")));
 
-        verify(orderService, times(1)).getOrdersByUserId(userId);
+        verify(orderService, times(1)).getOrdersByUserId(eq(userId), any(OrderQuery.class));
+    }
+
+    @Test
+    @WithMockUser(username = "user1", roles = "STUDENT")
+    void getOrdersByUser_ShouldReturnNotModified_WithoutQuerying_WhenEtagMatches() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/order/user/{userId}", "user1").header("If-None-Match", "\"2-1a\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"2-1a\""));
+
+        verify(orderService, never()).getOrdersByUserId(anyString(), any(OrderQuery.class));
     }
 
     // --- GET /order/all Tests (Requires ADMIN Role) ---
@@ -153,7 +328,7 @@ class OrderControllerTest {
                 new OrderDTO("2", "Burger", "COMPLETED", "user2",1)
         );
 
-        when(orderService.getAllOrders()).thenReturn(allOrders);
+        when(orderService.getAllOrders(any(OrderQuery.class))).thenReturn(new OrderPage(allOrders, null));
 
         // When & Then
         mockMvc.perform(get("/order/all"))
@@ -161,7 +336,34 @@ class OrderControllerTest {
                 .andExpect(jsonPath("$", hasSize(2)))
                 .andExpect(jsonPath("$[0].itemName", is("Pizza")));
 
-        verify(orderService, times(1)).getAllOrders();
+        verify(orderService, times(1)).getAllOrders(argThat(query ->
+                query.getLimit() == OrderService.DEFAULT_PAGE_SIZE && query.getCursor() == null));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void getAllOrders_ShouldForwardFiltersAndExposeNextCursor() throws Exception {
+        // Given
+        String cursor = "65f1c0a2e4b0a1b2c3d4e5f6";
+        String nextCursor = "65f1c0a2e4b0a1b2c3d4e5f0";
+        when(orderService.getAllOrders(any(OrderQuery.class)))
+                .thenReturn(new OrderPage(List.of(new OrderDTO("1", "Pizza", "APPROVED", "user1", 1)), nextCursor));
+
+        // When & Then
+        mockMvc.perform(get("/order/all")
+                        .param("status", "APPROVED")
+                        .param("cursor", cursor)
+                        .param("from", "2025-01-01T00:00:00Z")
+                        .param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(OrderController.NEXT_CURSOR_HEADER, nextCursor))
+                .andExpect(jsonPath("$", hasSize(1)));
+
+        verify(orderService).getAllOrders(argThat(query ->
+                "APPROVED".equals(query.getStatus())
+                        && cursor.equals(query.getCursor())
+                        && query.getFrom() != null
+                        && query.getLimit() == 1));
     }
 
     // --- GET /order/pending Tests (Requires ADMIN Role) ---
@@ -174,7 +376,7 @@ class OrderControllerTest {
                 new OrderDTO("2", "Burger", "PENDING", "user2",1)
         );
 
-        when(orderService.getPendingOrders()).thenReturn(pendingOrders);
+        when(orderService.getPendingOrders(any(OrderQuery.class))).thenReturn(new OrderPage(pendingOrders, null));
 
         // When & Then
         mockMvc.perform(get("/order/pending"))
@@ -182,7 +384,99 @@ class OrderControllerTest {
                 .andExpect(jsonPath("$", hasSize(2)))
                 .andExpect(jsonPath("$[0].status", is("PENDING")));
 
-        verify(orderService, times(1)).getPendingOrders();
+        verify(orderService, times(1)).getPendingOrders(any(OrderQuery.class));
+    }
+
+    // --- GET /order/export Tests (Requires ADMIN Role) ---
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void exportOrders_ShouldStreamNdjson() throws Exception {
+        // Given
+        doAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(2);
+            out.write("{\"id\":\"1\"}\n".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(orderExportService)
+                .export(any(OrderQuery.class), eq(OrderExportService.Format.NDJSON), any(OutputStream.class));
+
+        // When & Then
+        MvcResult result = mockMvc.perform(get("/order/export").param("format", "ndjson"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andExpect(content().string("{\"id\":\"1\"}\n"));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void exportOrders_ShouldReturnBadRequest_WhenFormatUnsupported() throws Exception {
+        mockMvc.perform(get("/order/export").param("format", "xml"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(orderExportService);
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void exportOrders_ShouldNormaliseStatus_AndRejectUnknownOnes() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/order/export").param("status", "shipped"))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(orderExportService);
+
+        MvcResult result = mockMvc.perform(get("/order/export").param("status", "pending"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk());
+        verify(orderExportService).export(argThat(query -> "PENDING".equals(query.getStatus())),
+                eq(OrderExportService.Format.NDJSON), any(OutputStream.class));
+    }
+
+    // --- GET /order/stats Tests (Requires ADMIN Role) ---
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void getStatusStats_ShouldReturnAggregates() throws Exception {
+        // Given
+        when(orderStatsService.getStatusStats(null, null))
+                .thenReturn(new OrderStats(Map.of("PENDING", 3L, "COMPLETED", 1L), 4, 52.5));
+
+        // When & Then
+        mockMvc.perform(get("/order/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.ordersByStatus.PENDING", is(3)))
+                .andExpect(jsonPath("$.totalOrders", is(4)))
+                .andExpect(jsonPath("$.revenue", is(52.5)));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void getTopItems_ShouldForwardWindowAndLimit() throws Exception {
+        // Given
+        when(orderStatsService.getTopItems(any(), any(), anyInt()))
+                .thenReturn(List.of(new ItemSales("item1", "Pizza", 3, 5, 50.0)));
+
+        // When & Then
+        mockMvc.perform(get("/order/stats/items")
+                        .param("from", "2025-01-01T00:00:00Z")
+                        .param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].itemName", is("Pizza")));
+
+        verify(orderStatsService).getTopItems(argThat(from -> from != null), isNull(), eq(5));
+    }
+
+    @Test
+    @WithMockUser(roles = "STUDENT")
+    void getStatusStats_ShouldReturnForbidden_ForNonAdmin() throws Exception {
+        mockMvc.perform(get("/order/stats/users"))
+                .andExpect(status().isForbidden());
+
+        verifyNoInteractions(orderStatsService);
     }
 
     // --- PUT /{id}/status Tests (Requires CSRF and ADMIN Role) ---
@@ -226,6 +520,57 @@ class OrderControllerTest {
         verify(orderService, times(1)).updateOrderStatus(orderId, newStatus);
     }
 
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void updateStatus_ShouldReturnConflict_WhenTransitionIsNotAllowed() throws Exception {
+        // Given
+        when(orderService.updateOrderStatus("1", "APPROVED"))
+                .thenThrow(new IllegalStatusTransitionException("1", "DELIVERED", "APPROVED"));
+
+        // When & Then
+        mockMvc.perform(put("/order/{id}/status", "1")
+                        .param("status", "APPROVED")
+                        .with(csrf()))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.message", containsString("DELIVERED")));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void updateStatuses_ShouldReturnPerOrderOutcomes() throws Exception {
+        // Given
+        BulkStatusRequest request = new BulkStatusRequest();
+        request.setIds(List.of("1", "2"));
+        request.setStatus("APPROVED");
+        when(orderStatusBulkService.apply(any(BulkStatusRequest.class))).thenReturn(new BulkStatusResult("APPROVED", 1, 1, List.of(
+                new BulkStatusResult.ItemResult("1", OrderStatusBulkService.UPDATED, "PENDING", null),
+                new BulkStatusResult.ItemResult("2", OrderStatusBulkService.CONFLICT, "DELIVERED", "Cannot move from DELIVERED to APPROVED"))));
+
+        // When & Then
+        mockMvc.perform(put("/order/status")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request))
+                        .with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.updated", is(1)))
+                .andExpect(jsonPath("$.items[1].outcome", is("conflict")));
+
+        verify(orderService, never()).updateOrderStatus(anyString(), anyString());
+    }
+
+    @Test
+    @WithMockUser(roles = "STUDENT")
+    void updateStatuses_ShouldBeForbidden_ForNonAdmins() throws Exception {
+        // When & Then
+        mockMvc.perform(put("/order/status")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\":[\"1\"],\"status\":\"APPROVED\"}")
+                        .with(csrf()))
+                .andExpect(status().isForbidden());
+
+        verifyNoInteractions(orderStatusBulkService);
+    }
+
     // --- Security Failure Example ---
     @Test
     void getAllOrders_ShouldReturnForbidden_WhenUnauthenticated() throws Exception {
@@ -234,6 +579,6 @@ class OrderControllerTest {
         mockMvc.perform(get("/order/all"))
                 .andExpect(status().isForbidden()); // Assuming SecurityConfig redirects to unauthorized
 
-        verify(orderService, never()).getAllOrders();
+        verify(orderService, never()).getAllOrders(any(OrderQuery.class));
     }
 }
\ No newline at end of file
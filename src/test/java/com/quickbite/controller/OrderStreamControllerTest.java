@@ -0,0 +1,101 @@
+package com.quickbite.controller;
+
+import com.quickbite.config.TestSecurityConfig;
+import com.quickbite.dto.OrderDTO;
+import com.quickbite.event.OrderChangedEvent;
+import com.quickbite.service.OrderStreamBroker;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(OrderStreamController.class)
+@Import({TestSecurityConfig.class, OrderStreamBroker.class})
+class OrderStreamControllerTest {
+
+    private static final Pattern EVENT_ID = Pattern.compile("id:(\\S+)");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private OrderStreamBroker orderStreamBroker;
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void streamOrders_ShouldPushPlacedAndUpdatedOrders() throws Exception {
+        // Given
+        MvcResult result = mockMvc.perform(get("/order/stream"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // When
+        orderStreamBroker.onOrderChanged(new OrderChangedEvent("user1", order("1", "PENDING"), null));
+        orderStreamBroker.onOrderChanged(new OrderChangedEvent("user1", order("1", "APPROVED"), "PENDING"));
+
+        // Then
+        String body = awaitContent(result, "event:order-updated");
+        assertTrue(body.contains("event:order-placed"));
+        assertTrue(body.contains("\"status\":\"APPROVED\""));
+        assertTrue(body.contains("\"previousStatus\":\"PENDING\""));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void streamOrders_ShouldReplayOnlyMissedEvents_WhenResuming() throws Exception {
+        // Given: a first connection saw one event, then two more happened
+        MvcResult first = mockMvc.perform(get("/order/stream")).andReturn();
+        orderStreamBroker.onOrderChanged(new OrderChangedEvent("user1", order("10", "PENDING"), null));
+        Matcher lastSeen = EVENT_ID.matcher(awaitContent(first, "order-placed"));
+        assertTrue(lastSeen.find());
+
+        orderStreamBroker.onOrderChanged(new OrderChangedEvent("user2", order("11", "PENDING"), null));
+        orderStreamBroker.onOrderChanged(new OrderChangedEvent("user1", order("10", "REJECTED"), "PENDING"));
+
+        // When
+        MvcResult resumed = mockMvc.perform(get("/order/stream").header("Last-Event-ID", lastSeen.group(1)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        String body = awaitContent(resumed, "REJECTED");
+        assertTrue(body.contains("\"id\":\"11\""));
+        assertFalse(body.contains("\"id\":\"10\",\"itemName\":\"Pizza\",\"status\":\"PENDING\""));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void streamOrders_ShouldSendReset_WhenLastEventIdIsUnknown() throws Exception {
+        MvcResult result = mockMvc.perform(get("/order/stream").header("Last-Event-ID", "other-node-42"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        assertTrue(awaitContent(result, "event:" + OrderStreamBroker.RESET_EVENT).contains("event:reset"));
+    }
+
+    private static OrderDTO order(String id, String status) {
+        return new OrderDTO(id, "Pizza", status, "testuser", 1);
+    }
+
+    // Events are written by the broker's sender threads, so wait for them to land
+    private static String awaitContent(MvcResult result, String expected) throws Exception {
+        long deadline = System.currentTimeMillis() + 5_000;
+        String body = result.getResponse().getContentAsString();
+        while (!body.contains(expected) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            body = result.getResponse().getContentAsString();
+        }
+        assertTrue(body.contains(expected), () -> "Timed out waiting for '" + expected + "' in: " + result.getResponse().getContentAsString());
+        return body;
+    }
+}
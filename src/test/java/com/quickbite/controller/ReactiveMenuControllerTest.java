@@ -0,0 +1,112 @@
+package com.quickbite.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.quickbite.config.TestSecurityConfig;
+import com.quickbite.dto.MenuBulkResult;
+import com.quickbite.dto.MenuItemDTO;
+import com.quickbite.dto.MenuItemOperation;
+import com.quickbite.service.MenuBulkService;
+import com.quickbite.service.MenuSnapshot;
+import com.quickbite.service.ReactiveMenuService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.when;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(ReactiveMenuController.class)
+@ActiveProfiles("reactive")
+@Import(TestSecurityConfig.class)
+class ReactiveMenuControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ReactiveMenuService menuService;
+
+    @MockBean
+    private MenuBulkService menuBulkService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void getMenu_ShouldServeSnapshot_AndAnswerConditionalRequests() throws Exception {
+        // Given
+        List<MenuItemDTO> items = List.of(new MenuItemDTO("1", "Pizza", "Delicious", 199.0));
+        MenuSnapshot snapshot = new MenuSnapshot(items, objectMapper.writeValueAsBytes(items), "\"menu-v1\"");
+        when(menuService.getMenuSnapshot()).thenReturn(Mono.just(snapshot));
+
+        // When & Then
+        MvcResult result = mockMvc.perform(get("/menu"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(header().string("ETag", "\"menu-v1\""))
+                .andExpect(jsonPath("$", hasSize(1)));
+
+        MvcResult conditional = mockMvc.perform(get("/menu").header("If-None-Match", "\"menu-v1\""))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(conditional))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void bulkSync_ShouldReturnBadRequest_WhenBatchIsInvalid() throws Exception {
+        // Given
+        when(menuBulkService.apply(anyList())).thenReturn(new MenuBulkResult(false, 0, 1, List.of(
+                new MenuBulkResult.ItemResult(0, null, "upsert", MenuBulkService.INVALID, "Price must be greater than 0"))));
+
+        // When
+        MvcResult result = mockMvc.perform(post("/menu/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(
+                                new MenuItemOperation("upsert", null, "Free Lunch", null, 0.0))))
+                        .with(csrf()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.items[0].status", is(MenuBulkService.INVALID)));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void deleteItem_ShouldReturnNoContent() throws Exception {
+        // Given
+        when(menuService.deleteMenuItem("1")).thenReturn(Mono.empty());
+
+        // When
+        MvcResult result = mockMvc.perform(delete("/menu/1").with(csrf()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isNoContent());
+    }
+}
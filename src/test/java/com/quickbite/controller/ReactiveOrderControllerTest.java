@@ -0,0 +1,288 @@
+package com.quickbite.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.quickbite.config.TestSecurityConfig;
+import com.quickbite.dto.BulkStatusRequest;
+import com.quickbite.dto.BulkStatusResult;
+import com.quickbite.dto.OrderDTO;
+import com.quickbite.dto.OrderPage;
+import com.quickbite.dto.OrderQuery;
+import com.quickbite.dto.OrderRequest;
+import com.quickbite.exception.OrderNotFoundException;
+import com.quickbite.service.IdempotencyService;
+import com.quickbite.service.OrderIntakeService;
+import com.quickbite.service.OrderService;
+import com.quickbite.service.OrderStatsService;
+import com.quickbite.service.OrderStatusBulkService;
+import com.quickbite.service.ReactiveOrderService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(ReactiveOrderController.class)
+@ActiveProfiles("reactive")
+@Import(TestSecurityConfig.class)
+class ReactiveOrderControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ReactiveOrderService orderService;
+
+    @MockBean
+    private OrderService blockingOrderService;
+
+    @MockBean
+    private OrderStatsService orderStatsService;
+
+    @MockBean
+    private OrderStatusBulkService orderStatusBulkService;
+
+    @MockBean
+    private IdempotencyService idempotencyService;
+
+    @MockBean
+    private OrderIntakeService orderIntakeService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private OrderDTO testOrderDTO;
+
+    @BeforeEach
+    void setUp() {
+        testOrderDTO = new OrderDTO("1", "Margherita Pizza", "PENDING", "testuser", 2);
+        when(orderService.getUserOrdersEtag(anyString())).thenReturn(Mono.just("\"2-1a\""));
+    }
+
+    @Test
+    @WithMockUser(roles = "STUDENT")
+    void placeOrder_ShouldCreateNewOrder() throws Exception {
+        // Given
+        OrderRequest request = new OrderRequest();
+        request.setUserId("user1");
+        request.setMenuItemId("item1");
+        request.setQuantity(2);
+        when(orderService.placeOrder(any(OrderRequest.class))).thenReturn(Mono.just(testOrderDTO));
+
+        // When
+        MvcResult result = mockMvc.perform(post("/order/place")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request))
+                        .with(csrf()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id", is("1")))
+                .andExpect(jsonPath("$.username", is("testuser")));
+    }
+
+    @Test
+    @WithMockUser(roles = "STUDENT")
+    void placeOrder_ShouldReturnAccepted_WhenAsyncIntakeIsEnabled() throws Exception {
+        // Given
+        OrderRequest request = new OrderRequest();
+        request.setUserId("user1");
+        request.setMenuItemId("item1");
+        request.setQuantity(2);
+        when(orderIntakeService.isEnabled()).thenReturn(true);
+        when(orderIntakeService.submit(any(OrderRequest.class))).thenReturn(testOrderDTO);
+
+        // When
+        MvcResult result = mockMvc.perform(post("/order/place")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request))
+                        .with(csrf()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.id", is("1")));
+        verify(orderService, never()).placeOrder(any(OrderRequest.class));
+    }
+
+    @Test
+    @WithMockUser(roles = "STUDENT")
+    void placeOrder_ShouldReplayResponse_WhenIdempotencyKeyWasSeen() throws Exception {
+        // Given
+        OrderRequest request = new OrderRequest();
+        request.setUserId("user1");
+        request.setMenuItemId("item1");
+        request.setQuantity(2);
+        when(idempotencyService.execute(eq("place:user"), eq("key-1"), any(), eq(OrderDTO.class), any()))
+                .thenReturn(new IdempotencyService.Outcome<>(testOrderDTO, true));
+
+        // When
+        MvcResult result = mockMvc.perform(post("/order/place")
+                        .header(OrderController.IDEMPOTENCY_KEY_HEADER, "key-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request))
+                        .with(csrf()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isCreated())
+                .andExpect(header().string(OrderController.IDEMPOTENT_REPLAY_HEADER, "true"))
+                .andExpect(jsonPath("$.id", is("1")));
+        verifyNoInteractions(orderService);
+    }
+
+    @Test
+    @WithMockUser(roles = "STUDENT")
+    void getOrdersByUser_ShouldReturnNotModified_WithoutQuerying() throws Exception {
+        // When
+        MvcResult result = mockMvc.perform(get("/order/user/user1").header("If-None-Match", "\"2-1a\""))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isNotModified());
+
+        verify(orderService, never()).getOrdersByUserId(anyString(), any(OrderQuery.class));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void getAllOrders_ShouldReturnPageWithNextCursor() throws Exception {
+        // Given
+        when(orderService.getAllOrders(any(OrderQuery.class)))
+                .thenReturn(Mono.just(new OrderPage(List.of(testOrderDTO), "1")));
+
+        // When
+        MvcResult result = mockMvc.perform(get("/order/all").param("limit", "1"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string(OrderController.NEXT_CURSOR_HEADER, "1"))
+                .andExpect(jsonPath("$", hasSize(1)));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void updateStatus_ShouldReturnNotFound_WhenOrderDoesNotExist() throws Exception {
+        // Given
+        when(orderService.updateOrderStatus(eq("999"), anyString()))
+                .thenReturn(Mono.error(new OrderNotFoundException("999")));
+
+        // When
+        MvcResult result = mockMvc.perform(put("/order/999/status").param("status", "APPROVED").with(csrf()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void updateStatuses_ShouldReportEachOrder() throws Exception {
+        // Given
+        BulkStatusRequest request = new BulkStatusRequest();
+        request.setIds(List.of("1", "2"));
+        request.setStatus("APPROVED");
+        when(orderStatusBulkService.apply(any(BulkStatusRequest.class))).thenReturn(new BulkStatusResult("APPROVED", 1, 1, List.of(
+                new BulkStatusResult.ItemResult("1", OrderStatusBulkService.UPDATED, "PENDING", null),
+                new BulkStatusResult.ItemResult("2", OrderStatusBulkService.CONFLICT, "DELIVERED", "Cannot move from DELIVERED to APPROVED"))));
+
+        // When
+        MvcResult result = mockMvc.perform(put("/order/status")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request))
+                        .with(csrf()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.updated", is(1)))
+                .andExpect(jsonPath("$.items[1].outcome", is(OrderStatusBulkService.CONFLICT)));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void exportOrders_ShouldStreamNdjson() throws Exception {
+        // Given
+        OrderDTO second = new OrderDTO("2", "Burger", "APPROVED", "testuser", 1);
+        when(orderService.exportOrders(any(OrderQuery.class))).thenReturn(Flux.just(testOrderDTO, second));
+
+        // When
+        MvcResult result = mockMvc.perform(get("/order/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(objectMapper.writeValueAsString(testOrderDTO) + "\n"
+                        + objectMapper.writeValueAsString(second) + "\n"));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void exportOrders_ShouldAcceptTheFormatInAnyCase() throws Exception {
+        // Given
+        OrderDTO second = new OrderDTO("2", "Burger", "APPROVED", "testuser", 1);
+        when(orderService.exportOrders(any(OrderQuery.class))).thenReturn(Flux.just(testOrderDTO, second));
+
+        // When
+        MvcResult result = mockMvc.perform(get("/order/export").param("format", "JSON"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[1].id", is("2")));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void exportOrders_ShouldReturnBadRequest_ForAnUnknownFormat() throws Exception {
+        mockMvc.perform(get("/order/export").param("format", "csv"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(orderService);
+    }
+}
@@ -1,23 +1,32 @@
 package com.quickbite.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.quickbite.config.JwtService;
+import com.quickbite.config.SessionUser;
 import com.quickbite.config.TestSecurityConfig;
 import com.quickbite.dto.UserDTO;
 import com.quickbite.model.User;
 import com.quickbite.service.UserService;
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.time.Duration;
 import java.util.List;
 
+import static org.hamcrest.Matchers.instanceOf;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -33,6 +42,9 @@ class UserControllerTest {
     @MockBean
     private UserService userService;
 
+    @MockBean
+    private JwtService jwtService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -74,7 +86,9 @@ class UserControllerTest {
                         .content(loginPayload)
                         .with(csrf()))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.username").value("testuser"));
+                .andExpect(jsonPath("$.username").value("testuser"))
+                .andExpect(jsonPath("$.password").doesNotExist())
+                .andExpect(request().sessionAttribute(SessionUser.SESSION_ATTRIBUTE, instanceOf(SessionUser.class)));
     }
 
     @Test
@@ -100,4 +114,43 @@ class UserControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$[0].username").value("testuser"));
     }
-}
\ No newline at end of file
+
+    @Nested
+    @TestPropertySource(properties = "quickbite.auth.mode=jwt")
+    class Refresh {
+
+        @BeforeEach
+        void stubTokens() {
+            when(jwtService.issueAccessToken(any(SessionUser.class))).thenReturn("access-2");
+            when(jwtService.issueRefreshToken(any(SessionUser.class))).thenReturn("refresh-2");
+            when(jwtService.getAccessTokenTtl()).thenReturn(Duration.ofMinutes(15));
+            when(jwtService.getRefreshTokenTtl()).thenReturn(Duration.ofDays(7));
+        }
+
+        @Test
+        void refresh_ShouldIssueTokens_ForATokenInTheBody() throws Exception {
+            // Given
+            when(jwtService.parseRefreshToken("refresh-1")).thenReturn("1");
+            when(userService.findById("1")).thenReturn(testUser);
+
+            // When & Then
+            mockMvc.perform(post("/auth/refresh")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(new UserController.RefreshRequest("refresh-1")))
+                            .with(csrf()))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.id").value("1"))
+                    .andExpect(jsonPath("$.refreshToken").value("refresh-2"));
+        }
+
+        @Test
+        void refresh_ShouldIgnoreATokenInTheQueryString() throws Exception {
+            mockMvc.perform(post("/auth/refresh")
+                            .param("refreshToken", "refresh-1")
+                            .with(csrf()))
+                    .andExpect(status().isUnauthorized());
+
+            verify(jwtService, never()).parseRefreshToken(anyString());
+        }
+    }
+}
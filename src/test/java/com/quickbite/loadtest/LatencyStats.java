@@ -0,0 +1,89 @@
+package com.quickbite.loadtest;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Latency samples per scenario. Each load-test client records into its own
+ * instance, so recording never contends; the instances are merged once the
+ * run is over.
+ */
+final class LatencyStats {
+
+    private final Map<String, Samples> scenarios = new LinkedHashMap<>();
+
+    void record(String scenario, long latencyMicros, boolean ok) {
+        Samples samples = scenarios.computeIfAbsent(scenario, name -> new Samples());
+        samples.add(latencyMicros);
+        if (!ok) {
+            samples.errors++;
+        }
+    }
+
+    void merge(LatencyStats other) {
+        other.scenarios.forEach((name, samples) -> scenarios.computeIfAbsent(name, n -> new Samples()).addAll(samples));
+    }
+
+    Map<String, Summary> summarise(double seconds) {
+        Map<String, Summary> summaries = new LinkedHashMap<>();
+        scenarios.forEach((name, samples) -> summaries.put(name, samples.summarise(seconds)));
+        return summaries;
+    }
+
+    Summary total(double seconds) {
+        Samples all = new Samples();
+        scenarios.values().forEach(all::addAll);
+        return all.summarise(seconds);
+    }
+
+    /**
+     * Latencies are in milliseconds, throughput in requests per second.
+     */
+    record Summary(long count, long errors, double throughput, double p50, double p99, double p999, double max) {
+
+        double errorRate() {
+            return count == 0 ? 0 : (double) errors / count;
+        }
+    }
+
+    private static final class Samples {
+
+        private long[] values = new long[1024];
+        private int size;
+        private long errors;
+
+        void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        void addAll(Samples other) {
+            if (size + other.size > values.length) {
+                values = Arrays.copyOf(values, Math.max(values.length * 2, size + other.size));
+            }
+            System.arraycopy(other.values, 0, values, size, other.size);
+            size += other.size;
+            errors += other.errors;
+        }
+
+        Summary summarise(double seconds) {
+            long[] sorted = Arrays.copyOf(values, size);
+            Arrays.sort(sorted);
+            return new Summary(size, errors, size / seconds,
+                    percentile(sorted, 0.50), percentile(sorted, 0.99), percentile(sorted, 0.999),
+                    size == 0 ? 0 : sorted[size - 1] / 1000.0);
+        }
+
+        // Nearest-rank percentile
+        private static double percentile(long[] sorted, double quantile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int rank = (int) Math.ceil(quantile * sorted.length);
+            return sorted[Math.max(0, rank - 1)] / 1000.0;
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.quickbite.loadtest;
+
+import com.quickbite.model.MenuItem;
+import com.quickbite.model.Order;
+import com.quickbite.model.User;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Seeds a production-sized data set: thousands of students, a full menu and a
+ * few months of order history, written with batch inserts. A fixed random seed
+ * keeps runs comparable.
+ */
+final class LoadTestSeeder {
+
+    static final String PASSWORD = "Load@test1";
+    static final String ADMIN_USERNAME = "load_admin";
+
+    private static final int BATCH_SIZE = 5_000;
+    private static final Duration HISTORY = Duration.ofDays(90);
+    private static final String[] STATUSES = {"COMPLETED", "COMPLETED", "COMPLETED", "DELIVERED", "APPROVED", "PENDING"};
+
+    private final MongoTemplate mongoTemplate;
+    private final Random random = new Random(42);
+
+    LoadTestSeeder(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    /**
+     * @param orderStatuses the status of every seeded order, kept up to date by
+     *                      the admin clients so they only send allowed transitions
+     */
+    record SeededData(List<User> students, User admin, List<MenuItem> menuItems, List<String> orderIds,
+                      Map<String, String> orderStatuses) {
+    }
+
+    SeededData seed(int students, int menuItems, int orders) {
+        // Every account shares one hash: encoding thousands of passwords would dominate the setup
+        String hash = new BCryptPasswordEncoder().encode(PASSWORD);
+
+        List<User> users = new ArrayList<>(students);
+        for (int i = 0; i < students; i++) {
+            users.add(user("load_user_" + i, hash, "STUDENT"));
+        }
+        insert(users, User.class);
+        User admin = user(ADMIN_USERNAME, hash, "ADMIN");
+        mongoTemplate.insert(admin);
+
+        List<MenuItem> items = new ArrayList<>(menuItems);
+        for (int i = 0; i < menuItems; i++) {
+            MenuItem item = new MenuItem();
+            item.setName("Load Item " + i);
+            item.setDescription("Seeded item " + i + " for load testing, with a realistic description length");
+            item.setPrice(49.0 + random.nextInt(300));
+            item.setLastModified(Instant.now());
+            items.add(item);
+        }
+        insert(items, MenuItem.class);
+
+        long now = System.currentTimeMillis();
+        List<String> orderIds = new ArrayList<>(orders);
+        Map<String, String> orderStatuses = new ConcurrentHashMap<>(orders);
+        List<Order> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < orders; i++) {
+            // Spread creation times over the history window, as the _id range queries rely on them
+            Date createdAt = new Date(now - (long) (random.nextDouble() * HISTORY.toMillis()));
+            Order order = new Order();
+            order.setId(new ObjectId(createdAt).toHexString());
+            order.snapshot(users.get(random.nextInt(users.size())), items.get(random.nextInt(items.size())));
+            order.setQuantity(1 + random.nextInt(3));
+            order.setStatus(STATUSES[random.nextInt(STATUSES.length)]);
+            order.setLastModified(createdAt.toInstant());
+            batch.add(order);
+            orderIds.add(order.getId());
+            orderStatuses.put(order.getId(), order.getStatus());
+            if (batch.size() == BATCH_SIZE) {
+                insert(batch, Order.class);
+                batch = new ArrayList<>(BATCH_SIZE);
+            }
+        }
+        insert(batch, Order.class);
+
+        return new SeededData(users, admin, items, orderIds, orderStatuses);
+    }
+
+    private <T> void insert(List<T> documents, Class<T> type) {
+        for (int from = 0; from < documents.size(); from += BATCH_SIZE) {
+            List<T> chunk = documents.subList(from, Math.min(documents.size(), from + BATCH_SIZE));
+            // A batch insert that also assigns the generated ids back to the entities
+            mongoTemplate.insert(chunk, type);
+        }
+    }
+
+    private static User user(String username, String hash, String role) {
+        User user = new User();
+        user.setUsername(username);
+        user.setPassword(hash);
+        user.setRole(role);
+        return user;
+    }
+}
@@ -0,0 +1,422 @@
+package com.quickbite.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.quickbite.model.MenuItem;
+import com.quickbite.model.OrderStatus;
+import com.quickbite.model.User;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ActiveProfilesResolver;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.utility.DockerImageName;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * End-to-end load test: the full application on a random port against a real
+ * Mongo, seeded well beyond {@code DataInitializer}, driven by concurrent
+ * clients over HTTP. Each run prints p50/p99/p999 latency and throughput per
+ * scenario, writes them to {@code target/loadtest/<run>-<label>.json} and fails
+ * when a configured SLO from {@code loadtest.properties} is missed.
+ * <p>
+ * Runs only with the {@code loadtest} Maven profile ({@code mvn verify -P loadtest}).
+ * Every setting can be overridden with {@code -D}, including the application's
+ * own, so variants compare directly, e.g.
+ * {@code -Dquickbite.order-intake.mode=async -Dloadtest.label=async-intake} or
+ * {@code -Dspring.profiles.active=vthreads -Dloadtest.label=vthreads}.
+ * <p>
+ * The application runs with the {@code loadtest} profile followed by those
+ * from {@code spring.profiles.active}, so a profile such as {@code reactive}
+ * can still override {@code application-loadtest.properties}. Each run also
+ * reports heap, resident memory and platform threads per in-flight request;
+ * comparing a default run with a {@code vthreads} one at a high
+ * {@code loadtest.clients} shows what each model costs per request.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles(resolver = QuickBiteLoadIT.LoadTestProfiles.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class QuickBiteLoadIT {
+
+    private static final Properties SETTINGS = loadSettings();
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(10);
+
+    private static MongoDBContainer mongo;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    private LoadTestSeeder.SeededData data;
+
+    @DynamicPropertySource
+    static void mongoProperties(DynamicPropertyRegistry registry) {
+        String external = setting("loadtest.mongo.uri");
+        if (!external.isBlank()) {
+            registry.add("spring.data.mongodb.uri", () -> external);
+            return;
+        }
+        mongo = new MongoDBContainer(DockerImageName.parse(setting("loadtest.mongo.image")));
+        mongo.start();
+        registry.add("spring.data.mongodb.uri", () -> mongo.getReplicaSetUrl("quickbite-load"));
+    }
+
+    @BeforeAll
+    void seed() {
+        long started = System.nanoTime();
+        data = new LoadTestSeeder(mongoTemplate).seed(
+                intSetting("loadtest.seed.users"),
+                intSetting("loadtest.seed.menu-items"),
+                intSetting("loadtest.seed.orders"));
+        System.out.printf("Seeded %d users, %d menu items and %d orders in %d s%n",
+                data.students().size(), data.menuItems().size(), data.orderIds().size(),
+                Duration.ofNanos(System.nanoTime() - started).toSeconds());
+    }
+
+    @AfterAll
+    static void stopMongo() {
+        if (mongo != null) {
+            mongo.stop();
+        }
+    }
+
+    @Test
+    void mixedTraffic_ShouldMeetLatencySlos() throws Exception {
+        // Given - mostly students browsing and ordering, plus a few admins working the queue
+        int clientCount = intSetting("loadtest.clients");
+        int adminEvery = intSetting("loadtest.admin-every");
+        List<Client> clients = new ArrayList<>(clientCount);
+        for (int i = 0; i < clientCount; i++) {
+            boolean admin = i % adminEvery == adminEvery - 1;
+            clients.add(new Client(admin ? data.admin() : data.students().get(i % data.students().size()), i));
+        }
+        Scenario[] studentMix = mix(Map.of(Scenario.MENU, 45, Scenario.POLL, 25, Scenario.PLACE, 20, Scenario.LOGIN, 10));
+        Scenario[] adminMix = mix(Map.of(Scenario.ADMIN_LIST, 50, Scenario.ADMIN_UPDATE, 40, Scenario.MENU, 10));
+
+        // When
+        Run result = run(clients, client -> client.admin ? adminMix : studentMix);
+
+        // Then
+        assertMeetsSlos("mixed", result);
+    }
+
+    @Test
+    void menu_ShouldStayFastDuringLoginStorm() throws Exception {
+        // Given - half the clients hammer login with bad passwords, which are never cached
+        int clientCount = intSetting("loadtest.clients");
+        List<Client> clients = new ArrayList<>(clientCount);
+        for (int i = 0; i < clientCount; i++) {
+            clients.add(new Client(data.students().get(i % data.students().size()), i));
+        }
+        Scenario[] storm = {Scenario.FAILED_LOGIN};
+        Scenario[] browse = {Scenario.MENU};
+
+        // When
+        Run result = run(clients, client -> client.seed % 2 == 0 ? storm : browse);
+
+        // Then
+        assertMeetsSlos("login-storm", result);
+    }
+
+    private Run run(List<Client> clients, Function<Client, Scenario[]> mixes) throws Exception {
+        for (Client client : clients) {
+            assertTrue(client.login(LoadTestSeeder.PASSWORD), "Load-test client could not log in");
+        }
+
+        long warmup = Duration.ofSeconds(intSetting("loadtest.warmup-seconds")).toNanos();
+        long duration = Duration.ofSeconds(intSetting("loadtest.duration-seconds")).toNanos();
+        long measureFrom = System.nanoTime() + warmup;
+        long end = measureFrom + duration;
+
+        ResourceSampler.Summary resources;
+        try (ResourceSampler sampler = new ResourceSampler(measureFrom)) {
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (Client client : clients) {
+                    Scenario[] mix = mixes.apply(client);
+                    executor.submit(() -> client.loop(mix, measureFrom, end));
+                }
+            }
+            resources = sampler.summarise(clients.size());
+        }
+
+        LatencyStats merged = new LatencyStats();
+        clients.forEach(client -> merged.merge(client.stats));
+        return new Run(merged, resources);
+    }
+
+    private void assertMeetsSlos(String run, Run result) throws IOException {
+        double seconds = intSetting("loadtest.duration-seconds");
+        Map<String, LatencyStats.Summary> scenarios = result.stats().summarise(seconds);
+        LatencyStats.Summary total = result.stats().total(seconds);
+        report(run, scenarios, total, result.resources());
+
+        List<String> violations = new ArrayList<>();
+        scenarios.forEach((scenario, summary) -> {
+            String prefix = "loadtest.slo." + run + "." + scenario;
+            checkAtMost(violations, prefix + ".p99-ms", summary.p99());
+            checkAtMost(violations, prefix + ".p999-ms", summary.p999());
+        });
+        checkAtMost(violations, "loadtest.slo." + run + ".error-rate", total.errorRate());
+        String minThroughput = setting("loadtest.slo." + run + ".min-throughput");
+        if (!minThroughput.isBlank() && total.throughput() < Double.parseDouble(minThroughput)) {
+            violations.add(String.format("throughput %.0f req/s < %s", total.throughput(), minThroughput));
+        }
+        assertTrue(violations.isEmpty(), "SLOs missed in " + run + " run:\n" + String.join("\n", violations));
+    }
+
+    private static void checkAtMost(List<String> violations, String key, double actual) {
+        String limit = setting(key);
+        if (!limit.isBlank() && actual > Double.parseDouble(limit)) {
+            violations.add(String.format("%s: %.3f > %s", key, actual, limit));
+        }
+    }
+
+    private void report(String run, Map<String, LatencyStats.Summary> scenarios, LatencyStats.Summary total,
+                        ResourceSampler.Summary resources) throws IOException {
+        String label = setting("loadtest.label");
+        StringBuilder table = new StringBuilder(String.format("%n%s (%s)%n%-14s %9s %7s %9s %9s %9s %9s %9s%n",
+                run, label, "scenario", "requests", "errors", "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms"));
+        Map<String, LatencyStats.Summary> rows = new LinkedHashMap<>(scenarios);
+        rows.put("total", total);
+        rows.forEach((scenario, s) -> table.append(String.format("%-14s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n",
+                scenario, s.count(), s.errors(), s.throughput(), s.p50(), s.p99(), s.p999(), s.max())));
+        table.append(String.format("per in-flight request (%d): heap %.1f KB, rss %.1f KB, platform threads %.2f (peak %d)%n",
+                resources.inFlight(), resources.heapKbPerInFlight(), resources.rssKbPerInFlight(),
+                resources.platformThreadsPerInFlight(), resources.peakPlatformThreads()));
+        System.out.print(table);
+
+        Path directory = Path.of("target", "loadtest");
+        Files.createDirectories(directory);
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("run", run);
+        result.put("label", label);
+        result.put("clients", intSetting("loadtest.clients"));
+        result.put("durationSeconds", intSetting("loadtest.duration-seconds"));
+        result.put("scenarios", rows);
+        result.put("resources", resources);
+        objectMapper.writeValue(directory.resolve(run + "-" + label + ".json").toFile(), result);
+    }
+
+    private static Scenario[] mix(Map<Scenario, Integer> weights) {
+        List<Scenario> slots = new ArrayList<>();
+        weights.forEach((scenario, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                slots.add(scenario);
+            }
+        });
+        return slots.toArray(Scenario[]::new);
+    }
+
+    private record Run(LatencyStats stats, ResourceSampler.Summary resources) {
+    }
+
+    /**
+     * {@code loadtest} first, then whatever {@code -Dspring.profiles.active}
+     * asks for, so those profiles take precedence.
+     */
+    static final class LoadTestProfiles implements ActiveProfilesResolver {
+
+        @Override
+        public String[] resolve(Class<?> testClass) {
+            List<String> profiles = new ArrayList<>(List.of("loadtest"));
+            for (String profile : System.getProperty("spring.profiles.active", "").split(",")) {
+                if (!profile.isBlank()) {
+                    profiles.add(profile.trim());
+                }
+            }
+            return profiles.toArray(String[]::new);
+        }
+    }
+
+    private enum Scenario {
+        MENU("menu"),
+        LOGIN("login"),
+        FAILED_LOGIN("failed-login"),
+        PLACE("place"),
+        POLL("poll"),
+        ADMIN_LIST("admin-list"),
+        ADMIN_UPDATE("admin-update");
+
+        private final String key;
+
+        Scenario(String key) {
+            this.key = key;
+        }
+    }
+
+    /**
+     * One simulated user with its own cookie jar, issuing requests back to back.
+     */
+    private final class Client {
+
+        private final User user;
+        private final boolean admin;
+        private final int seed;
+        private final Random random;
+        private final HttpClient http = HttpClient.newBuilder()
+                .cookieHandler(new CookieManager())
+                .connectTimeout(REQUEST_TIMEOUT)
+                .build();
+        private final LatencyStats stats = new LatencyStats();
+
+        private Client(User user, int seed) {
+            this.user = user;
+            this.admin = "ADMIN".equals(user.getRole());
+            this.seed = seed;
+            this.random = new Random(seed);
+        }
+
+        boolean login(String password) throws IOException, InterruptedException {
+            return post("/auth/login", "{\"username\":\"" + user.getUsername() + "\",\"password\":\"" + password + "\"}")
+                    .statusCode() == 200;
+        }
+
+        void loop(Scenario[] mix, long measureFrom, long end) {
+            while (true) {
+                long started = System.nanoTime();
+                if (started - end >= 0) {
+                    return;
+                }
+                Scenario scenario = mix[random.nextInt(mix.length)];
+                boolean ok;
+                try {
+                    ok = execute(scenario);
+                } catch (IOException e) {
+                    ok = false;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                if (started - measureFrom >= 0) {
+                    stats.record(scenario.key, (System.nanoTime() - started) / 1_000, ok);
+                }
+            }
+        }
+
+        private boolean execute(Scenario scenario) throws IOException, InterruptedException {
+            return switch (scenario) {
+                case MENU -> get("/menu").statusCode() == 200;
+                case LOGIN -> login(LoadTestSeeder.PASSWORD);
+                case FAILED_LOGIN -> {
+                    // Rejected or shed under load are both the expected outcomes
+                    int status = post("/auth/login", "{\"username\":\"" + user.getUsername() + "\",\"password\":\"wrong@" + random.nextInt() + "\"}")
+                            .statusCode();
+                    yield status == 401 || status == 503;
+                }
+                case PLACE -> {
+                    MenuItem item = data.menuItems().get(random.nextInt(data.menuItems().size()));
+                    int status = post("/order/place", "{\"userId\":\"" + user.getId() + "\",\"menuItemId\":\"" + item.getId()
+                            + "\",\"quantity\":" + (1 + random.nextInt(3)) + "}").statusCode();
+                    yield status == 201 || status == 202;
+                }
+                case POLL -> get("/order/user/" + user.getId() + "?limit=20").statusCode() == 200;
+                case ADMIN_LIST -> get(random.nextBoolean() ? "/order/all?limit=50" : "/order/pending?limit=50").statusCode() == 200;
+                case ADMIN_UPDATE -> adminUpdate();
+            };
+        }
+
+        /**
+         * Moves a random order one step along its lifecycle, as an admin working
+         * the queue would. A 409 only means another admin moved the same order
+         * first; that order's status is then unknown, so it leaves the pool.
+         */
+        private boolean adminUpdate() throws IOException, InterruptedException {
+            String orderId;
+            OrderStatus next;
+            do {
+                orderId = data.orderIds().get(random.nextInt(data.orderIds().size()));
+                next = nextStatus(data.orderStatuses().get(orderId));
+            } while (next == null);
+
+            int status = send(HttpRequest.newBuilder(uri("/order/" + orderId + "/status?status=" + next))
+                    .PUT(HttpRequest.BodyPublishers.noBody())).statusCode();
+            if (status == 200) {
+                data.orderStatuses().put(orderId, next.name());
+            } else if (status == 409) {
+                data.orderStatuses().remove(orderId);
+            }
+            return status == 200 || status == 409;
+        }
+
+        private HttpResponse<byte[]> get(String path) throws IOException, InterruptedException {
+            return send(HttpRequest.newBuilder(uri(path)).GET());
+        }
+
+        private HttpResponse<byte[]> post(String path, String json) throws IOException, InterruptedException {
+            return send(HttpRequest.newBuilder(uri(path))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(json)));
+        }
+
+        private HttpResponse<byte[]> send(HttpRequest.Builder request) throws IOException, InterruptedException {
+            return http.send(request.timeout(REQUEST_TIMEOUT).build(), HttpResponse.BodyHandlers.ofByteArray());
+        }
+
+        private URI uri(String path) {
+            return URI.create("http://localhost:" + port + path);
+        }
+    }
+
+    // The first transition the current status allows other than rejecting, or null for a final status
+    private static OrderStatus nextStatus(String current) {
+        for (OrderStatus candidate : OrderStatus.values()) {
+            if (candidate != OrderStatus.REJECTED && candidate.canFollow(current)) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    private static Properties loadSettings() {
+        Properties settings = new Properties();
+        try (InputStream in = QuickBiteLoadIT.class.getResourceAsStream("/loadtest.properties")) {
+            if (in != null) {
+                settings.load(in);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return settings;
+    }
+
+    private static String setting(String key) {
+        return System.getProperty(key, SETTINGS.getProperty(key, "")).trim();
+    }
+
+    private static int intSetting(String key) {
+        return Integer.parseInt(setting(key));
+    }
+}
@@ -0,0 +1,93 @@
+package com.quickbite.loadtest;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Samples heap, resident memory and platform thread count while a run is
+ * measured, so runs under different thread models can be compared per
+ * in-flight request. Clients are closed-loop without think time, so the
+ * number of requests in flight equals the number of clients.
+ * <p>
+ * The clients share the JVM with the application. Their own footprint is the
+ * same in every variant, so it cancels out of the comparison but not out of
+ * the absolute numbers.
+ */
+final class ResourceSampler implements AutoCloseable {
+
+    private static final Path PROC_STATUS = Path.of("/proc/self/status");
+
+    private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+    private final long idleHeapBytes;
+    private final long idleRssBytes;
+    private final int idleThreads;
+
+    private long samples;
+    private long heapBytesSum;
+    private long rssBytesSum;
+    private int peakThreads;
+
+    /**
+     * Takes the idle baseline now and starts sampling once {@code measureFrom}
+     * (a {@link System#nanoTime()} value) has passed.
+     */
+    ResourceSampler(long measureFrom) {
+        System.gc();
+        idleHeapBytes = memory.getHeapMemoryUsage().getUsed();
+        idleRssBytes = residentBytes();
+        idleThreads = threads.getThreadCount();
+        long delay = Math.max(0, measureFrom - System.nanoTime());
+        scheduler.scheduleAtFixedRate(this::sample, delay, TimeUnit.MILLISECONDS.toNanos(100), TimeUnit.NANOSECONDS);
+    }
+
+    private synchronized void sample() {
+        samples++;
+        heapBytesSum += memory.getHeapMemoryUsage().getUsed();
+        rssBytesSum += residentBytes();
+        peakThreads = Math.max(peakThreads, threads.getThreadCount());
+    }
+
+    /**
+     * Averages over the measured window, minus the idle baseline, per request
+     * in flight. Resident memory is only reported on Linux.
+     */
+    synchronized Summary summarise(int inFlight) {
+        if (samples == 0) {
+            return new Summary(inFlight, 0, 0, 0, 0);
+        }
+        double heapKb = (heapBytesSum / samples - idleHeapBytes) / 1024.0 / inFlight;
+        double rssKb = idleRssBytes == 0 ? 0 : (rssBytesSum / samples - idleRssBytes) / 1024.0 / inFlight;
+        return new Summary(inFlight, heapKb, rssKb, peakThreads, (double) (peakThreads - idleThreads) / inFlight);
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+
+    private static long residentBytes() {
+        try {
+            for (String line : Files.readAllLines(PROC_STATUS)) {
+                if (line.startsWith("VmRSS:")) {
+                    return Long.parseLong(line.replaceAll("\\D", "")) * 1024;
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            // Not Linux: heap and threads are still reported
+        }
+        return 0;
+    }
+
+    record Summary(int inFlight, double heapKbPerInFlight, double rssKbPerInFlight,
+                   int peakPlatformThreads, double platformThreadsPerInFlight) {
+    }
+}
@@ -0,0 +1,75 @@
+package com.quickbite.model;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.core.type.filter.AnnotationTypeFilter;
+import org.springframework.data.mongodb.core.mapping.DBRef;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.DocumentReference;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Loading an entity must cost the same no matter how much data refers to it.
+ * Every mapped reference is resolved on load, so a collection of references
+ * grows without bound; relationships like that belong in a paged repository query.
+ */
+class EntityReferenceGuardTest {
+
+    // Most referenced documents any single entity may pull in when it is loaded
+    private static final int MAX_REFERENCED_DOCUMENTS = 2;
+
+    @Test
+    void entities_ShouldLoadABoundedNumberOfReferencedDocuments() throws Exception {
+        // Given
+        List<Class<?>> entities = findEntities();
+        assertTrue(entities.contains(Order.class), "Scanner should find the mapped entities");
+
+        // When
+        List<String> violations = new ArrayList<>();
+        for (Class<?> entity : entities) {
+            int referenced = 0;
+            for (Field field : entity.getDeclaredFields()) {
+                if (!field.isAnnotationPresent(DBRef.class) && !field.isAnnotationPresent(DocumentReference.class)) {
+                    continue;
+                }
+                if (isMultiValued(field.getType())) {
+                    violations.add(entity.getSimpleName() + "." + field.getName() + " references an unbounded number of documents");
+                } else {
+                    referenced++;
+                }
+            }
+            if (referenced > MAX_REFERENCED_DOCUMENTS) {
+                violations.add(entity.getSimpleName() + " loads " + referenced + " referenced documents");
+            }
+        }
+
+        // Then
+        assertEquals(List.of(), violations);
+    }
+
+    private static boolean isMultiValued(Class<?> type) {
+        return type.isArray() || Collection.class.isAssignableFrom(type) || Map.class.isAssignableFrom(type);
+    }
+
+    private static List<Class<?>> findEntities() throws ClassNotFoundException {
+        ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false);
+        scanner.addIncludeFilter(new AnnotationTypeFilter(Document.class));
+
+        Set<BeanDefinition> candidates = scanner.findCandidateComponents("com.quickbite");
+        List<Class<?>> entities = new ArrayList<>();
+        for (BeanDefinition candidate : candidates) {
+            entities.add(ClassUtils.forName(candidate.getBeanClassName(), EntityReferenceGuardTest.class.getClassLoader()));
+        }
+        return entities;
+    }
+}
@@ -0,0 +1,113 @@
+package com.quickbite.repository;
+
+import com.mongodb.DBRef;
+import com.quickbite.model.Order;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LegacyOrderUpgraderTest {
+
+    @Mock
+    private ObjectProvider<MongoTemplate> mongoTemplateProvider;
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    private LegacyOrderUpgrader upgrader;
+
+    @BeforeEach
+    void setUp() {
+        upgrader = new LegacyOrderUpgrader(mongoTemplateProvider, Duration.ofMinutes(5));
+    }
+
+    @Test
+    void onAfterConvert_ShouldLeaveCurrentOrdersAlone() {
+        // Given
+        Order order = new Order();
+        order.setSchemaVersion(Order.SCHEMA_VERSION);
+        order.setUsername("testuser");
+
+        // When
+        Order result = upgrader.onAfterConvert(order, new Document(), "orders");
+
+        // Then
+        assertSame(order, result);
+        verifyNoInteractions(mongoTemplateProvider);
+    }
+
+    @Test
+    void onAfterConvert_ShouldFillSnapshotFromReferences_AndCacheLookups() {
+        // Given
+        ObjectId userId = new ObjectId();
+        ObjectId itemId = new ObjectId();
+        when(mongoTemplateProvider.getObject()).thenReturn(mongoTemplate);
+        when(mongoTemplate.findOne(any(Query.class), eq(Document.class), eq("users")))
+                .thenReturn(new Document("_id", userId).append("username", "testuser"));
+        when(mongoTemplate.findOne(any(Query.class), eq(Document.class), eq("menu_items")))
+                .thenReturn(new Document("_id", itemId).append("name", "Pizza").append("price", 199.0));
+
+        // When
+        Order first = upgrader.onAfterConvert(legacyOrder(userId, itemId), new Document(), "orders");
+        Order second = upgrader.onAfterConvert(legacyOrder(userId, itemId), new Document(), "orders");
+
+        // Then
+        assertEquals(userId.toHexString(), first.getUserId());
+        assertEquals("testuser", first.getUsername());
+        assertEquals(itemId.toHexString(), first.getMenuItemId());
+        assertEquals("Pizza", first.getItemName());
+        assertEquals(199.0, first.getUnitPrice());
+        assertFalse(first.isLegacy());
+        assertEquals("testuser", second.getUsername());
+        verify(mongoTemplate, times(1)).findOne(any(Query.class), eq(Document.class), eq("users"));
+        verify(mongoTemplate, times(1)).findOne(any(Query.class), eq(Document.class), eq("menu_items"));
+    }
+
+    @Test
+    void onAfterConvert_ShouldLookUpAgain_OnceCachedEntriesExpire() {
+        // Given
+        ObjectId userId = new ObjectId();
+        ObjectId itemId = new ObjectId();
+        LegacyOrderUpgrader expiringUpgrader = new LegacyOrderUpgrader(mongoTemplateProvider, Duration.ZERO);
+        when(mongoTemplateProvider.getObject()).thenReturn(mongoTemplate);
+        when(mongoTemplate.findOne(any(Query.class), eq(Document.class), eq("users")))
+                .thenReturn(new Document("_id", userId).append("username", "testuser"));
+        when(mongoTemplate.findOne(any(Query.class), eq(Document.class), eq("menu_items")))
+                .thenReturn(new Document("_id", itemId).append("name", "Pizza").append("price", 199.0))
+                .thenReturn(new Document("_id", itemId).append("name", "Pizza").append("price", 219.0));
+
+        // When
+        Order first = expiringUpgrader.onAfterConvert(legacyOrder(userId, itemId), new Document(), "orders");
+        Order second = expiringUpgrader.onAfterConvert(legacyOrder(userId, itemId), new Document(), "orders");
+
+        // Then
+        assertEquals(199.0, first.getUnitPrice());
+        assertEquals(219.0, second.getUnitPrice());
+        verify(mongoTemplate, times(2)).findOne(any(Query.class), eq(Document.class), eq("users"));
+    }
+
+    private static Order legacyOrder(ObjectId userId, ObjectId itemId) {
+        Order order = new Order();
+        order.setId(new ObjectId().toHexString());
+        order.setLegacyUser(new DBRef("users", userId));
+        order.setLegacyMenuItem(new DBRef("menu_items", itemId));
+        order.setQuantity(1);
+        order.setStatus("PENDING");
+        return order;
+    }
+}
@@ -0,0 +1,157 @@
+package com.quickbite.repository;
+
+import com.quickbite.dto.OrderPage;
+import com.quickbite.dto.OrderQuery;
+import com.quickbite.model.Order;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderRepositoryCustomImplTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    private OrderRepositoryCustomImpl orderRepository;
+
+    @BeforeEach
+    void setUp() {
+        orderRepository = new OrderRepositoryCustomImpl(mongoTemplate);
+    }
+
+    @Test
+    void findOrderPage_ShouldReturnNextCursor_WhenMoreRowsExist() {
+        // Given - the query asks for limit + 1 rows
+        stubFind(3);
+
+        // When
+        OrderPage page = orderRepository.findOrderPage(query(2));
+
+        // Then
+        assertEquals(2, page.getOrders().size());
+        assertEquals("1", page.getNextCursor());
+    }
+
+    @Test
+    void findOrderPage_ShouldFilterSortAndLimitInsideTheQuery() {
+        // Given
+        stubFind(0);
+        OrderQuery query = query(10);
+        query.setStatus("PENDING");
+        query.setCursor("65f1c0a2e4b0a1b2c3d4e5f6");
+
+        // When
+        OrderPage page = orderRepository.findOrderPage(query);
+
+        // Then
+        assertNull(page.getNextCursor());
+        verify(mongoTemplate).find(argThat((Query find) -> {
+            String filter = find.getQueryObject().toJson();
+            return filter.contains("PENDING")
+                    && filter.contains("$lt")
+                    && find.getLimit() == 11
+                    && find.getSortObject().getInteger("_id") == -1;
+        }), eq(Order.class));
+    }
+
+    @Test
+    void findOrderPage_ShouldMatchEmbeddedAndLegacyUserReferences() {
+        // Given
+        stubFind(0);
+        OrderQuery query = query(10);
+        query.setUserId("65f1c0a2e4b0a1b2c3d4e5f6");
+
+        // When
+        orderRepository.findOrderPage(query);
+
+        // Then
+        verify(mongoTemplate).find(argThat((Query find) -> {
+            String filter = find.getQueryObject().toJson();
+            return filter.contains("$or") && filter.contains("\"userId\"") && filter.contains("user.$id");
+        }), eq(Order.class));
+    }
+
+    @Test
+    void toCriteria_ShouldRoundFractionalUpperBoundUpToTheNextSecond() {
+        // Given
+        OrderQuery fractional = query(10);
+        fractional.setTo(Instant.parse("2024-03-13T12:00:00.900Z"));
+        OrderQuery whole = query(10);
+        whole.setTo(Instant.parse("2024-03-13T12:00:00Z"));
+
+        // When
+        ObjectId fractionalBound = upperBound(fractional);
+        ObjectId wholeBound = upperBound(whole);
+
+        // Then - orders created at 12:00:00.000-.899 carry the 12:00:00 timestamp
+        assertEquals(Instant.parse("2024-03-13T12:00:01Z"), fractionalBound.getDate().toInstant());
+        assertEquals(Instant.parse("2024-03-13T12:00:00Z"), wholeBound.getDate().toInstant());
+    }
+
+    @Test
+    void versionAggregation_ShouldMatchEmbeddedAndLegacyUserReferences() {
+        // When
+        String pipeline = OrderRepositoryCustomImpl.versionAggregation("65f1c0a2e4b0a1b2c3d4e5f6")
+                .toDocument("orders", Aggregation.DEFAULT_CONTEXT).toJson();
+
+        // Then
+        assertTrue(pipeline.contains("$or"));
+        assertTrue(pipeline.contains("\"userId\""));
+        assertTrue(pipeline.contains("user.$id"));
+    }
+
+    @Test
+    void toVersion_ShouldChange_WhenAnOrderIsAddedOrModified() {
+        // Given
+        String base = OrderRepositoryCustomImpl.toVersion(new Document("orders", 2).append("modified", 1_000L));
+
+        // When & Then
+        assertEquals("0", OrderRepositoryCustomImpl.toVersion(null));
+        assertNotEquals(base, OrderRepositoryCustomImpl.toVersion(new Document("orders", 3).append("modified", 1_000L)));
+        assertNotEquals(base, OrderRepositoryCustomImpl.toVersion(new Document("orders", 2).append("modified", 1_500L)));
+        assertEquals(base, OrderRepositoryCustomImpl.toVersion(new Document("orders", 2).append("modified", 1_000L)));
+    }
+
+    private static ObjectId upperBound(OrderQuery query) {
+        Document idRange = (Document) Query.query(OrderRepositoryCustomImpl.toCriteria(query)).getQueryObject().get("_id");
+        return (ObjectId) idRange.get("$lt");
+    }
+
+    private void stubFind(int rows) {
+        List<Order> orders = IntStream.range(0, rows)
+                .mapToObj(i -> {
+                    Order order = new Order();
+                    order.setId(String.valueOf(i));
+                    order.setItemName("Pizza");
+                    order.setUsername("user1");
+                    order.setStatus("PENDING");
+                    order.setQuantity(1);
+                    return order;
+                })
+                .toList();
+        when(mongoTemplate.find(any(Query.class), eq(Order.class))).thenReturn(orders);
+    }
+
+    private static OrderQuery query(int limit) {
+        OrderQuery query = new OrderQuery();
+        query.setLimit(limit);
+        return query;
+    }
+}
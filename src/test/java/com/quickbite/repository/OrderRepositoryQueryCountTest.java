@@ -0,0 +1,210 @@
+package com.quickbite.repository;
+
+import com.mongodb.ConnectionString;
+import com.mongodb.DBRef;
+import com.mongodb.MongoClientSettings;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.quickbite.config.MongoCommandMetrics;
+import com.quickbite.dto.OrderPage;
+import com.quickbite.dto.OrderQuery;
+import com.quickbite.dto.OrderStats;
+import com.quickbite.model.Order;
+import com.quickbite.model.OrderStatus;
+import com.quickbite.service.OrderService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Counts the commands the order read paths send to a real Mongo, through the
+ * same {@link MongoCommandMetrics} listener that records them per request in
+ * production. Skipped when Docker is not available.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class OrderRepositoryQueryCountTest {
+
+    @Container
+    private static final MongoDBContainer MONGO = new MongoDBContainer(DockerImageName.parse("mongo:7.0"));
+
+    private static final int LARGE_HISTORY = 20_000;
+
+    private static MongoClient client;
+    private static MongoCommandMetrics metrics;
+    private static MongoTemplate mongoTemplate;
+    private static OrderRepositoryCustomImpl orderRepository;
+
+    @BeforeAll
+    static void connect() {
+        metrics = new MongoCommandMetrics(new SimpleMeterRegistry(), Duration.ofSeconds(1));
+        client = MongoClients.create(MongoClientSettings.builder()
+                .applyConnectionString(new ConnectionString(MONGO.getReplicaSetUrl("quickbite-test")))
+                .addCommandListener(metrics)
+                .build());
+        mongoTemplate = new MongoTemplate(client, "quickbite-test");
+        orderRepository = new OrderRepositoryCustomImpl(mongoTemplate);
+    }
+
+    @AfterAll
+    static void disconnect() {
+        client.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate.dropCollection(Order.class);
+    }
+
+    @Test
+    void findOrderPage_ShouldIssueOneCommand_RegardlessOfOrderCount() {
+        for (int orderCount : new int[]{1, 200}) {
+            // Given
+            mongoTemplate.dropCollection(Order.class);
+            insertOrders(orderCount);
+            OrderQuery query = query(orderCount);
+            query.setUserId("user1");
+
+            // When
+            metrics.beginRequest();
+            OrderPage page = orderRepository.findOrderPage(query);
+            int commands = metrics.endRequest();
+
+            // Then
+            assertEquals(orderCount, page.getOrders().size());
+            assertEquals("student1", page.getOrders().get(0).getUsername());
+            assertEquals(1, commands, "commands for a page of " + orderCount);
+        }
+    }
+
+    @Test
+    void readPaths_ShouldIssueOneCommand_ForALargeOrderHistory() {
+        // Given - the 20k-order history the per-order DBRef fan-out turned into 40k extra queries
+        insertOrders(LARGE_HISTORY);
+        OrderQuery firstPage = query(OrderService.MAX_PAGE_SIZE);
+        firstPage.setUserId("user1");
+
+        // When
+        metrics.beginRequest();
+        OrderPage first = orderRepository.findOrderPage(firstPage);
+        int firstPageCommands = metrics.endRequest();
+
+        OrderQuery nextPage = query(OrderService.MAX_PAGE_SIZE);
+        nextPage.setUserId("user1");
+        nextPage.setCursor(first.getNextCursor());
+        metrics.beginRequest();
+        OrderPage second = orderRepository.findOrderPage(nextPage);
+        int nextPageCommands = metrics.endRequest();
+
+        metrics.beginRequest();
+        String version = orderRepository.userOrdersVersion("user1");
+        int versionCommands = metrics.endRequest();
+
+        // Then
+        assertEquals(OrderService.MAX_PAGE_SIZE, first.getOrders().size());
+        assertEquals(OrderService.MAX_PAGE_SIZE, second.getOrders().size());
+        assertNotNull(second.getNextCursor());
+        assertEquals("student1", second.getOrders().get(0).getUsername());
+        assertTrue(version.startsWith(LARGE_HISTORY + "-"), version);
+        assertEquals(1, firstPageCommands);
+        assertEquals(1, nextPageCommands);
+        assertEquals(1, versionCommands);
+    }
+
+    @Test
+    void aggregateStatusCounts_ShouldIssueOneCommand() {
+        // Given
+        insertOrders(500);
+
+        // When
+        metrics.beginRequest();
+        OrderStats stats = orderRepository.aggregateStatusCounts(new OrderQuery());
+        int commands = metrics.endRequest();
+
+        // Then
+        assertEquals(500, stats.getTotalOrders());
+        assertEquals(1, commands);
+    }
+
+    @Test
+    void userOrdersVersion_ShouldIssueOneCommand_AndChangeWithAnyOrder() {
+        // Given
+        List<Order> orders = insertOrders(50);
+
+        // When
+        metrics.beginRequest();
+        String before = orderRepository.userOrdersVersion("user1");
+        int commands = metrics.endRequest();
+        orderRepository.transitionStatus(orders.get(10).getId(), OrderStatus.APPROVED, Instant.now());
+
+        // Then
+        assertEquals(1, commands);
+        assertNotEquals(before, orderRepository.userOrdersVersion("user1"));
+        assertEquals("0", orderRepository.userOrdersVersion("nobody"));
+    }
+
+    @Test
+    void userOrdersVersion_ShouldCountLegacyOrders_NotYetMigrated() {
+        // Given
+        ObjectId userId = new ObjectId();
+        Order migrated = new Order();
+        migrated.setUserId(userId.toHexString());
+        migrated.setStatus("PENDING");
+        migrated.setSchemaVersion(Order.SCHEMA_VERSION);
+        migrated.setLastModified(Instant.now());
+        mongoTemplate.insert(migrated);
+        String before = orderRepository.userOrdersVersion(userId.toHexString());
+
+        // When
+        Order legacy = new Order();
+        legacy.setLegacyUser(new DBRef("users", userId));
+        legacy.setStatus("PENDING");
+        mongoTemplate.insert(legacy);
+
+        // Then
+        String after = orderRepository.userOrdersVersion(userId.toHexString());
+        assertTrue(before.startsWith("1-"));
+        assertTrue(after.startsWith("2-"), after);
+    }
+
+    private static List<Order> insertOrders(int count) {
+        Instant start = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        List<Order> orders = IntStream.range(0, count)
+                .mapToObj(i -> {
+                    Order order = new Order();
+                    order.setUserId("user1");
+                    order.setUsername("student1");
+                    order.setMenuItemId("item" + i % 5);
+                    order.setItemName("Pizza");
+                    order.setUnitPrice(199.0);
+                    order.setQuantity(1);
+                    order.setStatus("PENDING");
+                    order.setSchemaVersion(Order.SCHEMA_VERSION);
+                    order.setLastModified(start.plusMillis(i));
+                    return order;
+                })
+                .toList();
+        return List.copyOf(mongoTemplate.insertAll(orders));
+    }
+
+    private static OrderQuery query(int limit) {
+        OrderQuery query = new OrderQuery();
+        query.setLimit(limit);
+        return query;
+    }
+}
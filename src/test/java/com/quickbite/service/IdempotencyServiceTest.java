@@ -0,0 +1,167 @@
+package com.quickbite.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.quickbite.dto.OrderDTO;
+import com.quickbite.dto.OrderRequest;
+import com.quickbite.exception.IdempotencyKeyConflictException;
+import com.quickbite.exception.IdempotencyKeyInProgressException;
+import com.quickbite.model.IdempotencyRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.UpdateDefinition;
+import org.springframework.util.DigestUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyServiceTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    private IdempotencyService idempotencyService;
+    private OrderRequest request;
+    private OrderDTO order;
+
+    @BeforeEach
+    void setUp() {
+        idempotencyService = new IdempotencyService(mongoTemplate, objectMapper, Duration.ofHours(24),
+                Duration.ofMinutes(10), 100, Duration.ofSeconds(30));
+
+        request = new OrderRequest();
+        request.setUserId("user1");
+        request.setMenuItemId("item1");
+        request.setQuantity(2);
+
+        order = new OrderDTO();
+        order.setId("order1");
+        order.setStatus("PENDING");
+    }
+
+    @Test
+    void execute_ShouldClaimRunAndRecordResponse_OnFirstUse() {
+        // When
+        IdempotencyService.Outcome<OrderDTO> outcome =
+                idempotencyService.execute("place:user1", "key-1", request, OrderDTO.class, () -> order);
+
+        // Then
+        assertFalse(outcome.replayed());
+        assertSame(order, outcome.value());
+        ArgumentCaptor<IdempotencyRecord> claim = ArgumentCaptor.forClass(IdempotencyRecord.class);
+        verify(mongoTemplate).insert(claim.capture());
+        assertEquals("place:user1:key-1", claim.getValue().getId());
+        assertEquals(IdempotencyRecord.IN_PROGRESS, claim.getValue().getStatus());
+        verify(mongoTemplate).updateFirst(any(Query.class), any(UpdateDefinition.class), eq(IdempotencyRecord.class));
+    }
+
+    @Test
+    void execute_ShouldReplayFromMemory_WithoutWriting() {
+        // Given
+        AtomicInteger runs = new AtomicInteger();
+        idempotencyService.execute("place:user1", "key-1", request, OrderDTO.class, () -> {
+            runs.incrementAndGet();
+            return order;
+        });
+        clearInvocations(mongoTemplate);
+
+        // When
+        IdempotencyService.Outcome<OrderDTO> outcome =
+                idempotencyService.execute("place:user1", "key-1", request, OrderDTO.class, () -> {
+                    runs.incrementAndGet();
+                    return order;
+                });
+
+        // Then
+        assertTrue(outcome.replayed());
+        assertEquals("order1", outcome.value().getId());
+        assertEquals(1, runs.get());
+        verifyNoInteractions(mongoTemplate);
+    }
+
+    @Test
+    void execute_ShouldThrowConflict_WhenKeyIsReusedWithAnotherBody() {
+        // Given
+        idempotencyService.execute("place:user1", "key-1", request, OrderDTO.class, () -> order);
+        OrderRequest other = new OrderRequest();
+        other.setUserId("user1");
+        other.setMenuItemId("item2");
+        other.setQuantity(1);
+
+        // When & Then
+        assertThrows(IdempotencyKeyConflictException.class, () ->
+                idempotencyService.execute("place:user1", "key-1", other, OrderDTO.class, () -> order));
+    }
+
+    @Test
+    void execute_ShouldReplayStoredResponse_WhenAnotherNodeCompletedTheKey() throws Exception {
+        // Given
+        when(mongoTemplate.insert(any(IdempotencyRecord.class))).thenThrow(new DuplicateKeyException("dup"));
+        when(mongoTemplate.findById("place:user1:key-1", IdempotencyRecord.class)).thenReturn(
+                new IdempotencyRecord("place:user1:key-1", fingerprintOf(request), IdempotencyRecord.COMPLETED,
+                        objectMapper.writeValueAsString(order), Instant.now(), Instant.now().plusSeconds(60)));
+
+        // When
+        IdempotencyService.Outcome<OrderDTO> outcome = idempotencyService.execute("place:user1", "key-1", request,
+                OrderDTO.class, () -> fail("The request must not run twice"));
+
+        // Then
+        assertTrue(outcome.replayed());
+        assertEquals("order1", outcome.value().getId());
+        verify(mongoTemplate, never()).updateFirst(any(Query.class), any(UpdateDefinition.class), eq(IdempotencyRecord.class));
+    }
+
+    @Test
+    void execute_ShouldThrowInProgress_WhenAnotherNodeHoldsTheKey() {
+        // Given
+        when(mongoTemplate.insert(any(IdempotencyRecord.class))).thenThrow(new DuplicateKeyException("dup"));
+        when(mongoTemplate.findById("place:user1:key-1", IdempotencyRecord.class)).thenReturn(
+                new IdempotencyRecord("place:user1:key-1", fingerprintOf(request), IdempotencyRecord.IN_PROGRESS,
+                        null, Instant.now().plusSeconds(20), Instant.now().plusSeconds(60)));
+
+        // When & Then
+        IdempotencyKeyInProgressException e = assertThrows(IdempotencyKeyInProgressException.class, () ->
+                idempotencyService.execute("place:user1", "key-1", request, OrderDTO.class, () -> order));
+        assertTrue(e.getRetryAfterSeconds() >= 1);
+    }
+
+    @Test
+    void execute_ShouldReleaseKey_WhenRequestFails() {
+        // When
+        assertThrows(IllegalStateException.class, () ->
+                idempotencyService.execute("place:user1", "key-1", request, OrderDTO.class, () -> {
+                    throw new IllegalStateException("write failed");
+                }));
+
+        // Then - the key is free again, so a retry runs
+        verify(mongoTemplate).remove(any(Query.class), eq(IdempotencyRecord.class));
+        assertEquals(0, idempotencyService.getCachedKeyCount());
+        IdempotencyService.Outcome<OrderDTO> retry =
+                idempotencyService.execute("place:user1", "key-1", request, OrderDTO.class, () -> order);
+        assertFalse(retry.replayed());
+    }
+
+    private String fingerprintOf(Object value) {
+        try {
+            return DigestUtils.md5DigestAsHex(objectMapper.writeValueAsBytes(value));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.quickbite.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.quickbite.dto.MenuBulkResult;
+import com.quickbite.dto.MenuItemOperation;
+import com.quickbite.event.MenuChangedEvent;
+import com.quickbite.model.MenuItem;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.UpdateDefinition;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MenuBulkServiceTest {
+
+    private static final Validator VALIDATOR = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private BulkOperations bulkOperations;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private MenuBulkService menuBulkService;
+
+    @BeforeEach
+    void setUp() {
+        menuBulkService = new MenuBulkService(mongoTemplate, VALIDATOR, new ObjectMapper(), eventPublisher, 2, 100);
+    }
+
+    @Test
+    void apply_ShouldWriteOneBulkPerChunk_AndPublishOneEvent() {
+        // Given - chunk size 2, so three operations take two chunks
+        MenuItem existing = new MenuItem("65f1c0a2e4b0a1b2c3d4e5f6", "Old Pizza", null, 99.0, null);
+        when(mongoTemplate.find(any(Query.class), eq(MenuItem.class)))
+                .thenReturn(List.of(existing))
+                .thenReturn(List.of());
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, MenuItem.class)).thenReturn(bulkOperations);
+        List<MenuItemOperation> operations = new ArrayList<>(List.of(
+                new MenuItemOperation("UPSERT", existing.getId(), "New Pizza", "Thin crust", 129.0),
+                new MenuItemOperation("upsert", null, "Paneer Wrap", null, 149.0),
+                new MenuItemOperation("delete", "missing", null, null, null)));
+
+        // When
+        MenuBulkResult result = menuBulkService.apply(operations);
+
+        // Then
+        assertTrue(result.isApplied());
+        assertEquals(2, result.getSucceeded());
+        assertEquals(1, result.getFailed());
+        assertEquals(MenuBulkService.UPDATED, result.getItems().get(0).getStatus());
+        assertEquals(MenuBulkService.CREATED, result.getItems().get(1).getStatus());
+        assertNotNull(result.getItems().get(1).getId());
+        assertEquals(MenuBulkService.NOT_FOUND, result.getItems().get(2).getStatus());
+
+        // The second chunk only holds a missing delete, so nothing is written for it
+        verify(bulkOperations, times(2)).upsert(any(Query.class), any(UpdateDefinition.class));
+        verify(bulkOperations, times(1)).execute();
+
+        ArgumentCaptor<MenuChangedEvent> event = ArgumentCaptor.forClass(MenuChangedEvent.class);
+        verify(eventPublisher, times(1)).publishEvent(event.capture());
+        assertEquals(2, event.getValue().getItemIds().size());
+    }
+
+    @Test
+    void apply_ShouldWriteNothing_WhenAnyOperationIsInvalid() {
+        // Given
+        List<MenuItemOperation> operations = new ArrayList<>(List.of(
+                new MenuItemOperation("upsert", null, "Paneer Wrap", null, 149.0),
+                new MenuItemOperation("upsert", null, "X", null, 0.0),
+                new MenuItemOperation("rename", "1", null, null, null),
+                new MenuItemOperation("delete", null, null, null, null)));
+
+        // When
+        MenuBulkResult result = menuBulkService.apply(operations);
+
+        // Then
+        assertFalse(result.isApplied());
+        assertEquals(0, result.getSucceeded());
+        assertEquals(3, result.getFailed());
+        assertEquals(MenuBulkService.SKIPPED, result.getItems().get(0).getStatus());
+        assertEquals(MenuBulkService.INVALID, result.getItems().get(1).getStatus());
+        assertEquals(MenuBulkService.INVALID, result.getItems().get(2).getStatus());
+        assertEquals(MenuBulkService.INVALID, result.getItems().get(3).getStatus());
+        verifyNoInteractions(mongoTemplate, eventPublisher);
+    }
+
+    @Test
+    void readNdjson_ShouldParseOneOperationPerLine_AndRejectMalformedLines() throws Exception {
+        // Given
+        String body = "{\"op\":\"upsert\",\"name\":\"Paneer Wrap\",\"price\":149}\n{\"op\":\"delete\",\"id\":\"1\"}\n";
+
+        // When
+        List<MenuItemOperation> operations = menuBulkService.readNdjson(
+                new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+
+        // Then
+        assertEquals(2, operations.size());
+        assertEquals("delete", operations.get(1).getOp());
+        assertThrows(IllegalArgumentException.class, () -> menuBulkService.readNdjson(
+                new ByteArrayInputStream("{\"op\":\"upsert\"}\n{oops\n".getBytes(StandardCharsets.UTF_8))));
+    }
+}
@@ -0,0 +1,87 @@
+package com.quickbite.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.quickbite.dto.MenuItemDTO;
+import com.quickbite.event.MenuChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MenuCacheTest {
+
+    private MenuCache menuCache;
+    private AtomicInteger loads;
+    private Supplier<List<MenuItemDTO>> loader;
+
+    @BeforeEach
+    void setUp() {
+        menuCache = new MenuCache(new ObjectMapper());
+        loads = new AtomicInteger();
+        loader = () -> {
+            loads.incrementAndGet();
+            return List.of(new MenuItemDTO("1", "Pizza", "Cheesy", 199.0));
+        };
+    }
+
+    @Test
+    void get_ShouldLoadOnce_AndServeHitsAfterwards() {
+        // When
+        MenuSnapshot first = menuCache.get(loader);
+        MenuSnapshot second = menuCache.get(loader);
+
+        // Then
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+        assertEquals(1, menuCache.getHitCount());
+        assertEquals(1, menuCache.getMissCount());
+        assertEquals(0.5, menuCache.getHitRatio());
+        assertEquals(1, menuCache.getRebuildCount());
+    }
+
+    @Test
+    void get_ShouldPreSerialiseItems() throws Exception {
+        // When
+        MenuSnapshot snapshot = menuCache.get(loader);
+
+        // Then
+        MenuItemDTO[] items = new ObjectMapper().readValue(snapshot.getJson(), MenuItemDTO[].class);
+        assertEquals("Pizza", items[0].getName());
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.getItems().clear());
+    }
+
+    @Test
+    void onMenuChanged_ShouldForceRebuild() {
+        // Given
+        MenuSnapshot before = menuCache.get(loader);
+
+        // When
+        menuCache.onMenuChanged(new MenuChangedEvent(List.of("1")));
+        MenuSnapshot after = menuCache.get(loader);
+
+        // Then
+        assertNotSame(before, after);
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void get_ShouldNotKeepSnapshot_WhenInvalidatedDuringRebuild() {
+        // Given - a write lands while the snapshot is being built
+        Supplier<List<MenuItemDTO>> racingLoader = () -> {
+            loads.incrementAndGet();
+            menuCache.invalidate();
+            return List.of();
+        };
+
+        // When
+        menuCache.get(racingLoader);
+        menuCache.get(loader);
+
+        // Then
+        assertEquals(2, loads.get());
+    }
+}
@@ -1,6 +1,8 @@
 package com.quickbite.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.quickbite.dto.MenuItemDTO;
+import com.quickbite.event.MenuChangedEvent;
 import com.quickbite.exception.MenuItemNotFoundException;
 import com.quickbite.model.MenuItem;
 import com.quickbite.repository.MenuRepository;
@@ -9,7 +11,9 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.List;
 import java.util.Optional;
@@ -24,6 +28,12 @@ class MenuServiceTest {
     @Mock
     private MenuRepository menuRepository;
 
+    @Spy
+    private MenuCache menuCache = new MenuCache(new ObjectMapper());
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private MenuService menuService;
 
@@ -53,6 +63,34 @@ class MenuServiceTest {
         assertEquals(199.0, result.get(0).getPrice());
     }
 
+    @Test
+    void getMenuSnapshot_ShouldServeCachedSnapshot_OnRepeatedCalls() {
+        // Given
+        when(menuRepository.findAll()).thenReturn(List.of(testMenuItem));
+
+        // When
+        MenuSnapshot first = menuService.getMenuSnapshot();
+        MenuSnapshot second = menuService.getMenuSnapshot();
+
+        // Then
+        assertSame(first, second);
+        assertTrue(new String(first.getJson()).contains("Test Pizza"));
+        verify(menuRepository, times(1)).findAll();
+    }
+
+    @Test
+    void getMenuSnapshot_ShouldPriceAtZero_WhenItemHasNoPrice() {
+        // Given - the snapshot feeds async order intake, one bad item must not break it
+        testMenuItem.setPrice(null);
+        when(menuRepository.findAll()).thenReturn(List.of(testMenuItem));
+
+        // When
+        MenuSnapshot snapshot = menuService.getMenuSnapshot();
+
+        // Then
+        assertEquals(0.0, snapshot.getItemsById().get("1").getPrice());
+    }
+
     @Test
     void addMenuItem_ShouldAddAndReturnMenuItem() {
         // Given
@@ -69,6 +107,7 @@ class MenuServiceTest {
         // Then
         assertNotNull(result);
         verify(menuRepository).save(newItem);
+        verify(eventPublisher).publishEvent(any(MenuChangedEvent.class));
     }
 
     @Test
@@ -90,6 +129,7 @@ class MenuServiceTest {
         assertEquals("Updated description", testMenuItem.getDescription());
         assertEquals(299.0, testMenuItem.getPrice());
         verify(menuRepository).save(testMenuItem);
+        verify(eventPublisher).publishEvent(any(MenuChangedEvent.class));
     }
 
     @Test
@@ -113,6 +153,7 @@ class MenuServiceTest {
 
         // Then
         verify(menuRepository).deleteById("1");
+        verify(eventPublisher).publishEvent(any(MenuChangedEvent.class));
     }
 
     @Test
@@ -123,6 +164,7 @@ class MenuServiceTest {
         // When & Then
         assertThrows(MenuItemNotFoundException.class,
                 () -> menuService.deleteMenuItem("999"));
+        verifyNoInteractions(eventPublisher);
     }
 
     @Test
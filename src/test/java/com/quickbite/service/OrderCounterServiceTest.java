@@ -0,0 +1,177 @@
+package com.quickbite.service;
+
+import com.quickbite.dto.ItemSales;
+import com.quickbite.dto.OrderDTO;
+import com.quickbite.dto.OrderStats;
+import com.quickbite.event.OrderChangedEvent;
+import com.quickbite.model.OrderCounter;
+import com.quickbite.repository.OrderRepository;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.UpdateDefinition;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderCounterServiceTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private BulkOperations bulkOperations;
+
+    private OrderCounterService orderCounterService;
+
+    @BeforeEach
+    void setUp() {
+        orderCounterService = new OrderCounterService(mongoTemplate, orderRepository, true,
+                Duration.ofMinutes(1), Duration.ofHours(1), 30);
+    }
+
+    @Test
+    void recordAll_ShouldIncrementEachChangedCounterOnce_InOneBulk() {
+        // Given
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, OrderCounter.class)).thenReturn(bulkOperations);
+        List<OrderChangedEvent> placed = List.of(
+                new OrderChangedEvent("user1", order("PENDING"), null),
+                new OrderChangedEvent("user1", order("PENDING"), null),
+                new OrderChangedEvent("user1", order("PENDING"), null));
+
+        // When
+        orderCounterService.recordAll(placed);
+
+        // Then - one status counter and one item counter, written before returning
+        verify(bulkOperations, times(2)).upsert(any(Query.class), any(UpdateDefinition.class));
+        verify(bulkOperations, times(1)).execute();
+    }
+
+    @Test
+    void record_ShouldMoveAStatusChangeBetweenCounters_AndRemoveRejectedSales() {
+        // Given
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, OrderCounter.class)).thenReturn(bulkOperations);
+
+        // When
+        orderCounterService.record(new OrderChangedEvent("user1", order("REJECTED"), "PENDING"));
+
+        // Then - PENDING down, REJECTED up, and the item's sale taken back
+        ArgumentCaptor<Query> counters = ArgumentCaptor.forClass(Query.class);
+        verify(bulkOperations, times(3)).upsert(counters.capture(), any(UpdateDefinition.class));
+        assertEquals(List.of(OrderCounter.statusId("PENDING"), OrderCounter.statusId("REJECTED")),
+                counters.getAllValues().subList(0, 2).stream()
+                        .map(query -> query.getQueryObject().getString("_id"))
+                        .toList());
+    }
+
+    @Test
+    void recordAll_ShouldNotThrow_WhenWriteFails() {
+        // Given
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, OrderCounter.class)).thenReturn(bulkOperations);
+        when(bulkOperations.execute()).thenThrow(new IllegalStateException("network"));
+
+        // When
+        assertDoesNotThrow(() -> orderCounterService.record(new OrderChangedEvent("user1", order("PENDING"), null)));
+
+        // Then
+        assertEquals(1, orderCounterService.getFailedWrites());
+    }
+
+    @Test
+    void getStatusStats_ShouldServeFromCache_UntilThisNodeWrites() {
+        // Given
+        when(mongoTemplate.find(any(Query.class), eq(OrderCounter.class)))
+                .thenReturn(List.of(statusCounter("PENDING", 2), statusCounter("REJECTED", 1)))
+                .thenReturn(List.of(statusCounter("PENDING", 3), statusCounter("REJECTED", 1)));
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, OrderCounter.class)).thenReturn(bulkOperations);
+
+        // When
+        OrderStats first = orderCounterService.getStatusStats();
+        OrderStats cached = orderCounterService.getStatusStats();
+        orderCounterService.record(new OrderChangedEvent("user1", order("PENDING"), null));
+        OrderStats afterWrite = orderCounterService.getStatusStats();
+
+        // Then
+        assertEquals(3, first.getTotalOrders());
+        assertEquals(20.0, first.getRevenue(), 0.001);
+        assertEquals(first.getTotalOrders(), cached.getTotalOrders());
+        assertEquals(4, afterWrite.getTotalOrders());
+        assertEquals(3L, afterWrite.getOrdersByStatus().get("PENDING"));
+        verify(mongoTemplate, times(2)).find(any(Query.class), eq(OrderCounter.class));
+    }
+
+    @Test
+    void getTopItemsToday_ShouldRankTodaysItemsByRevenue() {
+        // Given
+        String today = LocalDate.now(ZoneOffset.UTC).toString();
+        when(mongoTemplate.find(any(Query.class), eq(OrderCounter.class))).thenReturn(List.of(
+                statusCounter("PENDING", 3),
+                new OrderCounter(OrderCounter.itemId(today, "item1"), OrderCounter.ITEM, "item1", today, "Pizza",
+                        1, 2, 10.0),
+                new OrderCounter(OrderCounter.itemId(today, "item2"), OrderCounter.ITEM, "item2", today, "Fries",
+                        2, 2, 40.0)));
+
+        // When
+        List<ItemSales> topItems = orderCounterService.getTopItemsToday(5);
+
+        // Then
+        assertEquals(List.of("item2", "item1"), topItems.stream().map(ItemSales::getMenuItemId).toList());
+    }
+
+    @Test
+    void reconcile_ShouldReportDriftAndIncrementTheDifference() {
+        // Given
+        when(orderRepository.rebuildCounters(any(Instant.class))).thenReturn(List.of(
+                statusCounter("PENDING", 3),
+                statusCounter("COMPLETED", 1)));
+        when(mongoTemplate.find(any(Query.class), eq(OrderCounter.class))).thenReturn(List.of(
+                statusCounter("PENDING", 2),
+                statusCounter("COMPLETED", 1),
+                statusCounter("APPROVED", 1)));
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, OrderCounter.class)).thenReturn(bulkOperations);
+
+        // When
+        OrderCounterService.Reconciliation result = orderCounterService.reconcile();
+
+        // Then - PENDING is raised by one and APPROVED emptied, without overwriting either
+        assertEquals(2, result.counters());
+        assertEquals(2, result.drifted());
+        assertEquals(2, result.drift());
+        assertEquals(2, orderCounterService.getLastDrift());
+        verify(bulkOperations, times(2)).upsert(any(Query.class), any(UpdateDefinition.class));
+        verify(bulkOperations, never()).replaceOne(any(Query.class), any(), any(FindAndReplaceOptions.class));
+        verify(bulkOperations).execute();
+    }
+
+    private static OrderDTO order(String status) {
+        OrderDTO order = new OrderDTO(new ObjectId().toHexString(), "Pizza", status, "user1", 2);
+        order.setMenuItemId("item1");
+        order.setUnitPrice(5.0);
+        return order;
+    }
+
+    private static OrderCounter statusCounter(String status, long orders) {
+        return new OrderCounter(OrderCounter.statusId(status), OrderCounter.STATUS, status, null, null,
+                orders, orders, orders * 10.0);
+    }
+}
@@ -0,0 +1,77 @@
+package com.quickbite.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.quickbite.dto.OrderDTO;
+import com.quickbite.dto.OrderQuery;
+import com.quickbite.repository.OrderRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderExportServiceTest {
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    private OrderExportService orderExportService;
+
+    @BeforeEach
+    void setUp() {
+        orderExportService = new OrderExportService(orderRepository, new ObjectMapper());
+    }
+
+    @Test
+    void export_ShouldWriteOneJsonDocumentPerLine_ForNdjson() throws Exception {
+        // Given
+        AtomicBoolean closed = new AtomicBoolean();
+        when(orderRepository.streamOrderViews(any(OrderQuery.class))).thenReturn(Stream.of(
+                new OrderDTO("1", "Pizza", "PENDING", "user1", 2),
+                new OrderDTO("2", "Burger", "APPROVED", "user2", 1)
+        ).onClose(() -> closed.set(true)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        orderExportService.export(new OrderQuery(), OrderExportService.Format.NDJSON, out);
+
+        // Then
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].contains("\"itemName\":\"Pizza\""));
+        assertTrue(lines[1].contains("\"username\":\"user2\""));
+        assertTrue(closed.get(), "the Mongo cursor must be released");
+    }
+
+    @Test
+    void export_ShouldWriteJsonArray_ForJson() throws Exception {
+        // Given
+        when(orderRepository.streamOrderViews(any(OrderQuery.class))).thenReturn(Stream.of(
+                new OrderDTO("1", "Pizza", "PENDING", "user1", 2)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        orderExportService.export(new OrderQuery(), OrderExportService.Format.JSON, out);
+
+        // Then
+        OrderDTO[] orders = new ObjectMapper().readValue(out.toByteArray(), OrderDTO[].class);
+        assertEquals(1, orders.length);
+        assertEquals("Pizza", orders[0].getItemName());
+    }
+
+    @Test
+    void formatFrom_ShouldRejectUnknownFormats() {
+        assertEquals(OrderExportService.Format.NDJSON, OrderExportService.Format.from("NDJSON"));
+        assertThrows(IllegalArgumentException.class, () -> OrderExportService.Format.from("csv"));
+    }
+}
@@ -0,0 +1,191 @@
+package com.quickbite.service;
+
+import com.mongodb.MongoCommandException;
+import com.mongodb.ServerAddress;
+import com.mongodb.bulk.BulkWriteError;
+import com.quickbite.dto.MenuItemDTO;
+import com.quickbite.dto.OrderDTO;
+import com.quickbite.dto.OrderRequest;
+import com.quickbite.event.OrderChangedEvent;
+import com.quickbite.exception.OrderIntakeFullException;
+import com.quickbite.model.Order;
+import com.quickbite.model.User;
+import org.bson.BsonDocument;
+import org.bson.BsonInt32;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.UncategorizedMongoDbException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderIntakeServiceTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private BulkOperations bulkOperations;
+
+    @Mock
+    private UserService userService;
+
+    @Mock
+    private MenuService menuService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private OrderCounterService orderCounterService;
+
+    private OrderRequest request;
+
+    @BeforeEach
+    void setUp() {
+        User user = new User();
+        user.setId("user1");
+        user.setUsername("testuser");
+        when(userService.findById("user1")).thenReturn(user);
+        when(menuService.findCachedItem("item1")).thenReturn(new MenuItemDTO("item1", "Pizza", "Cheesy", 199.0));
+
+        request = new OrderRequest();
+        request.setUserId("user1");
+        request.setMenuItemId("item1");
+        request.setQuantity(2);
+    }
+
+    @Test
+    void submit_ShouldBufferOrder_AndWriterShouldInsertBatch() throws Exception {
+        // Given
+        OrderIntakeService intake = intake(16);
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Order.class)).thenReturn(bulkOperations);
+        when(bulkOperations.insert(anyList())).thenReturn(bulkOperations);
+
+        // When
+        OrderDTO first = intake.submit(request);
+        OrderDTO second = intake.submit(request);
+        int written = intake.drainBatch(0);
+
+        // Then
+        assertTrue(ObjectId.isValid(first.getId()));
+        assertNotEquals(first.getId(), second.getId());
+        assertEquals("PENDING", first.getStatus());
+        assertEquals("testuser", first.getUsername());
+        assertEquals(199.0, first.getUnitPrice());
+        assertEquals(2, written);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Order>> batch = ArgumentCaptor.forClass(List.class);
+        verify(bulkOperations).insert(batch.capture());
+        assertEquals(List.of(first.getId(), second.getId()), batch.getValue().stream().map(Order::getId).toList());
+        verify(bulkOperations).execute();
+        verify(orderCounterService, times(1)).recordAll(argThat(changes -> changes.size() == 2));
+        verify(eventPublisher, times(2)).publishEvent(any(OrderChangedEvent.class));
+        // The user lookup is cached between submissions
+        verify(userService, times(1)).findById("user1");
+    }
+
+    @Test
+    void submit_ShouldRejectWithServiceUnavailable_WhenBufferIsFull() {
+        // Given
+        OrderIntakeService intake = intake(1);
+        intake.submit(request);
+
+        // When & Then
+        assertThrows(OrderIntakeFullException.class, () -> intake.submit(request));
+        assertEquals(1, intake.getBufferedCount());
+    }
+
+    @Test
+    void drainBatch_ShouldRetryUntilWritten_WhenInsertFails() throws Exception {
+        // Given - the first bulk insert fails, the retry succeeds
+        OrderIntakeService intake = intake(16);
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Order.class)).thenReturn(bulkOperations);
+        when(bulkOperations.insert(anyList())).thenReturn(bulkOperations);
+        when(bulkOperations.execute())
+                .thenThrow(new DataAccessResourceFailureException("Mongo unavailable"))
+                .thenReturn(null);
+        intake.submit(request);
+
+        // When
+        int written = intake.drainBatch(0);
+
+        // Then
+        assertEquals(1, written);
+        verify(bulkOperations, times(2)).execute();
+        verify(eventPublisher, times(1)).publishEvent(any(OrderChangedEvent.class));
+        assertDoesNotThrow(() -> intake.submit(request));
+    }
+
+    @Test
+    void drainBatch_ShouldDeadLetterARejectedOrder_AndWriteTheRest() throws Exception {
+        // Given - Mongo refuses the first order of every bulk for its content
+        OrderIntakeService intake = intake(16);
+        BulkOperationException rejected = mock(BulkOperationException.class);
+        when(rejected.getErrors()).thenReturn(List.of(
+                new BulkWriteError(121, "Document failed validation", new BsonDocument(), 0)));
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Order.class)).thenReturn(bulkOperations);
+        when(bulkOperations.insert(anyList())).thenReturn(bulkOperations);
+        when(bulkOperations.execute()).thenThrow(rejected);
+        OrderDTO bad = intake.submit(request);
+        intake.submit(request);
+
+        // When
+        int written = intake.drainBatch(0);
+
+        // Then - the second order went through, the first was tried three times
+        assertEquals(2, written);
+        verify(bulkOperations, times(3)).execute();
+        verify(orderCounterService).recordAll(argThat(changes -> changes.size() == 1));
+        verify(mongoTemplate).insert(argThat((Document letter) -> bad.getId().equals(letter.getString("orderId"))),
+                eq(OrderIntakeService.DEAD_LETTER_COLLECTION));
+        assertEquals(1, intake.getDeadLetteredCount());
+        assertDoesNotThrow(() -> intake.submit(request));
+    }
+
+    @Test
+    void isTransient_ShouldTellConnectionFailuresFromRejectedDocuments() {
+        assertTrue(OrderIntakeService.isTransient(new DataAccessResourceFailureException("Mongo unavailable")));
+        assertTrue(OrderIntakeService.isTransient(new UncategorizedMongoDbException("stepped down",
+                new MongoCommandException(new BsonDocument("code", new BsonInt32(189)), new ServerAddress()))));
+        assertFalse(OrderIntakeService.isTransient(new UncategorizedMongoDbException("too large",
+                new MongoCommandException(new BsonDocument("code", new BsonInt32(10334)), new ServerAddress()))));
+        assertFalse(OrderIntakeService.isTransient(new IllegalArgumentException("not mappable")));
+    }
+
+    @Test
+    void submit_ShouldAnswerWithFinalId_WhenFlushOnAckTimesOut() {
+        // Given - no writer is running, so the batch is never acknowledged
+        OrderIntakeService intake = new OrderIntakeService(mongoTemplate, userService, menuService, eventPublisher,
+                orderCounterService, "async", "flush-on-ack", 16, 256, Duration.ofMillis(10));
+
+        // When
+        OrderDTO order = intake.submit(request);
+
+        // Then - still buffered, so a retry with this id would not duplicate it
+        assertTrue(ObjectId.isValid(order.getId()));
+        assertEquals(1, intake.getBufferedCount());
+    }
+
+    private OrderIntakeService intake(int capacity) {
+        return new OrderIntakeService(mongoTemplate, userService, menuService, eventPublisher,
+                orderCounterService, "async", "batched", capacity, 256, Duration.ofSeconds(5));
+    }
+}
@@ -1,10 +1,19 @@
 package com.quickbite.service;
 
+import com.quickbite.dto.CartItem;
+import com.quickbite.dto.CheckoutRequest;
+import com.quickbite.dto.CheckoutResult;
 import com.quickbite.dto.OrderDTO;
+import com.quickbite.dto.OrderPage;
+import com.quickbite.dto.OrderQuery;
 import com.quickbite.dto.OrderRequest;
+import com.quickbite.event.OrderChangedEvent;
+import com.quickbite.exception.IllegalStatusTransitionException;
+import com.quickbite.exception.MenuItemNotFoundException;
 import com.quickbite.exception.OrderNotFoundException;
 import com.quickbite.model.MenuItem;
 import com.quickbite.model.Order;
+import com.quickbite.model.OrderStatus;
 import com.quickbite.model.User;
 import com.quickbite.repository.OrderRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -13,12 +22,16 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -33,6 +46,12 @@ class OrderServiceTest {
     @Mock
     private MenuService menuService;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private OrderCounterService orderCounterService;
+
     @InjectMocks
     private OrderService orderService;
 
@@ -53,13 +72,58 @@ class OrderServiceTest {
 
         testOrder = new Order();
         testOrder.setId("1");
-        testOrder.setUser(testUser);
-        testOrder.setMenuItem(testMenuItem);
-        testOrder.setItemName("Test Pizza");
+        testOrder.snapshot(testUser, testMenuItem);
         testOrder.setQuantity(2);
         testOrder.setStatus("PENDING");
     }
 
+    @Test
+    void checkout_ShouldPlaceOneOrderPerItem_WithOneLookupAndOneInsert() {
+        // Given - the pizza appears twice and is merged into one order
+        MenuItem fries = new MenuItem();
+        fries.setId("2");
+        fries.setName("Fries");
+        fries.setPrice(99.0);
+        CheckoutRequest request = new CheckoutRequest();
+        request.setUserId("1");
+        request.setItems(List.of(new CartItem("1", 1), new CartItem("2", 2), new CartItem("1", 1)));
+
+        when(userService.findById("1")).thenReturn(testUser);
+        when(menuService.findAllById(anyCollection())).thenReturn(List.of(testMenuItem, fries));
+        when(orderRepository.insert(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        CheckoutResult result = orderService.checkout(request);
+
+        // Then
+        assertEquals(2, result.getOrders().size());
+        assertEquals(4, result.getTotalQuantity());
+        assertEquals(2 * 199.0 + 2 * 99.0, result.getTotal(), 0.001);
+        assertNotNull(result.getCheckoutId());
+        verify(menuService, times(1)).findAllById(argThat(ids -> ids.size() == 2));
+        verify(orderRepository, times(1)).insert(argThat((List<Order> orders) -> orders.size() == 2
+                && orders.stream().allMatch(order -> result.getCheckoutId().equals(order.getCheckoutId()))));
+        verify(orderRepository, never()).save(any(Order.class));
+        verify(orderCounterService, times(1)).recordAll(argThat(changes -> changes.size() == 2));
+        verify(eventPublisher, times(2)).publishEvent(any(OrderChangedEvent.class));
+    }
+
+    @Test
+    void checkout_ShouldPlaceNothing_WhenAnItemIsMissing() {
+        // Given
+        CheckoutRequest request = new CheckoutRequest();
+        request.setUserId("1");
+        request.setItems(List.of(new CartItem("1", 1), new CartItem("999", 1)));
+
+        when(userService.findById("1")).thenReturn(testUser);
+        when(menuService.findAllById(anyCollection())).thenReturn(List.of(testMenuItem));
+
+        // When & Then
+        assertThrows(MenuItemNotFoundException.class, () -> orderService.checkout(request));
+        verify(orderRepository, never()).insert(anyList());
+        verifyNoInteractions(eventPublisher);
+    }
+
     @Test
     void placeOrder_ShouldCreateAndReturnOrder() {
         // Given
@@ -79,70 +143,112 @@ class OrderServiceTest {
         assertNotNull(result);
         assertEquals("Test Pizza", result.getItemName());
         assertEquals("PENDING", result.getStatus());
-        verify(orderRepository).save(any(Order.class));
+        assertEquals(199.0, result.getUnitPrice());
+        verify(orderRepository).save(argThat((Order order) ->
+                "1".equals(order.getUserId())
+                        && "testuser".equals(order.getUsername())
+                        && order.getUnitPrice() == 199.0
+                        && order.getSchemaVersion() == Order.SCHEMA_VERSION
+                        && order.getLegacyUser() == null));
+        verify(orderCounterService).record(argThat(event -> event.getPreviousStatus() == null));
+        verify(eventPublisher).publishEvent(argThat((OrderChangedEvent event) ->
+                "1".equals(event.getUserId()) && event.getPreviousStatus() == null));
     }
 
     @Test
     void getOrdersByUserId_ShouldReturnUserOrders() {
         // Given
-        List<Order> orders = List.of(testOrder);
+        OrderPage page = new OrderPage(List.of(new OrderDTO(testOrder)), null);
         when(userService.findById("1")).thenReturn(testUser);
-        when(orderRepository.findByUserId("1")).thenReturn(orders);
+        when(orderRepository.findOrderPage(any(OrderQuery.class))).thenReturn(page);
 
         // When
-        List<OrderDTO> result = orderService.getOrdersByUserId("1");
+        List<OrderDTO> result = orderService.getOrdersByUserId("1", pageQuery(20)).getOrders();
 
         // Then
         assertEquals(1, result.size());
         assertEquals("Test Pizza", result.get(0).getItemName());
+        verify(orderRepository).findOrderPage(argThat(query -> "1".equals(query.getUserId())));
     }
 
     @Test
     void getAllOrders_ShouldReturnAllOrders() {
         // Given
-        List<Order> orders = List.of(testOrder);
-        when(orderRepository.findAll()).thenReturn(orders);
+        OrderPage page = new OrderPage(List.of(new OrderDTO(testOrder)), null);
+        when(orderRepository.findOrderPage(any(OrderQuery.class))).thenReturn(page);
 
         // When
-        List<OrderDTO> result = orderService.getAllOrders();
+        List<OrderDTO> result = orderService.getAllOrders(pageQuery(20)).getOrders();
 
         // Then
         assertEquals(1, result.size());
         assertEquals("Test Pizza", result.get(0).getItemName());
+        assertEquals("testuser", result.get(0).getUsername());
+        verify(orderRepository, never()).findAll();
     }
 
     @Test
     void getPendingOrders_ShouldReturnPendingOrders() {
         // Given
-        List<Order> orders = List.of(testOrder);
-        when(orderRepository.findByStatus("PENDING")).thenReturn(orders);
+        OrderPage page = new OrderPage(List.of(new OrderDTO(testOrder)), null);
+        when(orderRepository.findOrderPage(any(OrderQuery.class))).thenReturn(page);
 
         // When
-        List<OrderDTO> result = orderService.getPendingOrders();
+        List<OrderDTO> result = orderService.getPendingOrders(pageQuery(20)).getOrders();
 
         // Then
         assertEquals(1, result.size());
         assertEquals("PENDING", result.get(0).getStatus());
+        verify(orderRepository).findOrderPage(argThat(query -> "PENDING".equals(query.getStatus())));
     }
 
     @Test
-    void updateOrderStatus_ShouldUpdateAndReturnOrder_WhenOrderExists() {
+    void getAllOrders_ShouldClampPageSizeToMaximum() {
         // Given
-        when(orderRepository.findById("1")).thenReturn(Optional.of(testOrder));
-        when(orderRepository.save(testOrder)).thenReturn(testOrder);
+        when(orderRepository.findOrderPage(any(OrderQuery.class))).thenReturn(new OrderPage(List.of(), null));
 
         // When
-        OrderDTO result = orderService.updateOrderStatus("1", "APPROVED");
+        orderService.getAllOrders(pageQuery(10_000));
 
         // Then
-        assertEquals("APPROVED", testOrder.getStatus());
-        verify(orderRepository).save(testOrder);
+        verify(orderRepository).findOrderPage(argThat(query -> query.getLimit() == OrderService.MAX_PAGE_SIZE));
+    }
+
+    @Test
+    void getAllOrders_ShouldThrowException_WhenCursorIsInvalid() {
+        // Given
+        OrderQuery query = pageQuery(20);
+        query.setCursor("not-an-object-id");
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> orderService.getAllOrders(query));
+        verify(orderRepository, never()).findOrderPage(any(OrderQuery.class));
+    }
+
+    @Test
+    void updateOrderStatus_ShouldTransitionInOneRoundTrip_WhenAllowed() {
+        // Given - the repository returns the pre-image
+        when(orderRepository.transitionStatus(eq("1"), eq(OrderStatus.APPROVED), any(Instant.class)))
+                .thenReturn(testOrder);
+
+        // When
+        OrderDTO result = orderService.updateOrderStatus("1", "approved");
+
+        // Then
+        assertEquals("APPROVED", result.getStatus());
+        assertNotNull(testOrder.getLastModified());
+        verify(orderRepository, never()).findById(anyString());
+        verify(orderRepository, never()).save(any(Order.class));
+        verify(orderCounterService).record(argThat(event -> "PENDING".equals(event.getPreviousStatus())));
+        verify(eventPublisher).publishEvent(argThat((OrderChangedEvent event) ->
+                "1".equals(event.getUserId()) && "PENDING".equals(event.getPreviousStatus())));
     }
 
     @Test
     void updateOrderStatus_ShouldThrowException_WhenOrderNotFound() {
         // Given
-        when(orderRepository.findById("999")).thenReturn(Optional.empty());
+        when(orderRepository.transitionStatus(eq("999"), eq(OrderStatus.APPROVED), any(Instant.class)))
+                .thenReturn(null);
 
         // When & Then
         assertThrows(OrderNotFoundException.class,
@@ -150,13 +256,26 @@ class OrderServiceTest {
     }
 
     @Test
-    void updateOrderStatus_ShouldThrowException_WhenInvalidStatus() {
-        // Given
-        when(orderRepository.findById("1")).thenReturn(Optional.of(testOrder));
+    void updateOrderStatus_ShouldRejectTransition_WhenCurrentStatusDoesNotAllowIt() {
+        // Given - the order was already delivered, so the update left it unchanged
+        testOrder.setStatus("DELIVERED");
+        when(orderRepository.transitionStatus(eq("1"), eq(OrderStatus.APPROVED), any(Instant.class)))
+                .thenReturn(testOrder);
+
+        // When & Then
+        IllegalStatusTransitionException e = assertThrows(IllegalStatusTransitionException.class,
+                () -> orderService.updateOrderStatus("1", "APPROVED"));
+        assertTrue(e.getMessage().contains("DELIVERED"));
+        verifyNoInteractions(orderCounterService);
+        verify(eventPublisher, never()).publishEvent(any());
+    }
 
+    @Test
+    void updateOrderStatus_ShouldThrowException_WhenInvalidStatus() {
         // When & Then
         assertThrows(IllegalArgumentException.class,
                 () -> orderService.updateOrderStatus("1", "INVALID_STATUS"));
+        verifyNoInteractions(orderRepository);
     }
 
     @Test
@@ -180,4 +299,10 @@ class OrderServiceTest {
         assertThrows(OrderNotFoundException.class,
                 () -> orderService.findById("999"));
     }
+
+    private static OrderQuery pageQuery(int limit) {
+        OrderQuery query = new OrderQuery();
+        query.setLimit(limit);
+        return query;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,112 @@
+package com.quickbite.service;
+
+import com.quickbite.dto.ItemSales;
+import com.quickbite.dto.OrderQuery;
+import com.quickbite.dto.OrderStats;
+import com.quickbite.repository.OrderRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderStatsServiceTest {
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private OrderCounterService orderCounterService;
+
+    @Test
+    void getStatusStats_ShouldRunAggregationOnce_WithinTtl() {
+        // Given
+        OrderStatsService orderStatsService = new OrderStatsService(orderRepository, orderCounterService, Duration.ofMinutes(1));
+        OrderStats stats = new OrderStats(Map.of("PENDING", 2L), 2, 30.0);
+        when(orderRepository.aggregateStatusCounts(any(OrderQuery.class))).thenReturn(stats);
+
+        // When
+        OrderStats first = orderStatsService.getStatusStats(null, null);
+        OrderStats second = orderStatsService.getStatusStats(null, null);
+
+        // Then
+        assertSame(stats, first);
+        assertSame(stats, second);
+        verify(orderRepository, times(1)).aggregateStatusCounts(any(OrderQuery.class));
+    }
+
+    @Test
+    void getStatusStats_ShouldRecompute_WhenTtlIsZero() {
+        // Given
+        OrderStatsService orderStatsService = new OrderStatsService(orderRepository, orderCounterService, Duration.ZERO);
+        when(orderRepository.aggregateStatusCounts(any(OrderQuery.class)))
+                .thenReturn(new OrderStats(Map.of(), 0, 0.0));
+
+        // When
+        orderStatsService.getStatusStats(null, null);
+        orderStatsService.getStatusStats(null, null);
+
+        // Then
+        verify(orderRepository, times(2)).aggregateStatusCounts(any(OrderQuery.class));
+    }
+
+    @Test
+    void getTopItems_ShouldCacheEachWindowSeparately_AndCapLimit() {
+        // Given
+        OrderStatsService orderStatsService = new OrderStatsService(orderRepository, orderCounterService, Duration.ofMinutes(1));
+        Instant from = Instant.parse("2025-01-01T00:00:00Z");
+        when(orderRepository.aggregateItemSales(any(OrderQuery.class), anyInt()))
+                .thenReturn(List.of(new ItemSales("item1", "Pizza", 3, 4, 40.0)));
+
+        // When
+        orderStatsService.getTopItems(from, null, 500);
+        orderStatsService.getTopItems(from, null, 500);
+        orderStatsService.getTopItems(null, null, 500);
+
+        // Then
+        verify(orderRepository, times(1)).aggregateItemSales(
+                argThat(query -> from.equals(query.getFrom())), eq(OrderStatsService.MAX_LIMIT));
+        verify(orderRepository, times(1)).aggregateItemSales(
+                argThat(query -> query.getFrom() == null), eq(OrderStatsService.MAX_LIMIT));
+    }
+
+    @Test
+    void getStatusStats_ShouldReadCounters_ForAllTimeStats_WhenEnabled() {
+        // Given
+        OrderStatsService orderStatsService = new OrderStatsService(orderRepository, orderCounterService, Duration.ofMinutes(1));
+        OrderStats stats = new OrderStats(Map.of("PENDING", 5L), 5, 50.0);
+        when(orderCounterService.isEnabled()).thenReturn(true);
+        when(orderCounterService.getStatusStats()).thenReturn(stats);
+
+        // When
+        OrderStats result = orderStatsService.getStatusStats(null, null);
+
+        // Then
+        assertSame(stats, result);
+        verifyNoInteractions(orderRepository);
+    }
+
+    @Test
+    void getTopSpenders_ShouldRejectInvalidWindowAndLimit() {
+        // Given
+        OrderStatsService orderStatsService = new OrderStatsService(orderRepository, orderCounterService, Duration.ofMinutes(1));
+        Instant now = Instant.now();
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> orderStatsService.getTopSpenders(now, now, 10));
+        assertThrows(IllegalArgumentException.class, () -> orderStatsService.getTopSpenders(null, null, 0));
+        verifyNoInteractions(orderRepository);
+    }
+}
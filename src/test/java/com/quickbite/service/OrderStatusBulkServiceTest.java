@@ -0,0 +1,146 @@
+package com.quickbite.service;
+
+import com.mongodb.bulk.BulkWriteResult;
+import com.quickbite.dto.BulkStatusRequest;
+import com.quickbite.dto.BulkStatusResult;
+import com.quickbite.event.OrderBatchChangedEvent;
+import com.quickbite.model.Order;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.UpdateDefinition;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderStatusBulkServiceTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private BulkOperations bulkOperations;
+
+    @Mock
+    private BulkWriteResult bulkWriteResult;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private OrderCounterService orderCounterService;
+
+    private OrderStatusBulkService orderStatusBulkService;
+
+    @BeforeEach
+    void setUp() {
+        orderStatusBulkService = new OrderStatusBulkService(mongoTemplate, eventPublisher, orderCounterService);
+    }
+
+    @Test
+    void apply_ShouldMoveAllowedOrdersInOneBulkWrite_AndPublishOneEvent() {
+        // Given - two approvable orders, one already delivered and one missing
+        when(mongoTemplate.find(any(Query.class), eq(Order.class)))
+                .thenReturn(List.of(order("1", "PENDING"), order("2", "PENDING"), order("3", "DELIVERED")));
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Order.class)).thenReturn(bulkOperations);
+        when(bulkOperations.execute()).thenReturn(bulkWriteResult);
+        when(bulkWriteResult.getModifiedCount()).thenReturn(2);
+
+        // When
+        BulkStatusResult result = orderStatusBulkService.apply(request("APPROVED", "1", "2", "3", "4", "1"));
+
+        // Then
+        assertEquals(2, result.getUpdated());
+        assertEquals(2, result.getFailed());
+        assertEquals(4, result.getItems().size());
+        assertEquals(OrderStatusBulkService.UPDATED, result.getItems().get(0).getOutcome());
+        assertEquals("PENDING", result.getItems().get(0).getPreviousStatus());
+        assertEquals(OrderStatusBulkService.CONFLICT, result.getItems().get(2).getOutcome());
+        assertEquals("DELIVERED", result.getItems().get(2).getPreviousStatus());
+        assertEquals(OrderStatusBulkService.NOT_FOUND, result.getItems().get(3).getOutcome());
+
+        // Both pending orders share one guarded updateMany
+        verify(bulkOperations, times(1)).updateMulti(any(Query.class), any(UpdateDefinition.class));
+        verify(orderCounterService, times(1)).recordAll(argThat(changes -> changes.size() == 2));
+        ArgumentCaptor<OrderBatchChangedEvent> event = ArgumentCaptor.forClass(OrderBatchChangedEvent.class);
+        verify(eventPublisher, times(1)).publishEvent(event.capture());
+        assertEquals(2, event.getValue().getChanges().size());
+        assertEquals("APPROVED", event.getValue().getChanges().get(0).getOrder().getStatus());
+        assertEquals("PENDING", event.getValue().getChanges().get(0).getPreviousStatus());
+    }
+
+    @Test
+    void apply_ShouldReportConcurrentChanges_WhenFewerOrdersWereModified() {
+        // Given - between the read and the write, order 1 was rejected and order 2
+        // approved by another admin, so the guarded updates matched nothing
+        Order approvedElsewhere = order("2", "APPROVED");
+        approvedElsewhere.setLastModified(Instant.EPOCH);
+        when(mongoTemplate.find(any(Query.class), eq(Order.class)))
+                .thenReturn(List.of(order("1", "PENDING"), order("2", "PENDING")))
+                .thenReturn(List.of(order("1", "REJECTED"), approvedElsewhere));
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Order.class)).thenReturn(bulkOperations);
+        when(bulkOperations.execute()).thenReturn(bulkWriteResult);
+        when(bulkWriteResult.getModifiedCount()).thenReturn(0);
+
+        // When
+        BulkStatusResult result = orderStatusBulkService.apply(request("APPROVED", "1", "2"));
+
+        // Then
+        assertEquals(0, result.getUpdated());
+        assertEquals(OrderStatusBulkService.CONFLICT, result.getItems().get(0).getOutcome());
+        assertEquals("REJECTED", result.getItems().get(0).getPreviousStatus());
+        assertEquals(OrderStatusBulkService.CONFLICT, result.getItems().get(1).getOutcome());
+        verifyNoInteractions(orderCounterService, eventPublisher);
+    }
+
+    @Test
+    void apply_ShouldWriteNothing_WhenNoOrderCanMove() {
+        // Given
+        when(mongoTemplate.find(any(Query.class), eq(Order.class))).thenReturn(List.of(order("1", "REJECTED")));
+
+        // When
+        BulkStatusResult result = orderStatusBulkService.apply(request("DELIVERED", "1"));
+
+        // Then
+        assertEquals(0, result.getUpdated());
+        verify(mongoTemplate, never()).bulkOps(any(BulkOperations.BulkMode.class), eq(Order.class));
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void apply_ShouldRejectUnknownStatus() {
+        // When & Then
+        assertThrows(IllegalArgumentException.class,
+                () -> orderStatusBulkService.apply(request("SHIPPED", "1")));
+        verifyNoInteractions(mongoTemplate);
+    }
+
+    private static BulkStatusRequest request(String status, String... ids) {
+        BulkStatusRequest request = new BulkStatusRequest();
+        request.setStatus(status);
+        request.setIds(List.of(ids));
+        return request;
+    }
+
+    private static Order order(String id, String status) {
+        Order order = new Order();
+        order.setId(id);
+        order.setUserId("user" + id);
+        order.setStatus(status);
+        order.setQuantity(1);
+        return order;
+    }
+}
@@ -0,0 +1,94 @@
+package com.quickbite.service;
+
+import com.quickbite.exception.LoginCapacityExceededException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PasswordVerifierTest {
+
+    @Mock
+    private PasswordEncoder passwordEncoder;
+
+    private PasswordVerifier passwordVerifier;
+
+    @AfterEach
+    void tearDown() {
+        if (passwordVerifier != null) {
+            passwordVerifier.shutdown();
+        }
+    }
+
+    @Test
+    void matches_ShouldSkipEncoder_WhenCredentialsWereRecentlyVerified() {
+        // Given
+        passwordVerifier = new PasswordVerifier(passwordEncoder, 1, 4, Duration.ofSeconds(5), Duration.ofMinutes(5));
+        when(passwordEncoder.matches("password@123", "hash")).thenReturn(true);
+
+        // When
+        boolean first = passwordVerifier.matches("testuser", "password@123", "hash");
+        boolean second = passwordVerifier.matches("testuser", "password@123", "hash");
+
+        // Then
+        assertTrue(first);
+        assertTrue(second);
+        verify(passwordEncoder, times(1)).matches("password@123", "hash");
+    }
+
+    @Test
+    void matches_ShouldNotCacheFailures_OrMatchAfterHashChanges() {
+        // Given
+        passwordVerifier = new PasswordVerifier(passwordEncoder, 1, 4, Duration.ofSeconds(5), Duration.ofMinutes(5));
+        when(passwordEncoder.matches("password@123", "old-hash")).thenReturn(true);
+        when(passwordEncoder.matches("password@123", "new-hash")).thenReturn(false);
+        passwordVerifier.matches("testuser", "password@123", "old-hash");
+
+        // When & Then
+        assertFalse(passwordVerifier.matches("testuser", "password@123", "new-hash"));
+        assertFalse(passwordVerifier.matches("testuser", "password@123", "new-hash"));
+        verify(passwordEncoder, times(2)).matches("password@123", "new-hash");
+    }
+
+    @Test
+    void matches_ShouldRejectWithRetryAfter_WhenPoolIsSaturated() throws Exception {
+        // Given: one worker blocked and a queue of one already taken
+        passwordVerifier = new PasswordVerifier(passwordEncoder, 1, 1, Duration.ofSeconds(5), Duration.ofMinutes(5));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(passwordEncoder.matches(anyString(), anyString())).thenAnswer(invocation -> {
+            started.countDown();
+            release.await();
+            return true;
+        });
+
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+        try {
+            callers.submit(() -> passwordVerifier.matches("a", "pw-a", "hash"));
+            started.await();
+            callers.submit(() -> passwordVerifier.matches("b", "pw-b", "hash"));
+            while (passwordVerifier.getQueueDepth() == 0) {
+                Thread.onSpinWait();
+            }
+
+            // When & Then
+            LoginCapacityExceededException ex = assertThrows(LoginCapacityExceededException.class,
+                    () -> passwordVerifier.matches("c", "pw-c", "hash"));
+            assertTrue(ex.getRetryAfterSeconds() >= 1);
+        } finally {
+            release.countDown();
+            callers.shutdown();
+        }
+    }
+}
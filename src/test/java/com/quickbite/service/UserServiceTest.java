@@ -30,6 +30,9 @@ class UserServiceTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private PasswordVerifier passwordVerifier;
+
     @InjectMocks
     private UserService userService;
 
@@ -82,7 +85,7 @@ class UserServiceTest {
     void login_ShouldReturnUser_WhenCredentialsAreValid() {
         // Given
         when(userRepository.findByUsername("testuser")).thenReturn(testUser);
-        when(passwordEncoder.matches("password123", testUser.getPassword())).thenReturn(true);
+        when(passwordVerifier.matches("testuser", "password123", testUser.getPassword())).thenReturn(true);
 
         // When
         User result = userService.login("testuser", "password123");
@@ -106,7 +109,7 @@ class UserServiceTest {
     void login_ShouldThrowException_WhenPasswordIsIncorrect() {
         // Given
         when(userRepository.findByUsername("testuser")).thenReturn(testUser);
-        when(passwordEncoder.matches("wrongpassword", testUser.getPassword())).thenReturn(false);
+        when(passwordVerifier.matches("testuser", "wrongpassword", testUser.getPassword())).thenReturn(false);
 
         // When & Then
         assertThrows(InvalidCredentialsException.class,